@@ -224,10 +224,17 @@
                                                                                                                                                                 title VARCHAR(255) NOT NULL,
                                                                                                                                                                 message TEXT NOT NULL,
                                                                                                                                                                 is_read BOOLEAN DEFAULT false,
-                                                                                                                                                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                                                                                                                                                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
                                                                                                                                                                 read_at TIMESTAMP
                                                                                                                                                             );
 
+                                                                                                                                                            -- Unread and total notifications per type, kept current by statement triggers installed by NotificationService
+                                                                                                                                                            CREATE TABLE notification_counts (
+                                                                                                                                                                notification_type VARCHAR(50) PRIMARY KEY,
+                                                                                                                                                                unread INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                total INTEGER NOT NULL DEFAULT 0
+                                                                                                                                                            );
+
                                                                                                                                                             -- System Settings
                                                                                                                                                             CREATE TABLE system_settings (
                                                                                                                                                                 id SERIAL PRIMARY KEY,
@@ -249,18 +256,94 @@
                                                                                                                                                                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
                                                                                                                                                             );
 
+                                                                                                                                                            -- Global search documents, maintained by triggers installed from GlobalSearch
+                                                                                                                                                            CREATE TABLE search_documents (
+                                                                                                                                                                id SERIAL PRIMARY KEY,
+                                                                                                                                                                entity_type VARCHAR(20) NOT NULL,
+                                                                                                                                                                entity_id INTEGER NOT NULL,
+                                                                                                                                                                title TEXT NOT NULL,
+                                                                                                                                                                subtitle TEXT,
+                                                                                                                                                                document TSVECTOR NOT NULL,
+                                                                                                                                                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                                                                                                                                                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                                                                                                                                                UNIQUE(entity_type, entity_id)
+                                                                                                                                                            );
+
+                                                                                                                                                            -- Monthly report rollups, kept current from rollup_dirty by ReportRollups
+                                                                                                                                                            CREATE TABLE rollup_sales_monthly (
+                                                                                                                                                                month DATE NOT NULL,
+                                                                                                                                                                building_id INTEGER NOT NULL, -- 0 when the purchase has no apartment
+                                                                                                                                                                sales_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+                                                                                                                                                                units_sold INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                collected_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+                                                                                                                                                                payments_count INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                PRIMARY KEY (month, building_id)
+                                                                                                                                                            );
+
+                                                                                                                                                            CREATE TABLE rollup_maintenance_monthly (
+                                                                                                                                                                month DATE NOT NULL,
+                                                                                                                                                                building_id INTEGER NOT NULL,
+                                                                                                                                                                requests INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                completed INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                estimated_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+                                                                                                                                                                actual_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+                                                                                                                                                                PRIMARY KEY (month, building_id)
+                                                                                                                                                            );
+
+                                                                                                                                                            CREATE TABLE rollup_permits_monthly (
+                                                                                                                                                                month DATE NOT NULL,
+                                                                                                                                                                permit_type VARCHAR(50) NOT NULL,
+                                                                                                                                                                requests INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                approved INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                rejected INTEGER NOT NULL DEFAULT 0,
+                                                                                                                                                                estimated_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+                                                                                                                                                                PRIMARY KEY (month, permit_type)
+                                                                                                                                                            );
+
+                                                                                                                                                            -- Months whose rollups must be recomputed; appended by triggers, drained up to a watermark id
+                                                                                                                                                            CREATE TABLE rollup_dirty (
+                                                                                                                                                                id BIGSERIAL PRIMARY KEY,
+                                                                                                                                                                rollup VARCHAR(20) NOT NULL,
+                                                                                                                                                                month DATE NOT NULL
+                                                                                                                                                            );
+
                                                                                                                                                             -- Create indexes for better performance
                                                                                                                                                             CREATE INDEX idx_buildings_status ON buildings(status);
                                                                                                                                                             CREATE INDEX idx_apartments_building_id ON apartments(building_id);
                                                                                                                                                             CREATE INDEX idx_apartments_status ON apartments(status);
-                                                                                                                                                            CREATE INDEX idx_buyers_payment_status ON buyers(payment_status);
+                                                                                                                                                            CREATE INDEX idx_buyers_name_id ON buyers(name, id);
+                                                                                                                                                            CREATE INDEX idx_buyers_payment_status ON buyers(payment_status, name, id);
+                                                                                                                                                            -- Open balances not yet overdue, by due date, scanned by OverdueEngine
+                                                                                                                                                            CREATE INDEX idx_buyers_open_due_date ON buyers(next_due_date) WHERE remaining_amount > 0 AND payment_status IS DISTINCT FROM 'overdue';
+                                                                                                                                                            -- Buyer search: trigram indexes for substring matches, lower(...) pattern indexes for short prefixes
+                                                                                                                                                            CREATE EXTENSION IF NOT EXISTS pg_trgm;
+                                                                                                                                                            CREATE INDEX idx_buyers_name_trgm ON buyers USING gin (name gin_trgm_ops);
+                                                                                                                                                            CREATE INDEX idx_buyers_email_trgm ON buyers USING gin (email gin_trgm_ops);
+                                                                                                                                                            CREATE INDEX idx_buyers_phone_trgm ON buyers USING gin (phone gin_trgm_ops);
+                                                                                                                                                            CREATE INDEX idx_buyers_name_prefix ON buyers (lower(name) text_pattern_ops);
+                                                                                                                                                            CREATE INDEX idx_buyers_email_prefix ON buyers (lower(email) text_pattern_ops);
+                                                                                                                                                            CREATE INDEX idx_buyers_phone_prefix ON buyers (lower(phone) text_pattern_ops);
+                                                                                                                                                            CREATE INDEX idx_buildings_name_trgm ON buildings USING gin (name gin_trgm_ops);
+                                                                                                                                                            CREATE INDEX idx_buildings_name_prefix ON buildings (lower(name) text_pattern_ops);
+                                                                                                                                                            CREATE INDEX idx_apartments_number_trgm ON apartments USING gin (apartment_number gin_trgm_ops);
+                                                                                                                                                            CREATE INDEX idx_apartments_number_prefix ON apartments (lower(apartment_number) text_pattern_ops);
+                                                                                                                                                            CREATE INDEX idx_search_documents_document ON search_documents USING gin (document);
                                                                                                                                                             CREATE INDEX idx_property_purchases_buyer_id ON property_purchases(buyer_id);
                                                                                                                                                             CREATE INDEX idx_payments_buyer_id ON payments(buyer_id);
+                                                                                                                                                            CREATE INDEX idx_payments_purchase_id ON payments(purchase_id) INCLUDE (amount);
+                                                                                                                                                            CREATE INDEX idx_payments_payment_date ON payments(payment_date) INCLUDE (amount);
+                                                                                                                                                            CREATE INDEX idx_property_purchases_purchase_date ON property_purchases(purchase_date) INCLUDE (purchase_amount);
                                                                                                                                                             CREATE INDEX idx_maintenance_requests_status ON maintenance_requests(status);
                                                                                                                                                             CREATE INDEX idx_maintenance_requests_building_id ON maintenance_requests(building_id);
+                                                                                                                                                            CREATE INDEX idx_maintenance_requests_request_date ON maintenance_requests(request_date);
+                                                                                                                                                            CREATE INDEX idx_permits_request_date ON permits(request_date);
                                                                                                                                                             CREATE INDEX idx_customer_requests_status ON customer_requests(status);
                                                                                                                                                             CREATE INDEX idx_notifications_is_read ON notifications(is_read);
                                                                                                                                                             CREATE INDEX idx_notifications_type ON notifications(notification_type);
+                                                                                                                                                            CREATE INDEX idx_notifications_created_at ON notifications(created_at DESC, id DESC);
+                                                                                                                                                            CREATE INDEX idx_notifications_type_created_at ON notifications(notification_type, created_at DESC, id DESC);
+                                                                                                                                                            CREATE INDEX idx_notifications_unread ON notifications(created_at DESC, id DESC) WHERE is_read IS NOT TRUE;
+                                                                                                                                                            CREATE INDEX idx_request_messages_request_id ON request_messages(request_id, created_at, id);
 
                                                                                                                                                             -- Insert default admin user (password should be hashed in real application)
                                                                                                                                                             INSERT INTO users (username, password_hash, email, full_name, user_type) 
@@ -271,4 +354,9 @@
                                                                                                                                                             ('app_name', 'Smart Property Manager Pro', 'Application name'),
                                                                                                                                                             ('theme', 'light', 'Default theme (light/dark)'),
                                                                                                                                                             ('currency', 'MAD', 'Default currency'),
-                                                                                                                                                            ('date_format', 'YYYY-MM-DD', 'Default date format');
\ No newline at end of file
+                                                                                                                                                            ('date_format', 'YYYY-MM-DD', 'Default date format'),
+                                                                                                                                                            ('backup_enabled', 'false', 'Run scheduled backups'),
+                                                                                                                                                            ('backup_interval_hours', '24', 'Hours between scheduled backups'),
+                                                                                                                                                            ('backup_keep_daily', '7', 'Daily backups to keep'),
+                                                                                                                                                            ('backup_keep_weekly', '4', 'Weekly backups to keep'),
+                                                                                                                                                            ('backup_full_every_days', '7', 'Days between full backups');
\ No newline at end of file
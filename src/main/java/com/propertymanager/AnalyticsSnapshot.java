@@ -0,0 +1,486 @@
+package com.propertymanager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+// Apartments, purchases and payments held as primitive column arrays (ids, cents, epoch days, status codes),
+// so breakdowns by building, floor, month and status are computed in memory, in parallel, without the database.
+// Loaded once and reused until a change notification for one of its tables marks it stale.
+public final class AnalyticsSnapshot {
+
+    public enum Fact { APARTMENTS, SALES, COLLECTIONS }
+
+    public enum Dimension { BUILDING, FLOOR, MONTH, STATUS }
+
+    public static final byte STATUS_AVAILABLE = 0;
+    public static final byte STATUS_SOLD = 1;
+    public static final byte STATUS_RESERVED = 2;
+    public static final byte STATUS_MAINTENANCE = 3;
+    public static final byte STATUS_OTHER = 4;
+    private static final String[] STATUS_LABELS = {"Available", "Sold", "Reserved", "Maintenance", "Other"};
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int MIN_SPLIT_ROWS = 1 << 14;
+    private static final int MAX_GROUPS = 1 << 20;
+    private static final long MAX_AGE_MILLIS = 5 * 60_000;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMM yyyy");
+
+    private static AnalyticsSnapshot current;
+    private static volatile boolean stale;
+
+    static {
+        DatabaseManager.addChangeListener((table, id) -> {
+            switch (table) {
+                case "buildings", "apartments", "property_purchases", "payments", DatabaseManager.ALL_TABLES -> stale = true;
+                default -> { }
+            }
+        });
+    }
+
+    private static final String BUILDINGS_SQL = "SELECT id, name FROM buildings ORDER BY id";
+    private static final String APARTMENTS_SQL =
+        "SELECT id, building_id, floor, (price * 100)::bigint AS price_cents, status FROM apartments ORDER BY id";
+    private static final String PURCHASES_SQL =
+        "SELECT id, apartment_id, purchase_date - DATE '1970-01-01' AS day, (purchase_amount * 100)::bigint AS amount_cents "
+        + "FROM property_purchases ORDER BY id";
+    private static final String PAYMENTS_SQL =
+        "SELECT purchase_id, payment_date - DATE '1970-01-01' AS day, (amount * 100)::bigint AS amount_cents FROM payments";
+
+    // Buildings, by ascending id; a building's dense code is its position here
+    private int[] buildingIds = new int[0];
+    private String[] buildingNames = new String[0];
+
+    // Apartments, by ascending id
+    private int apartmentCount;
+    private int[] apartmentIds = new int[16];
+    private int[] apartmentBuilding = new int[16];
+    private int[] apartmentFloor = new int[16];
+    private long[] apartmentPriceCents = new long[16];
+    private byte[] apartmentStatus = new byte[16];
+    private int minFloor;
+    private int maxFloor;
+
+    // Purchases, by ascending id; apartment columns hold a row in the apartment arrays, or -1
+    private int purchaseCount;
+    private int[] purchaseIds = new int[16];
+    private int[] purchaseApartment = new int[16];
+    private int[] purchaseDay = new int[16];
+    private long[] purchaseAmountCents = new long[16];
+
+    private int paymentCount;
+    private int[] paymentApartment = new int[16];
+    private int[] paymentDay = new int[16];
+    private long[] paymentAmountCents = new long[16];
+
+    private long loadedAt;
+    private long loadMillis;
+
+    private AnalyticsSnapshot() {}
+
+    // The cached snapshot, reloaded when stale or old; null if the database cannot be read. Call off the FX thread.
+    public static synchronized AnalyticsSnapshot get() {
+        if (current != null && !stale && System.currentTimeMillis() - current.loadedAt < MAX_AGE_MILLIS) {
+            return current;
+        }
+        stale = false;
+        try {
+            current = load();
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading analytics snapshot: " + e.getMessage());
+            stale = true;
+        }
+        return current;
+    }
+
+    // For changes that bypass the notify triggers, such as a restore
+    public static void invalidate() {
+        stale = true;
+    }
+
+    private static AnalyticsSnapshot load() throws SQLException {
+        long started = System.currentTimeMillis();
+        AnalyticsSnapshot s = new AnalyticsSnapshot();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            // The driver only streams rows with a fetch size inside a transaction
+            conn.setAutoCommit(false);
+            try {
+                s.loadBuildings(conn);
+                s.loadApartments(conn);
+                s.loadPurchases(conn);
+                s.loadPayments(conn);
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        s.loadedAt = System.currentTimeMillis();
+        s.loadMillis = s.loadedAt - started;
+        System.out.println("📐 Analytics snapshot loaded: " + s.apartmentCount + " apartments, " + s.purchaseCount
+                + " purchases, " + s.paymentCount + " payments in " + s.loadMillis + " ms");
+        return s;
+    }
+
+    private void loadBuildings(Connection conn) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(BUILDINGS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt("id"));
+                names.add(rs.getString("name"));
+            }
+        }
+        buildingIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        buildingNames = names.toArray(new String[0]);
+    }
+
+    private void loadApartments(Connection conn) throws SQLException {
+        minFloor = Integer.MAX_VALUE;
+        maxFloor = Integer.MIN_VALUE;
+        try (PreparedStatement stmt = conn.prepareStatement(APARTMENTS_SQL)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (apartmentCount == apartmentIds.length) {
+                        int capacity = apartmentCount * 2;
+                        apartmentIds = Arrays.copyOf(apartmentIds, capacity);
+                        apartmentBuilding = Arrays.copyOf(apartmentBuilding, capacity);
+                        apartmentFloor = Arrays.copyOf(apartmentFloor, capacity);
+                        apartmentPriceCents = Arrays.copyOf(apartmentPriceCents, capacity);
+                        apartmentStatus = Arrays.copyOf(apartmentStatus, capacity);
+                    }
+                    int row = apartmentCount++;
+                    int floor = rs.getInt(3);
+                    apartmentIds[row] = rs.getInt(1);
+                    apartmentBuilding[row] = Arrays.binarySearch(buildingIds, rs.getInt(2));
+                    apartmentFloor[row] = floor;
+                    apartmentPriceCents[row] = rs.getLong(4);
+                    apartmentStatus[row] = statusCode(rs.getString(5));
+                    minFloor = Math.min(minFloor, floor);
+                    maxFloor = Math.max(maxFloor, floor);
+                }
+            }
+        }
+        if (apartmentCount == 0) {
+            minFloor = 0;
+            maxFloor = 0;
+        }
+    }
+
+    private void loadPurchases(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(PURCHASES_SQL)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (purchaseCount == purchaseIds.length) {
+                        int capacity = purchaseCount * 2;
+                        purchaseIds = Arrays.copyOf(purchaseIds, capacity);
+                        purchaseApartment = Arrays.copyOf(purchaseApartment, capacity);
+                        purchaseDay = Arrays.copyOf(purchaseDay, capacity);
+                        purchaseAmountCents = Arrays.copyOf(purchaseAmountCents, capacity);
+                    }
+                    int row = purchaseCount++;
+                    purchaseIds[row] = rs.getInt(1);
+                    purchaseApartment[row] = apartmentRow(rs.getInt(2));
+                    purchaseDay[row] = rs.getInt(3);
+                    purchaseAmountCents[row] = rs.getLong(4);
+                }
+            }
+        }
+    }
+
+    private void loadPayments(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(PAYMENTS_SQL)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (paymentCount == paymentDay.length) {
+                        int capacity = paymentCount * 2;
+                        paymentApartment = Arrays.copyOf(paymentApartment, capacity);
+                        paymentDay = Arrays.copyOf(paymentDay, capacity);
+                        paymentAmountCents = Arrays.copyOf(paymentAmountCents, capacity);
+                    }
+                    int row = paymentCount++;
+                    // Payments reach their apartment through the purchase
+                    int purchase = Arrays.binarySearch(purchaseIds, 0, purchaseCount, rs.getInt(1));
+                    paymentApartment[row] = purchase >= 0 ? purchaseApartment[purchase] : -1;
+                    paymentDay[row] = rs.getInt(2);
+                    paymentAmountCents[row] = rs.getLong(3);
+                }
+            }
+        }
+    }
+
+    private int apartmentRow(int apartmentId) {
+        int row = Arrays.binarySearch(apartmentIds, 0, apartmentCount, apartmentId);
+        return row >= 0 ? row : -1;
+    }
+
+    private static byte statusCode(String status) {
+        if (status == null) {
+            return STATUS_OTHER;
+        }
+        return switch (status.toLowerCase()) {
+            case "available" -> STATUS_AVAILABLE;
+            case "sold" -> STATUS_SOLD;
+            case "reserved" -> STATUS_RESERVED;
+            case "maintenance" -> STATUS_MAINTENANCE;
+            default -> STATUS_OTHER;
+        };
+    }
+
+    public int rowCount() {
+        return apartmentCount + purchaseCount + paymentCount;
+    }
+
+    public long loadMillis() {
+        return loadMillis;
+    }
+
+    // Dense code of a building id for Breakdown lookups, or -1 if the snapshot does not know it
+    public int buildingCode(int buildingId) {
+        int code = Arrays.binarySearch(buildingIds, buildingId);
+        return code >= 0 ? code : -1;
+    }
+
+    public int floorCode(int floor) {
+        return floor >= minFloor && floor <= maxFloor ? floor - minFloor : -1;
+    }
+
+    // Sums (in cents) and counts of the fact, grouped by every combination of the given dimensions.
+    // Apartments are valued at their price, sales at the purchase amount and collections at the payment amount.
+    public Breakdown breakdown(Fact fact, Dimension... dimensions) {
+        int rows = switch (fact) {
+            case APARTMENTS -> apartmentCount;
+            case SALES -> purchaseCount;
+            case COLLECTIONS -> paymentCount;
+        };
+        int[] apartmentOf = switch (fact) {
+            case APARTMENTS -> null;
+            case SALES -> purchaseApartment;
+            case COLLECTIONS -> paymentApartment;
+        };
+        int[] dayOf = switch (fact) {
+            case APARTMENTS -> null;
+            case SALES -> purchaseDay;
+            case COLLECTIONS -> paymentDay;
+        };
+        long[] valueOf = switch (fact) {
+            case APARTMENTS -> apartmentPriceCents;
+            case SALES -> purchaseAmountCents;
+            case COLLECTIONS -> paymentAmountCents;
+        };
+
+        int firstMonth = 0;
+        int lastMonth = -1;
+        if (Arrays.asList(dimensions).contains(Dimension.MONTH)) {
+            if (dayOf == null) {
+                throw new IllegalArgumentException("Apartments have no date to group by month");
+            }
+            firstMonth = Integer.MAX_VALUE;
+            lastMonth = Integer.MIN_VALUE;
+            for (int row = 0; row < rows; row++) {
+                int month = epochMonth(dayOf[row]);
+                firstMonth = Math.min(firstMonth, month);
+                lastMonth = Math.max(lastMonth, month);
+            }
+            if (rows == 0) {
+                firstMonth = 0;
+                lastMonth = 0;
+            }
+        }
+
+        // Each dimension maps a row to a code in [0, cardinality); rows without an apartment get the last code
+        int[] cardinalities = new int[dimensions.length];
+        IntUnaryOperator[] codes = new IntUnaryOperator[dimensions.length];
+        for (int d = 0; d < dimensions.length; d++) {
+            int unassigned;
+            switch (dimensions[d]) {
+                case BUILDING -> {
+                    unassigned = buildingIds.length;
+                    cardinalities[d] = unassigned + 1;
+                    codes[d] = apartmentOf == null
+                        ? row -> apartmentBuilding[row] >= 0 ? apartmentBuilding[row] : unassigned
+                        : row -> apartmentOf[row] >= 0 && apartmentBuilding[apartmentOf[row]] >= 0
+                            ? apartmentBuilding[apartmentOf[row]] : unassigned;
+                }
+                case FLOOR -> {
+                    unassigned = maxFloor - minFloor + 1;
+                    cardinalities[d] = unassigned + 1;
+                    codes[d] = apartmentOf == null
+                        ? row -> apartmentFloor[row] - minFloor
+                        : row -> apartmentOf[row] >= 0 ? apartmentFloor[apartmentOf[row]] - minFloor : unassigned;
+                }
+                case STATUS -> {
+                    cardinalities[d] = STATUS_LABELS.length;
+                    codes[d] = apartmentOf == null
+                        ? row -> apartmentStatus[row]
+                        : row -> apartmentOf[row] >= 0 ? apartmentStatus[apartmentOf[row]] : STATUS_OTHER;
+                }
+                case MONTH -> {
+                    int first = firstMonth;
+                    cardinalities[d] = lastMonth - firstMonth + 1;
+                    codes[d] = row -> epochMonth(dayOf[row]) - first;
+                }
+            }
+        }
+
+        long groups = 1;
+        for (int cardinality : cardinalities) {
+            groups *= cardinality;
+        }
+        if (groups > MAX_GROUPS) {
+            throw new IllegalArgumentException("Breakdown has too many groups: " + groups);
+        }
+
+        IntUnaryOperator key = row -> {
+            int k = 0;
+            for (int d = 0; d < codes.length; d++) {
+                k = k * cardinalities[d] + codes[d].applyAsInt(row);
+            }
+            return k;
+        };
+        // Leaves allocate a sums and a counts array each; keep them large enough that this stays cheap
+        int splitRows = Math.max(MIN_SPLIT_ROWS, (int) groups * 4);
+        long[] totals = new GroupTask(0, rows, (int) groups, splitRows, key, row -> valueOf[row]).invoke();
+
+        return new Breakdown(this, dimensions.clone(), cardinalities, firstMonth, totals);
+    }
+
+    private static int epochMonth(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    // Sums and counts over rows [from, to), split in halves until small enough; result is sums then counts
+    @SuppressWarnings("serial")
+    private static final class GroupTask extends RecursiveTask<long[]> {
+        private final int from;
+        private final int to;
+        private final int groups;
+        private final int splitRows;
+        private final IntUnaryOperator key;
+        private final IntToLongFunction value;
+
+        GroupTask(int from, int to, int groups, int splitRows, IntUnaryOperator key, IntToLongFunction value) {
+            this.from = from;
+            this.to = to;
+            this.groups = groups;
+            this.splitRows = splitRows;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= splitRows) {
+                long[] totals = new long[groups * 2];
+                for (int row = from; row < to; row++) {
+                    int k = key.applyAsInt(row);
+                    totals[k] += value.applyAsLong(row);
+                    totals[groups + k]++;
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            GroupTask left = new GroupTask(from, middle, groups, splitRows, key, value);
+            left.fork();
+            long[] right = new GroupTask(middle, to, groups, splitRows, key, value).compute();
+            long[] totals = left.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += right[i];
+            }
+            return totals;
+        }
+    }
+
+    // Result of a breakdown; cells are addressed by one code per dimension, in the order they were requested
+    public static final class Breakdown {
+
+        public record Cell(int[] codes, long sumCents, long count) {}
+
+        private final AnalyticsSnapshot snapshot;
+        private final Dimension[] dimensions;
+        private final int[] cardinalities;
+        private final int firstMonth;
+        private final long[] totals;
+        private final int groups;
+
+        private Breakdown(AnalyticsSnapshot snapshot, Dimension[] dimensions, int[] cardinalities, int firstMonth, long[] totals) {
+            this.snapshot = snapshot;
+            this.dimensions = dimensions;
+            this.cardinalities = cardinalities;
+            this.firstMonth = firstMonth;
+            this.totals = totals;
+            this.groups = totals.length / 2;
+        }
+
+        public long sumCents(int... codes) {
+            int k = index(codes);
+            return k >= 0 ? totals[k] : 0;
+        }
+
+        public long count(int... codes) {
+            int k = index(codes);
+            return k >= 0 ? totals[groups + k] : 0;
+        }
+
+        public int cardinality(int dimension) {
+            return cardinalities[dimension];
+        }
+
+        // Cells with at least one row, in code order
+        public List<Cell> cells() {
+            List<Cell> cells = new ArrayList<>();
+            for (int k = 0; k < groups; k++) {
+                if (totals[groups + k] == 0) {
+                    continue;
+                }
+                int[] codes = new int[dimensions.length];
+                int rest = k;
+                for (int d = dimensions.length - 1; d >= 0; d--) {
+                    codes[d] = rest % cardinalities[d];
+                    rest /= cardinalities[d];
+                }
+                cells.add(new Cell(codes, totals[k], totals[groups + k]));
+            }
+            return cells;
+        }
+
+        public String label(int dimension, int code) {
+            return switch (dimensions[dimension]) {
+                case BUILDING -> code < snapshot.buildingNames.length ? snapshot.buildingNames[code] : "Unassigned";
+                case FLOOR -> code < cardinalities[dimension] - 1 ? "Floor " + (code + snapshot.minFloor) : "Unassigned";
+                case STATUS -> STATUS_LABELS[code];
+                case MONTH -> {
+                    int month = firstMonth + code;
+                    yield LocalDate.of(month / 12, month % 12 + 1, 1).format(MONTH_FORMAT);
+                }
+            };
+        }
+
+        private int index(int[] codes) {
+            if (codes.length != dimensions.length) {
+                throw new IllegalArgumentException("Expected " + dimensions.length + " codes");
+            }
+            int k = 0;
+            for (int d = 0; d < codes.length; d++) {
+                if (codes[d] < 0 || codes[d] >= cardinalities[d]) {
+                    return -1;
+                }
+                k = k * cardinalities[d] + codes[d];
+            }
+            return k;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.propertymanager;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ApartmentDAO {
+
+    private static final String APARTMENTS_BY_BUILDINGS_SQL = """
+        SELECT a.building_id, a.apartment_number, a.floor, a.size, a.bedrooms, a.price, a.status,
+               COALESCE(b.name, '-') as buyer_name
+        FROM apartments a
+        LEFT JOIN property_purchases pp ON a.id = pp.apartment_id
+        LEFT JOIN buyers b ON pp.buyer_id = b.id
+        WHERE a.building_id = ANY(?)
+        ORDER BY a.building_id, a.floor, a.apartment_number
+    """;
+
+    // Loads the apartments of every given building with one query, grouped by building id
+    private static Map<Integer, List<Apartment>> queryApartmentsByBuildingIds(Collection<Integer> buildingIds) throws SQLException {
+        Map<Integer, List<Apartment>> apartmentsByBuilding = new HashMap<>();
+        if (buildingIds.isEmpty()) {
+            return apartmentsByBuilding;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(APARTMENTS_BY_BUILDINGS_SQL)) {
+
+            pstmt.setArray(1, conn.createArrayOf("integer", buildingIds.toArray()));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                // Rows arrive ordered by building, so each group is appended in a single pass
+                int currentBuildingId = -1;
+                List<Apartment> current = null;
+                int count = 0;
+
+                while (rs.next()) {
+                    int buildingId = rs.getInt("building_id");
+                    if (current == null || buildingId != currentBuildingId) {
+                        currentBuildingId = buildingId;
+                        current = apartmentsByBuilding.computeIfAbsent(buildingId, id -> new ArrayList<>());
+                    }
+                    current.add(new Apartment(
+                        rs.getString("apartment_number"),
+                        rs.getInt("floor"),
+                        rs.getString("size"),
+                        rs.getInt("bedrooms"),
+                        rs.getDouble("price"),
+                        rs.getString("status"),
+                        rs.getString("buyer_name")
+                    ));
+                    count++;
+                }
+
+                System.out.println("🏠 Loaded " + count + " apartments for " + buildingIds.size() + " buildings");
+            }
+        }
+
+        return apartmentsByBuilding;
+    }
+
+    // Fills Building.apartments for every building that has not been loaded yet; after a failure the
+    // buildings stay unloaded and the error is rethrown for the caller to report
+    public static void loadApartments(Collection<Building> buildings) throws SQLException {
+        Map<Integer, Building> pending = new HashMap<>();
+        for (Building building : buildings) {
+            if (!building.apartmentsLoaded) {
+                pending.put(building.id, building);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<Apartment>> apartmentsByBuilding;
+        try {
+            apartmentsByBuilding = queryApartmentsByBuildingIds(pending.keySet());
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading apartments: " + e.getMessage());
+            throw e;
+        }
+        for (Building building : pending.values()) {
+            building.apartments.clear();
+            building.apartments.addAll(apartmentsByBuilding.getOrDefault(building.id, List.of()));
+            building.apartmentsLoaded = true;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.propertymanager;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class AsyncDAO {
+
+    private static final ExecutorService executor = createExecutor();
+
+    // Node property set when one of the node's loads was dropped because it left the scene
+    private static final String CANCELLED_LOAD_KEY = "asyncdao.cancelledLoad";
+
+    private static ExecutorService createExecutor() {
+        // Virtual threads when running on Java 21+, a small daemon pool otherwise
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            System.out.println("🧵 Database calls run on virtual threads");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "db-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), threadFactory);
+        }
+    }
+
+    // Runs a blocking DAO call off the JavaFX Application Thread
+    public static <T> CompletableFuture<T> supply(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    // Runs query in the background and hands the result to onLoaded on the FX thread.
+    // The load is cancelled (and its result dropped) if owner leaves the scene before it completes.
+    public static <T> CompletableFuture<T> load(Node owner, Supplier<T> query, Consumer<T> onLoaded) {
+        return load(owner, query, onLoaded, error -> System.err.println("❌ Background load failed: " + error.getMessage()));
+    }
+
+    public static <T> CompletableFuture<T> load(Node owner, Supplier<T> query, Consumer<T> onLoaded, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = supply(query);
+
+        ChangeListener<Scene> detachListener = (obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null && future.cancel(false)) {
+                owner.getProperties().put(CANCELLED_LOAD_KEY, Boolean.TRUE);
+            }
+        };
+        owner.sceneProperty().addListener(detachListener);
+
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            owner.sceneProperty().removeListener(detachListener);
+            if (future.isCancelled() || error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                onError.accept(error.getCause() != null ? error.getCause() : error);
+            } else {
+                onLoaded.accept(result);
+            }
+        }));
+
+        return future;
+    }
+
+    // True (once) if a load owned by node was cancelled since the last call, so its data may be missing
+    public static boolean consumeCancelledLoad(Node owner) {
+        return owner.getProperties().remove(CANCELLED_LOAD_KEY) != null;
+    }
+}
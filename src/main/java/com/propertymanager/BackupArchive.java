@@ -0,0 +1,372 @@
+package com.propertymanager;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Backup archive: a zip holding manifest.properties plus one gzip-compressed COPY (CSV) stream per table.
+// Tables are copied in parallel on separate pooled connections that all share one exported snapshot.
+// An incremental archive holds only the rows changed since its parent archive, plus tombstones for deleted rows.
+public class BackupArchive {
+
+    public static final String EXTENSION = ".zip";
+    public static final String MANIFEST_ENTRY = "manifest.properties";
+    public static final String TOMBSTONES_ENTRY = "tombstones.csv.gz";
+    public static final String FORMAT_VERSION = "1";
+
+    public static final String TYPE_FULL = "full";
+    public static final String TYPE_INCREMENTAL = "incremental";
+
+    private static final int MAX_PARALLEL_TABLES = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String COLUMNS_SQL = """
+        SELECT a.attname
+        FROM pg_attribute a
+        WHERE a.attrelid = ?::regclass AND a.attnum > 0 AND NOT a.attisdropped AND a.attgenerated = ''
+        ORDER BY a.attnum
+    """;
+
+    private static final String SEQUENCES_SQL = """
+        SELECT sequencename, last_value FROM pg_sequences
+        WHERE schemaname = 'public' AND last_value IS NOT NULL
+    """;
+
+    // Transactions still running when the snapshot was taken may commit rows stamped earlier than anything visible now;
+    // starting the next incremental at the oldest of them makes sure those rows are picked up
+    private static final String OLDEST_RUNNING_SQL = """
+        SELECT COALESCE(min(xact_start), now())::timestamp
+        FROM pg_stat_activity
+        WHERE pid <> pg_backend_pid() AND xact_start IS NOT NULL
+    """;
+
+    // One COPY run by a worker: a table, or the tombstone list of an incremental backup
+    private record CopyJob(String name, String entry, String sql, long weight) {}
+
+    private record CopyResult(CopyJob job, Path file, long rows, long bytes, long crc) {}
+
+    public static void export(Path target, BackupExporter.ProgressListener progress)
+            throws SQLException, IOException, InterruptedException {
+        export(target, null, null, progress);
+    }
+
+    // Writes only what changed since parent, which must be the newest archive of its chain
+    public static void exportIncremental(Path target, Path parent, BackupExporter.ProgressListener progress)
+            throws SQLException, IOException, InterruptedException {
+        Properties parentManifest = BackupChain.readManifest(parent);
+        if (parentManifest.getProperty("table.audit_log.mark") == null) {
+            throw new IOException(parent.getFileName() + " has no change marks; create a full backup first");
+        }
+        export(target, parent, parentManifest, progress);
+    }
+
+    private static void export(Path target, Path parent, Properties parentManifest, BackupExporter.ProgressListener progress)
+            throws SQLException, IOException, InterruptedException {
+        BackupChain.ensureChangeTracking();
+        Path staging = Files.createTempDirectory(target.toAbsolutePath().getParent(), ".backup-");
+
+        try (Connection coordinator = DatabaseManager.getConnection()) {
+            // The coordinator's transaction pins the snapshot; it must stay open until every worker has attached to it
+            coordinator.setAutoCommit(false);
+            try {
+                String snapshotId;
+                try (Statement stmt = coordinator.createStatement()) {
+                    stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                    try (ResultSet rs = stmt.executeQuery("SELECT pg_export_snapshot()")) {
+                        rs.next();
+                        snapshotId = rs.getString(1);
+                    }
+                }
+
+                Map<String, Long> tables = BackupExporter.listTablesInDependencyOrder(coordinator);
+                String oldestRunning = queryString(coordinator, OLDEST_RUNNING_SQL);
+
+                Properties manifest = new Properties();
+                manifest.setProperty("format.version", FORMAT_VERSION);
+                manifest.setProperty("backup.id", UUID.randomUUID().toString());
+                manifest.setProperty("type", parentManifest != null ? TYPE_INCREMENTAL : TYPE_FULL);
+                manifest.setProperty("created", LocalDateTime.now().toString());
+                manifest.setProperty("snapshot", snapshotId);
+                manifest.setProperty("copy.format", "csv");
+                manifest.setProperty("tables", String.join(",", tables.keySet()));
+                if (parentManifest != null) {
+                    manifest.setProperty("parent.id", parentManifest.getProperty("backup.id"));
+                    manifest.setProperty("parent.file", parent.getFileName().toString());
+                }
+
+                List<CopyJob> jobs = new ArrayList<>();
+                for (Map.Entry<String, Long> table : tables.entrySet()) {
+                    jobs.add(planTable(coordinator, table.getKey(), table.getValue(), oldestRunning, manifest, parentManifest));
+                }
+                if (parentManifest != null) {
+                    jobs.add(new CopyJob("tombstones", TOMBSTONES_ENTRY,
+                            "COPY (SELECT table_name, record_id FROM audit_log WHERE action = '" + BackupChain.ACTION_DELETED
+                                    + "' AND created_at >= " + timestampLiteral(parentManifest.getProperty("table.audit_log.mark"))
+                                    + ") TO STDOUT WITH (FORMAT csv)", 1));
+                }
+                for (Map.Entry<String, Long> sequence : listSequences(coordinator).entrySet()) {
+                    manifest.setProperty("sequence." + sequence.getKey(), String.valueOf(sequence.getValue()));
+                }
+
+                List<CopyResult> results = copyInParallel(snapshotId, jobs, staging, progress);
+
+                progress.onProgress("Writing archive...", 0.97);
+                writeArchive(target, manifest, results);
+            } finally {
+                coordinator.rollback();
+            }
+        } finally {
+            deleteRecursively(staging);
+        }
+
+        progress.onProgress("Backup archive created", 1.0);
+    }
+
+    // Records the table's tracking mode and high-water mark, and builds the COPY that exports it
+    private static CopyJob planTable(Connection conn, String table, long estimatedRows, String oldestRunning,
+                                     Properties manifest, Properties parentManifest) throws SQLException {
+        List<String> columns = listColumns(conn, table);
+        String mode = BackupChain.FULL_EXPORT_TABLES.contains(table) ? BackupChain.MODE_FULL
+                : columns.contains("id") && columns.contains("updated_at") ? BackupChain.MODE_UPDATED_AT
+                : columns.contains("id") && columns.contains("created_at") ? BackupChain.MODE_CREATED_AT
+                : BackupChain.MODE_FULL;
+
+        String key = "table." + table;
+        manifest.setProperty(key + ".entry", entryName(table));
+        manifest.setProperty(key + ".columns", String.join(",", columns));
+        manifest.setProperty(key + ".mode", mode);
+
+        String quotedTable = BackupExporter.quoteIdentifier(table);
+        if (!mode.equals(BackupChain.MODE_FULL)) {
+            String markColumn = BackupExporter.quoteIdentifier(mode);
+            manifest.setProperty(key + ".mark", queryString(conn, "SELECT LEAST(COALESCE(max(" + markColumn + "), now()::timestamp), "
+                    + timestampLiteral(oldestRunning) + ")::text FROM " + quotedTable));
+        }
+
+        String columnList = String.join(", ", columns.stream().map(BackupExporter::quoteIdentifier).toList());
+        String parentMark = parentManifest != null ? parentManifest.getProperty(key + ".mark") : null;
+        boolean incremental = parentMark != null && mode.equals(parentManifest.getProperty(key + ".mode"));
+        manifest.setProperty(key + ".incremental", String.valueOf(incremental));
+
+        if (!incremental) {
+            return new CopyJob(table, entryName(table), "COPY " + quotedTable + " (" + columnList + ") TO STDOUT WITH (FORMAT csv)", estimatedRows + 1);
+        }
+
+        String changed = mode.equals(BackupChain.MODE_UPDATED_AT)
+                ? "updated_at >= " + timestampLiteral(parentMark)
+                // No updated_at: new rows by created_at, updated rows from the change-tracking entries in audit_log
+                : "created_at >= " + timestampLiteral(parentMark) + " OR id IN (SELECT record_id FROM audit_log WHERE table_name = '"
+                        + table.replace("'", "''") + "' AND action = '" + BackupChain.ACTION_UPDATED + "' AND created_at >= "
+                        + timestampLiteral(parentManifest.getProperty("table.audit_log.mark")) + ")";
+        return new CopyJob(table, entryName(table), "COPY (SELECT " + columnList + " FROM " + quotedTable + " WHERE " + changed
+                + ") TO STDOUT WITH (FORMAT csv)", estimatedRows / 10 + 1);
+    }
+
+    private static List<CopyResult> copyInParallel(String snapshotId, List<CopyJob> jobs, Path staging,
+                                                   BackupExporter.ProgressListener progress)
+            throws SQLException, IOException, InterruptedException {
+        // Weight progress by estimated size so one large table does not look like 1/N of the work
+        long totalWeight = 0;
+        for (CopyJob job : jobs) {
+            totalWeight += job.weight();
+        }
+        final long weightSum = totalWeight;
+        AtomicLong doneWeight = new AtomicLong();
+        AtomicInteger doneJobs = new AtomicInteger();
+
+        int workers = Math.max(1, Math.min(MAX_PARALLEL_TABLES, jobs.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "backup-copy");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            // Largest tables first keeps the workers busy until the end
+            List<CopyJob> schedule = new ArrayList<>(jobs);
+            schedule.sort(Comparator.comparingLong(CopyJob::weight).reversed());
+
+            Map<CopyJob, Future<CopyResult>> futures = new LinkedHashMap<>();
+            for (CopyJob job : schedule) {
+                futures.put(job, executor.submit(() -> {
+                    CopyResult result = copy(snapshotId, job, staging);
+                    long done = doneWeight.addAndGet(job.weight());
+                    progress.onProgress("Exported " + job.name() + " (" + result.rows() + " rows), "
+                            + doneJobs.incrementAndGet() + " of " + jobs.size() + " tables", 0.95 * done / weightSum);
+                    return result;
+                }));
+            }
+
+            // Collect in dependency order, which is the order the restore replays them
+            List<CopyResult> results = new ArrayList<>();
+            for (CopyJob job : jobs) {
+                try {
+                    results.add(futures.get(job).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException sqlException) throw sqlException;
+                    if (cause instanceof IOException ioException) throw ioException;
+                    throw new IOException("Backup of " + job.name() + " failed", cause);
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CopyResult copy(String snapshotId, CopyJob job, Path staging) throws SQLException, IOException {
+        Path file = staging.resolve(job.entry().replace('/', '_'));
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                    stmt.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+                }
+
+                CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+                CRC32 crc = new CRC32();
+                long rows;
+                try (CheckedOutputStream checked = new CheckedOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), crc);
+                     OutputStream out = new GZIPOutputStream(checked, BUFFER_SIZE)) {
+                    rows = copyManager.copyOut(job.sql(), out);
+                }
+
+                System.out.println("💾 Copied " + rows + " rows from " + job.name());
+                return new CopyResult(job, file, rows, Files.size(file), crc.getValue());
+            } finally {
+                conn.rollback();
+            }
+        }
+    }
+
+    private static List<String> listColumns(Connection conn, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(COLUMNS_SQL)) {
+            stmt.setString(1, BackupExporter.quoteIdentifier(table));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString("attname"));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static Map<String, Long> listSequences(Connection conn) throws SQLException {
+        Map<String, Long> sequences = new LinkedHashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SEQUENCES_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sequences.put(rs.getString("sequencename"), rs.getLong("last_value"));
+            }
+        }
+        return sequences;
+    }
+
+    private static String queryString(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    // COPY takes no parameters, so marks are inlined as literals
+    private static String timestampLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'::timestamp";
+    }
+
+    // Entries are already gzip-compressed, so they are STORED; the manifest comes first so a reader can plan the restore
+    private static void writeArchive(Path target, Properties manifest, List<CopyResult> results) throws IOException {
+        long totalRows = 0;
+        for (CopyResult result : results) {
+            if (result.job().entry().equals(TOMBSTONES_ENTRY)) {
+                manifest.setProperty("tombstones.rows", String.valueOf(result.rows()));
+            } else {
+                manifest.setProperty("table." + result.job().name() + ".rows", String.valueOf(result.rows()));
+                totalRows += result.rows();
+            }
+        }
+        manifest.setProperty("rows", String.valueOf(totalRows));
+
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+            zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+            manifest.store(zip, "Property Manager backup archive");
+            zip.closeEntry();
+
+            for (CopyResult result : results) {
+                ZipEntry entry = new ZipEntry(result.job().entry());
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(result.bytes());
+                entry.setCompressedSize(result.bytes());
+                entry.setCrc(result.crc());
+                zip.putNextEntry(entry);
+                try (InputStream in = Files.newInputStream(result.file())) {
+                    in.transferTo(zip);
+                }
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("📦 Backup archive written: " + target.getFileName() + " (" + manifest.getProperty("type") + ", "
+                + totalRows + " rows)");
+    }
+
+    static String entryName(String table) {
+        return "tables/" + table + ".csv.gz";
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    System.err.println("❌ Could not delete " + path + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("❌ Could not clean up backup staging directory: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.propertymanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Index of the backups in a directory, kept in a small tab-separated file next to them.
+// Listing backups reads this one file instead of opening and stat-ing every archive.
+public class BackupCatalog {
+
+    public static final String FILE_NAME = "backup-catalog.tsv";
+    public static final String ORIGIN_MANUAL = "manual";
+    public static final String ORIGIN_SCHEDULED = "scheduled";
+
+    private static final String HEADER = "# Property Manager backup catalog v1";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public record Entry(String file, String type, String origin, LocalDateTime created, long bytes, String sha256,
+                        long durationMillis, long rows, String parentFile, String auditMark, Map<String, Long> tableRows) {}
+
+    // Loaded catalogs by directory; every change goes through this class, so the file is only read once per session
+    private static final Map<Path, List<Entry>> catalogs = new HashMap<>();
+
+    // Entries oldest first
+    public static synchronized List<Entry> list(Path dir) throws IOException {
+        return List.copyOf(load(dir));
+    }
+
+    // Newest archive that an incremental backup can extend, or null
+    public static synchronized Path latestArchive(Path dir) throws IOException {
+        List<Entry> entries = load(dir);
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            if (entry.file().endsWith(BackupArchive.EXTENSION) && !entry.auditMark().isEmpty()) {
+                Path file = dir.resolve(entry.file());
+                return Files.isRegularFile(file) ? file : null;
+            }
+        }
+        return null;
+    }
+
+    // Describes a freshly written backup file and adds it to its directory's catalog
+    public static Entry record(Path file, String origin, long durationMillis) throws IOException {
+        Entry entry = describe(file, origin, durationMillis);
+        synchronized (BackupCatalog.class) {
+            Path dir = directoryOf(file);
+            List<Entry> entries = load(dir);
+            entries.removeIf(e -> e.file().equals(entry.file()));
+            entries.add(entry);
+            save(dir, entries);
+        }
+        return entry;
+    }
+
+    public static synchronized void remove(Path dir, Collection<String> files) throws IOException {
+        List<Entry> entries = load(dir);
+        if (entries.removeIf(e -> files.contains(e.file()))) {
+            save(dir, entries);
+        }
+    }
+
+    private static List<Entry> load(Path dir) throws IOException {
+        Path key = dir.toAbsolutePath().normalize();
+        List<Entry> entries = catalogs.get(key);
+        if (entries != null) {
+            return entries;
+        }
+
+        Path catalogFile = key.resolve(FILE_NAME);
+        if (Files.isRegularFile(catalogFile)) {
+            entries = read(catalogFile);
+        } else {
+            // First use of this directory: index whatever backups are already there, once
+            entries = scan(key);
+            if (!entries.isEmpty()) {
+                save(key, entries);
+            }
+        }
+        catalogs.put(key, entries);
+        return entries;
+    }
+
+    private static List<Entry> read(Path catalogFile) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(catalogFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length < 11) {
+                    System.err.println("❌ Skipping malformed backup catalog line in " + catalogFile);
+                    continue;
+                }
+                entries.add(new Entry(fields[0], fields[1], fields[2], LocalDateTime.parse(fields[3]),
+                        Long.parseLong(fields[4]), fields[5], Long.parseLong(fields[6]), Long.parseLong(fields[7]),
+                        fields[8], fields[9], parseTableRows(fields[10])));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::created));
+        return entries;
+    }
+
+    // Rewritten whole and moved into place, so a crash never leaves a half-written catalog
+    private static void save(Path dir, List<Entry> entries) throws IOException {
+        entries.sort(Comparator.comparing(Entry::created));
+        Path catalogFile = dir.resolve(FILE_NAME);
+        Path temp = dir.resolve(FILE_NAME + ".part");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write(HEADER + "\n");
+            out.write("# file\ttype\torigin\tcreated\tbytes\tsha256\tduration_ms\trows\tparent\taudit_mark\ttable_rows\n");
+            for (Entry e : entries) {
+                out.write(String.join("\t", e.file(), e.type(), e.origin(), e.created().toString(), String.valueOf(e.bytes()),
+                        e.sha256(), String.valueOf(e.durationMillis()), String.valueOf(e.rows()), e.parentFile(), e.auditMark(),
+                        formatTableRows(e.tableRows())));
+                out.write("\n");
+            }
+        }
+        Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<Entry> scan(Path dir) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.{sql,zip}")) {
+            for (Path file : files) {
+                try {
+                    entries.add(describe(file, ORIGIN_MANUAL, 0));
+                } catch (IOException e) {
+                    System.err.println("❌ Could not index backup " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+        System.out.println("📋 Indexed " + entries.size() + " existing backups in " + dir);
+        return entries;
+    }
+
+    private static Entry describe(Path file, String origin, long durationMillis) throws IOException {
+        String name = file.getFileName().toString();
+        long bytes = Files.size(file);
+        String sha256 = sha256(file);
+
+        if (!name.endsWith(BackupArchive.EXTENSION)) {
+            LocalDateTime modified = LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+            return new Entry(name, "sql", origin, modified, bytes, sha256, durationMillis, 0, "", "", Map.of());
+        }
+
+        Properties manifest = BackupChain.readManifest(file);
+        Map<String, Long> tableRows = new LinkedHashMap<>();
+        for (String table : manifest.getProperty("tables", "").split(",")) {
+            String rows = manifest.getProperty("table." + table + ".rows");
+            if (!table.isEmpty() && rows != null) {
+                tableRows.put(table, Long.parseLong(rows));
+            }
+        }
+        return new Entry(name, manifest.getProperty("type", BackupArchive.TYPE_FULL), origin,
+                LocalDateTime.parse(manifest.getProperty("created")), bytes, sha256, durationMillis,
+                Long.parseLong(manifest.getProperty("rows", "0")), manifest.getProperty("parent.file", ""),
+                manifest.getProperty("table.audit_log.mark", ""), tableRows);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Long> parseTableRows(String field) {
+        Map<String, Long> tableRows = new LinkedHashMap<>();
+        for (String pair : field.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                tableRows.put(pair.substring(0, eq), Long.parseLong(pair.substring(eq + 1)));
+            }
+        }
+        return tableRows;
+    }
+
+    private static String formatTableRows(Map<String, Long> tableRows) {
+        StringBuilder field = new StringBuilder();
+        for (Map.Entry<String, Long> table : tableRows.entrySet()) {
+            if (field.length() > 0) field.append(',');
+            field.append(table.getKey()).append('=').append(table.getValue());
+        }
+        return field.toString();
+    }
+
+    private static Path directoryOf(Path file) {
+        return file.toAbsolutePath().normalize().getParent();
+    }
+}
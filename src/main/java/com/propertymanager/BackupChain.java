@@ -0,0 +1,198 @@
+package com.propertymanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Change tracking for incremental backups, and the parent links between archives.
+// Tables with updated_at are tracked by that column (kept current by a trigger); tables with only created_at
+// are tracked by it plus a "row_updated" audit_log entry per update; deletes leave a "row_deleted" tombstone.
+public class BackupChain {
+
+    public static final String MODE_UPDATED_AT = "updated_at";
+    public static final String MODE_CREATED_AT = "created_at";
+    public static final String MODE_FULL = "full";
+
+    public static final String ACTION_UPDATED = "row_updated";
+    public static final String ACTION_DELETED = "row_deleted";
+
+    private static volatile boolean trackingInstalled;
+
+    // Installed idempotently from Java; db_setup.py splits the schema on ';' and cannot carry plpgsql bodies
+    private static final String TOUCH_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION backup_touch_updated_at() RETURNS trigger AS $$
+        BEGIN
+            NEW.updated_at := now();
+            RETURN NEW;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    private static final String TRACK_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION backup_track_change() RETURNS trigger AS $$
+        BEGIN
+            IF TG_OP = 'DELETE' THEN
+                INSERT INTO audit_log (action, table_name, record_id, old_values)
+                VALUES ('row_deleted', TG_TABLE_NAME, OLD.id, to_jsonb(OLD));
+            ELSE
+                INSERT INTO audit_log (action, table_name, record_id)
+                VALUES ('row_updated', TG_TABLE_NAME, NEW.id);
+            END IF;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    // High-churn tables left without tracking triggers, so logging their churn does not bloat audit_log;
+    // every archive exports them in full instead, since an incremental copy would miss their updates and deletes
+    public static final Set<String> FULL_EXPORT_TABLES = Set.of("notifications", "rollup_dirty", "search_documents");
+
+    // audit_log holds the tracking entries themselves and is only ever appended to
+    private static final String UNTRACKED_TABLES = Stream.concat(Stream.of("audit_log"), FULL_EXPORT_TABLES.stream())
+            .map(table -> "'" + table + "'")
+            .collect(Collectors.joining(", "));
+
+    // Ordered by name so concurrent clients reinstalling at startup lock the tables in the same order
+    private static final String TRACKED_TABLES_SQL = """
+        SELECT c.relname AS table_name,
+               c.relname NOT IN (%s) AS tracked,
+               bool_or(a.attname = 'updated_at') AS has_updated_at,
+               bool_or(a.attname = 'created_at') AS has_created_at
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped
+        WHERE n.nspname = 'public' AND c.relkind = 'r'
+        GROUP BY c.relname
+        HAVING bool_or(a.attname = 'id' AND a.atttypid IN ('int4'::regtype, 'int8'::regtype))
+        ORDER BY c.relname
+    """.formatted(UNTRACKED_TABLES);
+
+    public static void ensureChangeTracking() throws SQLException {
+        if (trackingInstalled) {
+            return;
+        }
+        synchronized (BackupChain.class) {
+            if (trackingInstalled) {
+                return;
+            }
+            try (Connection conn = DatabaseManager.getConnection()) {
+                // One transaction: a delete landing between a DROP and its CREATE would otherwise leave no tombstone
+                conn.setAutoCommit(false);
+                int tracked = 0;
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(TOUCH_FUNCTION_SQL);
+                    stmt.execute(TRACK_FUNCTION_SQL);
+
+                    List<String[]> tables = new ArrayList<>();
+                    try (PreparedStatement query = conn.prepareStatement(TRACKED_TABLES_SQL);
+                         ResultSet rs = query.executeQuery()) {
+                        while (rs.next()) {
+                            tables.add(new String[] {
+                                rs.getString("table_name"),
+                                String.valueOf(rs.getBoolean("tracked")),
+                                String.valueOf(rs.getBoolean("has_updated_at")),
+                                String.valueOf(rs.getBoolean("has_created_at"))
+                            });
+                        }
+                    }
+
+                    for (String[] table : tables) {
+                        String name = BackupExporter.quoteIdentifier(table[0]);
+                        boolean isTracked = Boolean.parseBoolean(table[1]);
+                        boolean hasUpdatedAt = Boolean.parseBoolean(table[2]);
+                        boolean hasCreatedAt = Boolean.parseBoolean(table[3]);
+
+                        // Untracked tables only lose the triggers an earlier version may have installed
+                        stmt.execute("DROP TRIGGER IF EXISTS backup_touch ON " + name);
+                        stmt.execute("DROP TRIGGER IF EXISTS backup_track ON " + name);
+                        if (!isTracked) {
+                            continue;
+                        }
+
+                        if (hasUpdatedAt) {
+                            stmt.execute("CREATE TRIGGER backup_touch BEFORE UPDATE ON " + name
+                                    + " FOR EACH ROW EXECUTE FUNCTION backup_touch_updated_at()");
+                        }
+
+                        // Updates only need logging where no updated_at column records them
+                        String events = !hasUpdatedAt && hasCreatedAt ? "UPDATE OR DELETE" : "DELETE";
+                        stmt.execute("CREATE TRIGGER backup_track AFTER " + events + " ON " + name
+                                + " FOR EACH ROW EXECUTE FUNCTION backup_track_change()");
+                        tracked++;
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+
+                trackingInstalled = true;
+                System.out.println("🧾 Change tracking installed on " + tracked + " tables");
+            }
+        }
+    }
+
+    public static Properties readManifest(Path archive) throws IOException {
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            ZipEntry entry = zip.getEntry(BackupArchive.MANIFEST_ENTRY);
+            if (entry == null) {
+                throw new IOException("Not a backup archive: " + archive.getFileName());
+            }
+            Properties manifest = new Properties();
+            try (InputStream in = zip.getInputStream(entry)) {
+                manifest.load(in);
+            }
+            return manifest;
+        }
+    }
+
+    // The archives to replay, full backup first, ending with the given archive
+    public static List<Path> resolveChain(Path archive) throws IOException {
+        List<Path> chain = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Path current = archive;
+
+        while (true) {
+            Properties manifest = readManifest(current);
+            if (!seen.add(manifest.getProperty("backup.id", current.toString()))) {
+                throw new IOException("Backup chain loops at " + current.getFileName());
+            }
+            chain.add(current);
+            if (!BackupArchive.TYPE_INCREMENTAL.equals(manifest.getProperty("type"))) {
+                break;
+            }
+
+            // Parents are looked up next to the child; the id guards against a different file with the same name
+            Path parent = current.resolveSibling(manifest.getProperty("parent.file", ""));
+            if (!Files.isRegularFile(parent)) {
+                throw new IOException("Missing parent backup " + parent.getFileName() + " for " + current.getFileName());
+            }
+            String parentId = readManifest(parent).getProperty("backup.id");
+            if (parentId == null || !parentId.equals(manifest.getProperty("parent.id"))) {
+                throw new IOException(parent.getFileName() + " is not the backup " + current.getFileName() + " was taken from");
+            }
+            current = parent;
+        }
+
+        Collections.reverse(chain);
+        return chain;
+    }
+}
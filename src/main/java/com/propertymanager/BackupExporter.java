@@ -0,0 +1,288 @@
+package com.propertymanager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Streams the public schema to a plain SQL file one row at a time, so memory use does not grow with the database
+public class BackupExporter {
+
+    public interface ProgressListener {
+        // progress is between 0 and 1
+        void onProgress(String message, double progress);
+    }
+
+    private static final int FETCH_SIZE = 1_000;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int PROGRESS_EVERY_ROWS = 1_000;
+
+    private static final String TABLES_SQL = """
+        SELECT c.relname AS table_name, GREATEST(c.reltuples, 0)::bigint AS estimated_rows
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'public' AND c.relkind IN ('r', 'p')
+        ORDER BY c.relname
+    """;
+
+    private static final String FOREIGN_KEYS_SQL = """
+        SELECT child.relname AS child_table, parent.relname AS parent_table
+        FROM pg_constraint con
+        JOIN pg_class child ON child.oid = con.conrelid
+        JOIN pg_class parent ON parent.oid = con.confrelid
+        JOIN pg_namespace n ON n.oid = child.relnamespace
+        WHERE con.contype = 'f' AND n.nspname = 'public' AND child.oid <> parent.oid
+    """;
+
+    private static final String SEQUENCES_SQL = """
+        SELECT sequencename, last_value FROM pg_sequences
+        WHERE schemaname = 'public' AND last_value IS NOT NULL
+        ORDER BY sequencename
+    """;
+
+    public static void exportSql(Path target, ProgressListener progress) throws SQLException, IOException {
+        // Write next to the target and move into place at the end, so a failed export never looks like a backup
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+
+        try (Connection conn = DatabaseManager.getConnection();
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+
+            // Cursor-based fetches need a transaction; REPEATABLE READ gives every table the same snapshot
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setReadOnly(true);
+
+            try {
+                Map<String, Long> tables = listTablesInDependencyOrder(conn);
+                writeHeader(out);
+
+                int tableIndex = 0;
+                long totalRows = 0;
+                for (Map.Entry<String, Long> table : tables.entrySet()) {
+                    totalRows += exportTable(conn, out, table.getKey(), table.getValue(), tableIndex, tables.size(), progress);
+                    tableIndex++;
+                }
+
+                writeSequences(conn, out);
+                out.write("-- Completed: " + tables.size() + " tables, " + totalRows + " rows\n");
+                progress.onProgress("Exported " + totalRows + " rows from " + tables.size() + " tables", 1.0);
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Parents before children, so a plain replay of the file satisfies foreign keys
+    static Map<String, Long> listTablesInDependencyOrder(Connection conn) throws SQLException {
+        Map<String, Long> estimatedRows = new LinkedHashMap<>();
+        Map<String, Set<String>> parents = new HashMap<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(TABLES_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                estimatedRows.put(rs.getString("table_name"), rs.getLong("estimated_rows"));
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(FOREIGN_KEYS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                parents.computeIfAbsent(rs.getString("child_table"), t -> new LinkedHashSet<>()).add(rs.getString("parent_table"));
+            }
+        }
+
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        Set<String> visiting = new LinkedHashSet<>();
+        for (String table : estimatedRows.keySet()) {
+            visitTable(table, estimatedRows, parents, visiting, ordered);
+        }
+        return ordered;
+    }
+
+    private static void visitTable(String table, Map<String, Long> estimatedRows, Map<String, Set<String>> parents,
+                                   Set<String> visiting, Map<String, Long> ordered) {
+        // A cycle is broken at the table we are already visiting
+        if (ordered.containsKey(table) || !visiting.add(table)) {
+            return;
+        }
+        for (String parent : parents.getOrDefault(table, Set.of())) {
+            if (estimatedRows.containsKey(parent)) {
+                visitTable(parent, estimatedRows, parents, visiting, ordered);
+            }
+        }
+        visiting.remove(table);
+        ordered.put(table, estimatedRows.get(table));
+    }
+
+    private static void writeHeader(Writer out) throws IOException {
+        out.write("-- Property Manager database backup\n");
+        out.write("-- Created: " + LocalDateTime.now() + "\n");
+        out.write("SET client_encoding = 'UTF8';\n");
+        out.write("SET standard_conforming_strings = on;\n\n");
+    }
+
+    private static long exportTable(Connection conn, Writer out, String table, long estimatedRows,
+                                    int tableIndex, int tableCount, ProgressListener progress) throws SQLException, IOException {
+        progress.onProgress("Exporting " + table + "...", (double) tableIndex / tableCount);
+        out.write("-- Table: " + table + "\n");
+
+        long rows = 0;
+        try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(FETCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM " + quoteIdentifier(table))) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount();
+
+                String[] columnTypes = new String[columnCount + 1];
+                StringBuilder insertPrefix = new StringBuilder("INSERT INTO ").append(quoteIdentifier(table)).append(" (");
+                for (int i = 1; i <= columnCount; i++) {
+                    columnTypes[i] = meta.getColumnTypeName(i);
+                    if (i > 1) insertPrefix.append(", ");
+                    insertPrefix.append(quoteIdentifier(meta.getColumnName(i)));
+                }
+                insertPrefix.append(") VALUES (");
+                String prefix = insertPrefix.toString();
+
+                StringBuilder line = new StringBuilder(256);
+                while (rs.next()) {
+                    line.setLength(0);
+                    line.append(prefix);
+                    for (int i = 1; i <= columnCount; i++) {
+                        if (i > 1) line.append(", ");
+                        appendLiteral(line, rs, i, columnTypes[i]);
+                    }
+                    line.append(");\n");
+                    out.append(line);
+                    rows++;
+
+                    if (rows % PROGRESS_EVERY_ROWS == 0) {
+                        // reltuples is only an estimate, so never let one table claim more than its share
+                        double tableFraction = estimatedRows > 0 ? Math.min(0.99, (double) rows / estimatedRows) : 0.5;
+                        progress.onProgress("Exporting " + table + " (" + rows + " rows)...", (tableIndex + tableFraction) / tableCount);
+                    }
+                }
+            }
+        }
+
+        out.write("\n");
+        System.out.println("💾 Exported " + rows + " rows from " + table);
+        return rows;
+    }
+
+    // Emits a literal that PostgreSQL reads back as the same value and type
+    private static void appendLiteral(StringBuilder sql, ResultSet rs, int column, String typeName) throws SQLException {
+        switch (typeName) {
+            case "bool" -> {
+                boolean value = rs.getBoolean(column);
+                sql.append(rs.wasNull() ? "NULL" : value ? "TRUE" : "FALSE");
+            }
+            case "int2", "int4", "int8", "oid", "numeric", "float4", "float8" -> {
+                String value = rs.getString(column);
+                if (value == null) {
+                    sql.append("NULL");
+                } else if (isPlainNumber(value)) {
+                    sql.append(value);
+                } else {
+                    // NaN and Infinity are only valid as quoted literals
+                    appendQuoted(sql, value).append("::").append(typeName);
+                }
+            }
+            case "text", "varchar", "bpchar", "name" -> {
+                String value = rs.getString(column);
+                if (value == null) {
+                    sql.append("NULL");
+                } else {
+                    appendQuoted(sql, value);
+                }
+            }
+            default -> {
+                // Dates, timestamps, JSON/JSONB, bytea, arrays...: PostgreSQL's own text form plus an explicit cast
+                String value = rs.getString(column);
+                if (value == null) {
+                    sql.append("NULL");
+                } else {
+                    appendQuoted(sql, value).append("::").append(castType(typeName));
+                }
+            }
+        }
+    }
+
+    private static boolean isPlainNumber(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(Character.isDigit(c) || c == '-' || c == '.' || c == 'e' || c == 'E' || c == '+')) {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    // Array types are reported as _elementtype
+    private static String castType(String typeName) {
+        String baseType = typeName.startsWith("_") ? typeName.substring(1) + "[]" : typeName;
+        return baseType.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '_' || c == '[' || c == ']')
+            ? baseType
+            : quoteIdentifier(baseType);
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder sql, String value) {
+        sql.append('\'');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\'') {
+                sql.append('\'');
+            }
+            sql.append(c);
+        }
+        return sql.append('\'');
+    }
+
+    static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    // Restores serial counters so rows inserted after a restore do not collide with restored ids
+    private static void writeSequences(Connection conn, Writer out) throws SQLException, IOException {
+        List<String> statements = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SEQUENCES_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                statements.add("SELECT setval('" + quoteIdentifier(rs.getString("sequencename")).replace("'", "''") + "', " + rs.getLong("last_value") + ", true);\n");
+            }
+        }
+        if (statements.isEmpty()) {
+            return;
+        }
+        out.write("-- Sequences\n");
+        for (String statement : statements) {
+            out.write(statement);
+        }
+        out.write("\n");
+    }
+}
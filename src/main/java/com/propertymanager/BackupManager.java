@@ -16,12 +16,8 @@ import javafx.stage.Stage;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -31,7 +27,10 @@ import java.util.List;
 public class BackupManager {
     
     private static final String BACKUP_EXTENSION = ".sql";
-    private static final String DEFAULT_BACKUP_DIR = "backups";
+    private static final String FORMAT_ARCHIVE = "Compressed archive (fast)";
+    private static final String FORMAT_INCREMENTAL = "Incremental archive (changes only)";
+    private static final String FORMAT_SQL = "Plain SQL";
+    static final String DEFAULT_BACKUP_DIR = "backups";
     
     public static void showBackupDialog(Stage parentStage) {
         Stage dialog = new Stage();
@@ -53,12 +52,18 @@ public class BackupManager {
         // Restore Section
         VBox restoreSection = createRestoreSection(dialog);
         
+        // Scheduled Backups
+        VBox scheduleSection = createScheduleSection();
+        
         // Recent Backups
         VBox recentSection = createRecentBackupsSection();
         
-        root.getChildren().addAll(header, backupSection, new Separator(), restoreSection, new Separator(), recentSection);
+        root.getChildren().addAll(header, backupSection, new Separator(), restoreSection, new Separator(), scheduleSection, new Separator(), recentSection);
+        
+        ScrollPane scrollPane = new ScrollPane(root);
+        scrollPane.setFitToWidth(true);
         
-        Scene scene = new Scene(root, 600, 700);
+        Scene scene = new Scene(scrollPane, 620, 760);
         scene.getStylesheets().add(BackupManager.class.getResource("/styles/global.css").toExternalForm());
         dialog.setScene(scene);
         dialog.showAndWait();
@@ -117,6 +122,10 @@ public class BackupManager {
             }
         });
         
+        ComboBox<String> formatCombo = new ComboBox<>();
+        formatCombo.getItems().addAll(FORMAT_ARCHIVE, FORMAT_INCREMENTAL, FORMAT_SQL);
+        formatCombo.setValue(FORMAT_ARCHIVE);
+        
         Button backupBtn = new Button("💾 Create Backup");
         backupBtn.setStyle("-fx-background-color: #10b981; -fx-text-fill: white; -fx-background-radius: 6; -fx-padding: 8 16; -fx-font-weight: bold;");
         backupBtn.setOnAction(e -> {
@@ -129,12 +138,18 @@ public class BackupManager {
                 }
                 location = defaultDir.getAbsolutePath();
             }
-            createBackup(location, dialog);
+            createBackup(location, formatCombo.getValue(), dialog);
         });
         
         backupControls.getChildren().addAll(locationField, browseBtn, backupBtn);
         
-        section.getChildren().addAll(title, description, backupControls);
+        HBox formatControls = new HBox(10);
+        formatControls.setAlignment(Pos.CENTER_LEFT);
+        Label formatLabel = new Label("Format:");
+        formatLabel.setFont(Font.font("Segoe UI", 12));
+        formatControls.getChildren().addAll(formatLabel, formatCombo);
+        
+        section.getChildren().addAll(title, description, backupControls, formatControls);
         return section;
     }
     
@@ -170,7 +185,11 @@ public class BackupManager {
         browseFileBtn.setOnAction(e -> {
             FileChooser chooser = new FileChooser();
             chooser.setTitle("Select Backup File");
-            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("SQL Files", "*.sql"));
+            chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Backups", "*" + BackupArchive.EXTENSION, "*.sql"),
+                new FileChooser.ExtensionFilter("Backup Archives", "*" + BackupArchive.EXTENSION),
+                new FileChooser.ExtensionFilter("SQL Files", "*.sql")
+            );
             File selectedFile = chooser.showOpenDialog(dialog);
             if (selectedFile != null) {
                 fileField.setText(selectedFile.getAbsolutePath());
@@ -225,27 +244,94 @@ public class BackupManager {
     }
     
     private static void loadRecentBackups(ListView<String> backupList) {
-        File backupDir = new File(DEFAULT_BACKUP_DIR);
-        if (backupDir.exists() && backupDir.isDirectory()) {
-            File[] backupFiles = backupDir.listFiles((dir, name) -> name.endsWith(BACKUP_EXTENSION));
-            if (backupFiles != null) {
-                for (File file : backupFiles) {
-                    String fileName = file.getName();
-                    long fileSize = file.length() / 1024; // KB
-                    String lastModified = LocalDateTime.ofEpochSecond(file.lastModified() / 1000, 0, java.time.ZoneOffset.UTC)
-                        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-                    
-                    backupList.getItems().add(String.format("%s (%d KB) - %s", fileName, fileSize, lastModified));
-                }
+        backupList.getItems().setAll("Loading backups...");
+        // The catalog is one small file, read off the FX thread; the archives themselves are not touched
+        AsyncDAO.load(backupList, () -> {
+            try {
+                return BackupCatalog.list(BackupScheduler.backupDirectory());
+            } catch (IOException e) {
+                System.err.println("❌ Error reading backup catalog: " + e.getMessage());
+                return List.<BackupCatalog.Entry>of();
             }
-        }
+        }, entries -> {
+            DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+            List<String> items = new ArrayList<>(entries.size());
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                BackupCatalog.Entry entry = entries.get(i);
+                items.add(String.format("%s (%s, %d KB, %d rows, %s) - %s", entry.file(), entry.type(), entry.bytes() / 1024,
+                        entry.rows(), entry.origin(), entry.created().format(format)));
+            }
+            if (items.isEmpty()) {
+                items.add("No backups found");
+            }
+            backupList.getItems().setAll(items);
+        });
+    }
+    
+    private static VBox createScheduleSection() {
+        VBox section = new VBox(15);
+        section.setPadding(new Insets(20));
+        section.setStyle("-fx-background-color: white; -fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
         
-        if (backupList.getItems().isEmpty()) {
-            backupList.getItems().add("No backups found");
+        Label title = new Label("⏰ Scheduled Backups");
+        title.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
+        title.setTextFill(Color.web("#1a202c"));
+        
+        Label description = new Label("Back up automatically in the background to the default backup folder");
+        description.setFont(Font.font("Segoe UI", 12));
+        description.setTextFill(Color.web("#6b7280"));
+        description.setWrapText(true);
+        
+        CheckBox enabledBox = new CheckBox("Enable scheduled backups");
+        
+        ComboBox<Integer> intervalCombo = new ComboBox<>();
+        intervalCombo.getItems().addAll(1, 6, 12, 24);
+        Spinner<Integer> keepDailySpinner = new Spinner<>(1, 60, 7);
+        Spinner<Integer> keepWeeklySpinner = new Spinner<>(0, 52, 4);
+        Spinner<Integer> fullEverySpinner = new Spinner<>(1, 60, 7);
+        for (Spinner<Integer> spinner : List.of(keepDailySpinner, keepWeeklySpinner, fullEverySpinner)) {
+            spinner.setPrefWidth(80);
+            spinner.setEditable(true);
         }
+        
+        HBox cadenceRow = new HBox(10);
+        cadenceRow.setAlignment(Pos.CENTER_LEFT);
+        cadenceRow.getChildren().addAll(new Label("Every (hours):"), intervalCombo, new Label("Full backup every (days):"), fullEverySpinner);
+        
+        HBox retentionRow = new HBox(10);
+        retentionRow.setAlignment(Pos.CENTER_LEFT);
+        retentionRow.getChildren().addAll(new Label("Keep daily:"), keepDailySpinner, new Label("Keep weekly:"), keepWeeklySpinner);
+        
+        Button saveBtn = new Button("💾 Save Schedule");
+        saveBtn.setStyle("-fx-background-color: #3b82f6; -fx-text-fill: white; -fx-background-radius: 6; -fx-padding: 8 16; -fx-font-weight: bold;");
+        saveBtn.setDisable(true);
+        saveBtn.setOnAction(e -> {
+            BackupScheduler.Schedule schedule = new BackupScheduler.Schedule(enabledBox.isSelected(), intervalCombo.getValue(),
+                    keepDailySpinner.getValue(), keepWeeklySpinner.getValue(), fullEverySpinner.getValue());
+            AsyncDAO.load(saveBtn, () -> BackupScheduler.saveSchedule(schedule), saved -> {
+                if (saved) {
+                    showAlert("Success", "Backup schedule saved.");
+                } else {
+                    showAlert("Error", "Failed to save backup schedule.");
+                }
+            });
+        });
+        
+        AsyncDAO.load(section, BackupScheduler::loadSchedule, schedule -> {
+            enabledBox.setSelected(schedule.enabled());
+            intervalCombo.setValue(schedule.intervalHours());
+            keepDailySpinner.getValueFactory().setValue(schedule.keepDaily());
+            keepWeeklySpinner.getValueFactory().setValue(schedule.keepWeekly());
+            fullEverySpinner.getValueFactory().setValue(schedule.fullEveryDays());
+            saveBtn.setDisable(false);
+        });
+        
+        section.getChildren().addAll(title, description, enabledBox, cadenceRow, retentionRow, saveBtn);
+        return section;
     }
     
-    private static void createBackup(String location, Stage parentStage) {
+    private static void createBackup(String location, String format, Stage parentStage) {
+        boolean archive = !FORMAT_SQL.equals(format);
         // Create progress dialog
         Stage progressStage = new Stage();
         progressStage.initModality(Modality.APPLICATION_MODAL);
@@ -273,16 +359,26 @@ public class BackupManager {
             @Override
             protected Boolean call() throws Exception {
                 updateMessage("Connecting to database...");
-                updateProgress(0.1, 1.0);
                 
                 String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-                String fileName = "property_manager_backup_" + timestamp + BACKUP_EXTENSION;
+                String fileName = "property_manager_backup_" + timestamp + (archive ? BackupArchive.EXTENSION : BACKUP_EXTENSION);
                 File backupFile = new File(location, fileName);
                 
-                updateMessage("Exporting database...");
-                updateProgress(0.3, 1.0);
-                
-                return exportDatabase(backupFile.getAbsolutePath());
+                BackupExporter.ProgressListener listener = (message, progress) -> {
+                    updateMessage(message);
+                    updateProgress(progress, 1.0);
+                };
+                return BackupScheduler.runExclusive(() -> {
+                    long started = System.currentTimeMillis();
+                    boolean created = archive
+                        ? exportArchive(backupFile.getAbsolutePath(), FORMAT_INCREMENTAL.equals(format), listener)
+                        : exportDatabase(backupFile.getAbsolutePath(), listener);
+                    if (created) {
+                        updateMessage("Updating backup catalog...");
+                        BackupCatalog.record(backupFile.toPath(), BackupCatalog.ORIGIN_MANUAL, System.currentTimeMillis() - started);
+                    }
+                    return created;
+                });
             }
             
             @Override
@@ -310,8 +406,10 @@ public class BackupManager {
         backupThread.start();
     }
     
-    private static boolean exportDatabase(String filePath) {
+    private static boolean exportDatabase(String filePath, BackupExporter.ProgressListener progress) {
         try {
+            progress.onProgress("Running pg_dump...", -1);
+            
             // Use pg_dump command
             ProcessBuilder pb = new ProcessBuilder(
                 "pg_dump",
@@ -333,56 +431,36 @@ public class BackupManager {
         } catch (Exception e) {
             e.printStackTrace();
             // Fallback: Manual SQL export
-            return exportDatabaseManually(filePath);
+            return exportDatabaseManually(filePath, progress);
         }
     }
     
-    private static boolean exportDatabaseManually(String filePath) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            StringBuilder sql = new StringBuilder();
-            
-            // Get all table names
-            List<String> tables = new ArrayList<>();
-            PreparedStatement stmt = conn.prepareStatement(
-                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'"
-            );
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                tables.add(rs.getString("table_name"));
-            }
-            
-            // Export each table
-            for (String table : tables) {
-                sql.append("-- Table: ").append(table).append("\n");
-                
-                // Get table data
-                PreparedStatement dataStmt = conn.prepareStatement("SELECT * FROM " + table);
-                ResultSet dataRs = dataStmt.executeQuery();
-                
-                while (dataRs.next()) {
-                    sql.append("INSERT INTO ").append(table).append(" VALUES (");
-                    int columnCount = dataRs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= columnCount; i++) {
-                        if (i > 1) sql.append(", ");
-                        Object value = dataRs.getObject(i);
-                        if (value == null) {
-                            sql.append("NULL");
-                        } else if (value instanceof String) {
-                            sql.append("'").append(value.toString().replace("'", "''")).append("'");
-                        } else {
-                            sql.append(value.toString());
-                        }
-                    }
-                    sql.append(");\n");
-                }
-                sql.append("\n");
+    private static boolean exportArchive(String filePath, boolean incremental, BackupExporter.ProgressListener progress) {
+        try {
+            Path target = Paths.get(filePath);
+            // An incremental backup extends the newest archive in the same folder; without one it starts a new chain
+            Path parent = incremental ? BackupCatalog.latestArchive(target.toAbsolutePath().getParent()) : null;
+            if (parent != null) {
+                BackupArchive.exportIncremental(target, parent, progress);
+            } else {
+                // Parallel COPY of every table from one consistent snapshot
+                BackupArchive.export(target, progress);
             }
-            
-            // Write to file
-            Files.write(Paths.get(filePath), sql.toString().getBytes());
             return true;
-            
         } catch (Exception e) {
+            System.err.println("❌ Backup archive failed: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    private static boolean exportDatabaseManually(String filePath, BackupExporter.ProgressListener progress) {
+        try {
+            // Rows are streamed from a server-side cursor straight to disk
+            BackupExporter.exportSql(Paths.get(filePath), progress);
+            return true;
+        } catch (Exception e) {
+            System.err.println("❌ Backup export failed: " + e.getMessage());
             e.printStackTrace();
             return false;
         }
@@ -416,15 +494,24 @@ public class BackupManager {
             @Override
             protected Boolean call() throws Exception {
                 updateMessage("Preparing restore...");
-                updateProgress(0.1, 1.0);
-                
-                updateMessage("Clearing existing data...");
-                updateProgress(0.3, 1.0);
-                
-                updateMessage("Restoring from backup...");
-                updateProgress(0.7, 1.0);
                 
-                return importDatabase(filePath);
+                boolean restored = importDatabase(filePath, (message, progress) -> {
+                    updateMessage(message);
+                    updateProgress(progress, 1.0);
+                });
+                // Restores load with triggers disabled, so the report rollups are recomputed from the restored rows
+                if (restored && ReportRollups.isInstalled()) {
+                    updateMessage("Rebuilding report summaries...");
+                    ReportRollups.rebuild();
+                }
+                if (restored) {
+                    AnalyticsSnapshot.invalidate();
+                    NotificationService.rebuildCounts();
+                    OverdueEngine.rescan();
+                    NotificationService.publish(NotificationService.TYPE_SYSTEM, "Database Restored",
+                            "The database was restored from " + Paths.get(filePath).getFileName() + ".");
+                }
+                return restored;
             }
             
             @Override
@@ -452,8 +539,13 @@ public class BackupManager {
         restoreThread.start();
     }
     
-    private static boolean importDatabase(String filePath) {
+    private static boolean importDatabase(String filePath, BackupExporter.ProgressListener progress) {
+        if (filePath.endsWith(BackupArchive.EXTENSION)) {
+            return importArchive(filePath, progress);
+        }
         try {
+            progress.onProgress("Running psql...", -1);
+            
             // Use psql command
             ProcessBuilder pb = new ProcessBuilder(
                 "psql",
@@ -474,29 +566,28 @@ public class BackupManager {
         } catch (Exception e) {
             e.printStackTrace();
             // Fallback: Manual SQL import
-            return importDatabaseManually(filePath);
+            return importDatabaseManually(filePath, progress);
         }
     }
     
-    private static boolean importDatabaseManually(String filePath) {
+    private static boolean importArchive(String filePath, BackupExporter.ProgressListener progress) {
         try {
-            String sql = new String(Files.readAllBytes(Paths.get(filePath)));
-            
-            try (Connection conn = DatabaseManager.getConnection()) {
-                // Split SQL into individual statements
-                String[] statements = sql.split(";");
-                
-                for (String statement : statements) {
-                    statement = statement.trim();
-                    if (!statement.isEmpty() && !statement.startsWith("--")) {
-                        try (PreparedStatement stmt = conn.prepareStatement(statement)) {
-                            stmt.execute();
-                        }
-                    }
-                }
-                return true;
-            }
+            BackupRestorer.restoreArchive(Paths.get(filePath), progress);
+            return true;
+        } catch (Exception e) {
+            System.err.println("❌ Archive restore failed: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    private static boolean importDatabaseManually(String filePath, BackupExporter.ProgressListener progress) {
+        try {
+            // Streamed statement by statement in one transaction; a failure leaves the database unchanged
+            BackupRestorer.restoreSql(Paths.get(filePath), progress);
+            return true;
         } catch (Exception e) {
+            System.err.println("❌ Restore failed: " + e.getMessage());
             e.printStackTrace();
             return false;
         }
@@ -0,0 +1,430 @@
+package com.propertymanager;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Restores a backup inside a single transaction: either all of it is applied or the database is left untouched.
+// Input is streamed, so memory use does not depend on the size of the backup.
+public class BackupRestorer {
+
+    private static final String SQL_BACKUP_HEADER = "-- Property Manager database backup";
+    private static final int MAX_ROWS_PER_INSERT = 500;
+    private static final int MAX_INSERT_CHARS = 1 << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Plain (non-constraint) indexes are dropped for the bulk load and rebuilt once at the end
+    private static final String DROPPABLE_INDEXES_SQL = """
+        SELECT ic.relname AS index_name, pg_get_indexdef(i.indexrelid) AS definition
+        FROM pg_index i
+        JOIN pg_class ic ON ic.oid = i.indexrelid
+        JOIN pg_class tc ON tc.oid = i.indrelid
+        JOIN pg_namespace n ON n.oid = tc.relnamespace
+        WHERE n.nspname = 'public' AND tc.relname = ANY(?)
+          AND NOT EXISTS (SELECT 1 FROM pg_constraint con WHERE con.conindid = i.indexrelid)
+    """;
+
+    public static void restoreSql(Path file, BackupExporter.ProgressListener progress) throws SQLException, IOException {
+        long totalBytes = Math.max(1, Files.size(file));
+
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+             SqlStatementReader reader = new SqlStatementReader(new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8), BUFFER_SIZE));
+             Connection conn = DatabaseManager.getConnection()) {
+
+            conn.setAutoCommit(false);
+            try {
+                // Backups written by this application hold data only, so the current rows are replaced first
+                List<String> tables = new ArrayList<>(BackupExporter.listTablesInDependencyOrder(conn).keySet());
+                boolean dataOnly = startsWith(file, SQL_BACKUP_HEADER);
+                BulkLoad bulkLoad = dataOnly ? prepareBulkLoad(conn, tables) : null;
+
+                try (Statement stmt = conn.createStatement()) {
+                    InsertBatch batch = new InsertBatch(stmt);
+                    long statements = 0;
+                    String sql;
+                    while ((sql = reader.next()) != null) {
+                        if (isCopyFromStdin(sql)) {
+                            batch.flush();
+                            copyInline(conn, sql, reader);
+                        } else if (!batch.add(sql)) {
+                            batch.flush();
+                            stmt.execute(sql);
+                        }
+
+                        if (++statements % 1_000 == 0) {
+                            progress.onProgress("Restored " + statements + " statements...", 0.9 * counter.getCount() / totalBytes);
+                        }
+                    }
+                    batch.flush();
+                }
+
+                if (bulkLoad != null) {
+                    finishBulkLoad(conn, tables, bulkLoad, progress);
+                }
+                conn.commit();
+                System.out.println("📥 Restored SQL backup " + file.getFileName());
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        analyze();
+        progress.onProgress("Restore complete", 1.0);
+    }
+
+    // Restores the archive together with the chain it extends: the full backup first, then each incremental in turn
+    public static void restoreArchive(Path file, BackupExporter.ProgressListener progress) throws SQLException, IOException {
+        List<Path> chain = BackupChain.resolveChain(file);
+        List<Properties> manifests = new ArrayList<>();
+        long totalRows = 1;
+        for (Path archive : chain) {
+            Properties manifest = BackupChain.readManifest(archive);
+            if (!BackupArchive.FORMAT_VERSION.equals(manifest.getProperty("format.version"))) {
+                throw new IOException("Unsupported backup archive version: " + manifest.getProperty("format.version"));
+            }
+            manifests.add(manifest);
+            totalRows += Long.parseLong(manifest.getProperty("rows", "0"));
+        }
+
+        List<String> tables = listTables(manifests.get(manifests.size() - 1));
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                BulkLoad bulkLoad = prepareBulkLoad(conn, tables);
+                CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+
+                long restoredRows = 0;
+                for (int i = 0; i < chain.size(); i++) {
+                    Properties manifest = manifests.get(i);
+                    try (ZipFile zip = new ZipFile(chain.get(i).toFile())) {
+                        for (String table : listTables(manifest)) {
+                            progress.onProgress("Restoring " + table + " (" + (i + 1) + " of " + chain.size() + " backups)...",
+                                    0.9 * restoredRows / totalRows);
+                            if (i == 0) {
+                                restoredRows += copyTable(copyManager, zip, manifest, table, BackupExporter.quoteIdentifier(table));
+                            } else {
+                                restoredRows += applyChanges(conn, copyManager, zip, manifest, table);
+                            }
+                        }
+                        if (i > 0) {
+                            applyTombstones(conn, copyManager, zip, manifest);
+                        }
+                    }
+                }
+
+                restoreSequences(conn, manifests.get(manifests.size() - 1));
+                finishBulkLoad(conn, tables, bulkLoad, progress);
+                conn.commit();
+                System.out.println("📥 Restored " + restoredRows + " rows from " + chain.size() + " backup archive(s) ending at " + file.getFileName());
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        analyze();
+        progress.onProgress("Restore complete", 1.0);
+    }
+
+    private static List<String> listTables(Properties manifest) {
+        return Arrays.stream(manifest.getProperty("tables", "").split(",")).filter(t -> !t.isEmpty()).toList();
+    }
+
+    private static long copyTable(CopyManager copyManager, ZipFile zip, Properties manifest, String table, String target)
+            throws SQLException, IOException {
+        String key = "table." + table;
+        ZipEntry entry = zip.getEntry(manifest.getProperty(key + ".entry", BackupArchive.entryName(table)));
+        if (entry == null) {
+            throw new IOException("Backup archive is missing data for " + table);
+        }
+        try (InputStream in = new GZIPInputStream(zip.getInputStream(entry), BUFFER_SIZE)) {
+            return copyManager.copyIn("COPY " + target + " (" + columnList(manifest, table) + ") FROM STDIN WITH (FORMAT csv)", in, BUFFER_SIZE);
+        }
+    }
+
+    // Changed rows are staged in a temp table and upserted by id; tables the archive holds in full are replaced
+    private static long applyChanges(Connection conn, CopyManager copyManager, ZipFile zip, Properties manifest, String table)
+            throws SQLException, IOException {
+        String quotedTable = BackupExporter.quoteIdentifier(table);
+        try (Statement stmt = conn.createStatement()) {
+            if (!Boolean.parseBoolean(manifest.getProperty("table." + table + ".incremental"))) {
+                stmt.execute("DELETE FROM " + quotedTable);
+                return copyTable(copyManager, zip, manifest, table, quotedTable);
+            }
+
+            stmt.execute("CREATE TEMP TABLE backup_stage (LIKE " + quotedTable + ")");
+            try {
+                long rows = copyTable(copyManager, zip, manifest, table, "backup_stage");
+                String columns = columnList(manifest, table);
+                StringBuilder assignments = new StringBuilder();
+                for (String column : manifest.getProperty("table." + table + ".columns").split(",")) {
+                    if (column.equals("id")) continue;
+                    if (assignments.length() > 0) assignments.append(", ");
+                    String quoted = BackupExporter.quoteIdentifier(column);
+                    assignments.append(quoted).append(" = EXCLUDED.").append(quoted);
+                }
+                stmt.execute("INSERT INTO " + quotedTable + " (" + columns + ") SELECT " + columns + " FROM backup_stage ON CONFLICT (id) DO "
+                        + (assignments.length() > 0 ? "UPDATE SET " + assignments : "NOTHING"));
+                return rows;
+            } finally {
+                stmt.execute("DROP TABLE backup_stage");
+            }
+        }
+    }
+
+    // Deletes run after the upserts and children first, so rows re-pointed away from a deleted parent are already updated
+    private static void applyTombstones(Connection conn, CopyManager copyManager, ZipFile zip, Properties manifest)
+            throws SQLException, IOException {
+        ZipEntry entry = zip.getEntry(BackupArchive.TOMBSTONES_ENTRY);
+        if (entry == null) {
+            throw new IOException("Incremental backup archive is missing its tombstones");
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TEMP TABLE backup_tombstones (table_name text, record_id bigint)");
+            try {
+                try (InputStream in = new GZIPInputStream(zip.getInputStream(entry), BUFFER_SIZE)) {
+                    copyManager.copyIn("COPY backup_tombstones FROM STDIN WITH (FORMAT csv)", in, BUFFER_SIZE);
+                }
+
+                List<String> tables = new ArrayList<>(listTables(manifest));
+                Collections.reverse(tables);
+                for (String table : tables) {
+                    if (BackupChain.MODE_FULL.equals(manifest.getProperty("table." + table + ".mode"))) {
+                        continue;
+                    }
+                    try (PreparedStatement delete = conn.prepareStatement("DELETE FROM " + BackupExporter.quoteIdentifier(table)
+                            + " WHERE id IN (SELECT record_id FROM backup_tombstones WHERE table_name = ?)")) {
+                        delete.setString(1, table);
+                        delete.executeUpdate();
+                    }
+                }
+            } finally {
+                stmt.execute("DROP TABLE backup_tombstones");
+            }
+        }
+    }
+
+    private static String columnList(Properties manifest, String table) {
+        return String.join(", ", Arrays.stream(manifest.getProperty("table." + table + ".columns").split(","))
+                .map(BackupExporter::quoteIdentifier).toList());
+    }
+
+    private record BulkLoad(List<String> indexDefinitions, boolean triggersDisabled) {}
+
+    // Empties the target tables and removes the work that slows a bulk load: secondary indexes and user triggers
+    private static BulkLoad prepareBulkLoad(Connection conn, List<String> tables) throws SQLException {
+        List<String> indexDefinitions = new ArrayList<>();
+        if (tables.isEmpty()) {
+            return new BulkLoad(indexDefinitions, false);
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            // Checks of DEFERRABLE constraints run once at commit; the rest are satisfied by the parents-first table order
+            stmt.execute("SET CONSTRAINTS ALL DEFERRED");
+
+            StringBuilder truncate = new StringBuilder("TRUNCATE ");
+            for (int i = 0; i < tables.size(); i++) {
+                if (i > 0) truncate.append(", ");
+                truncate.append(BackupExporter.quoteIdentifier(tables.get(i)));
+            }
+            stmt.execute(truncate.append(" RESTART IDENTITY CASCADE").toString());
+
+            Map<String, String> indexes = new LinkedHashMap<>();
+            try (PreparedStatement query = conn.prepareStatement(DROPPABLE_INDEXES_SQL)) {
+                query.setArray(1, conn.createArrayOf("text", tables.toArray()));
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        indexes.put(rs.getString("index_name"), rs.getString("definition"));
+                    }
+                }
+            }
+            for (Map.Entry<String, String> index : indexes.entrySet()) {
+                stmt.execute("DROP INDEX " + BackupExporter.quoteIdentifier(index.getKey()));
+                indexDefinitions.add(index.getValue());
+            }
+
+            // Change notifications are sent once for the whole restore instead of once per row.
+            // Only the table owner may do this; otherwise the load simply runs with triggers on.
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                for (String table : tables) {
+                    stmt.execute("ALTER TABLE " + BackupExporter.quoteIdentifier(table) + " DISABLE TRIGGER USER");
+                }
+                conn.releaseSavepoint(savepoint);
+                return new BulkLoad(indexDefinitions, true);
+            } catch (SQLException e) {
+                conn.rollback(savepoint);
+                System.err.println("❌ Could not disable triggers for restore: " + e.getMessage());
+                return new BulkLoad(indexDefinitions, false);
+            }
+        }
+    }
+
+    private static void finishBulkLoad(Connection conn, List<String> tables, BulkLoad bulkLoad,
+                                       BackupExporter.ProgressListener progress) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (bulkLoad.triggersDisabled()) {
+                for (String table : tables) {
+                    stmt.execute("ALTER TABLE " + BackupExporter.quoteIdentifier(table) + " ENABLE TRIGGER USER");
+                }
+            }
+
+            List<String> indexDefinitions = bulkLoad.indexDefinitions();
+            int rebuilt = 0;
+            for (String definition : indexDefinitions) {
+                progress.onProgress("Rebuilding indexes (" + ++rebuilt + " of " + indexDefinitions.size() + ")...", 0.95);
+                stmt.execute(definition);
+            }
+
+            // Delivered on commit: every client drops its cached entities
+            stmt.execute("SELECT pg_notify('" + DatabaseManager.CHANGE_CHANNEL + "', '" + DatabaseManager.ALL_TABLES + ":')");
+        }
+    }
+
+    private static void restoreSequences(Connection conn, Properties manifest) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT setval(?::regclass, ?, true)")) {
+            for (String key : manifest.stringPropertyNames()) {
+                if (key.startsWith("sequence.")) {
+                    stmt.setString(1, BackupExporter.quoteIdentifier(key.substring("sequence.".length())));
+                    stmt.setLong(2, Long.parseLong(manifest.getProperty(key)));
+                    stmt.addBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // Refreshes planner statistics after the bulk load; outside the transaction, and harmless if it fails
+    private static void analyze() {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        } catch (SQLException e) {
+            System.err.println("❌ ANALYZE after restore failed: " + e.getMessage());
+        }
+    }
+
+    private static boolean isCopyFromStdin(String sql) {
+        return sql.regionMatches(true, 0, "COPY ", 0, 5) && sql.toUpperCase().matches("(?s).*\\sFROM\\s+STDIN\\b.*");
+    }
+
+    // pg_dump style inline data: the lines after the statement, up to "\."
+    private static void copyInline(Connection conn, String sql, SqlStatementReader reader) throws SQLException, IOException {
+        CopyIn copyIn = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            reader.skipRestOfLine();
+            String line;
+            while ((line = reader.readCopyDataLine()) != null) {
+                byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static boolean startsWith(Path file, String header) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            return firstLine != null && firstLine.startsWith(header);
+        }
+    }
+
+    // Folds consecutive single-row INSERTs into the same table and columns into multi-row INSERTs,
+    // the same rewrite pgjdbc's reWriteBatchedInserts applies to prepared batches
+    private static class InsertBatch {
+        private final Statement stmt;
+        private final StringBuilder sql = new StringBuilder();
+        private String prefix;
+        private int rows;
+
+        InsertBatch(Statement stmt) {
+            this.stmt = stmt;
+        }
+
+        // False if the statement is not a mergeable INSERT; the caller then runs it on its own
+        boolean add(String statement) throws SQLException {
+            int valuesStart = SqlStatementReader.singleRowValuesStart(statement);
+            if (valuesStart < 0) {
+                return false;
+            }
+            String statementPrefix = statement.substring(0, valuesStart);
+            if (!statementPrefix.equals(prefix) || rows >= MAX_ROWS_PER_INSERT || sql.length() >= MAX_INSERT_CHARS) {
+                flush();
+                prefix = statementPrefix;
+                sql.append(statement);
+            } else {
+                sql.append(", ").append(statement, valuesStart, statement.length());
+            }
+            rows++;
+            return true;
+        }
+
+        void flush() throws SQLException {
+            if (rows > 0) {
+                stmt.execute(sql.toString());
+            }
+            sql.setLength(0);
+            prefix = null;
+            rows = 0;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
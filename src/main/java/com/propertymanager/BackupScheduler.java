@@ -0,0 +1,280 @@
+package com.propertymanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Takes backups in the background on the cadence stored in system_settings, and prunes old ones by retention
+public class BackupScheduler {
+
+    public record Schedule(boolean enabled, int intervalHours, int keepDaily, int keepWeekly, int fullEveryDays) {
+        public static Schedule defaults() {
+            return new Schedule(false, 24, 7, 4, 7);
+        }
+    }
+
+    private static final long CHECK_EVERY_MINUTES = 5;
+
+    private static final String LOAD_SQL = "SELECT setting_key, setting_value FROM system_settings WHERE setting_key LIKE 'backup\\_%'";
+
+    private static final String SAVE_SQL = """
+        INSERT INTO system_settings (setting_key, setting_value, description) VALUES (?, ?, ?)
+        ON CONFLICT (setting_key) DO UPDATE SET setting_value = EXCLUDED.setting_value, updated_at = CURRENT_TIMESTAMP
+    """;
+
+    // Only the tracking rows are pruned; application audit entries are kept
+    private static final String PRUNE_AUDIT_SQL =
+        "DELETE FROM audit_log WHERE action IN ('" + BackupChain.ACTION_UPDATED + "', '" + BackupChain.ACTION_DELETED + "') AND created_at < ?::timestamp";
+
+    // Manual and scheduled backups never run at the same time
+    private static final ReentrantLock running = new ReentrantLock();
+
+    private static ScheduledExecutorService executor;
+
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "backup-scheduler");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(BackupScheduler::tick, 1, CHECK_EVERY_MINUTES, TimeUnit.MINUTES);
+        System.out.println("⏰ Backup scheduler started");
+    }
+
+    public static synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public static <T> T runExclusive(Callable<T> backup) throws Exception {
+        running.lock();
+        try {
+            return backup.call();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    public static Path backupDirectory() {
+        return Paths.get(BackupManager.DEFAULT_BACKUP_DIR).toAbsolutePath();
+    }
+
+    public static Schedule loadSchedule() {
+        Map<String, String> values = new HashMap<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LOAD_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                values.put(rs.getString("setting_key"), rs.getString("setting_value"));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading backup schedule: " + e.getMessage());
+        }
+
+        Schedule defaults = Schedule.defaults();
+        return new Schedule(
+            Boolean.parseBoolean(values.getOrDefault("backup_enabled", String.valueOf(defaults.enabled()))),
+            parseInt(values.get("backup_interval_hours"), defaults.intervalHours()),
+            parseInt(values.get("backup_keep_daily"), defaults.keepDaily()),
+            parseInt(values.get("backup_keep_weekly"), defaults.keepWeekly()),
+            parseInt(values.get("backup_full_every_days"), defaults.fullEveryDays()));
+    }
+
+    public static boolean saveSchedule(Schedule schedule) {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SAVE_SQL)) {
+            addSetting(stmt, "backup_enabled", String.valueOf(schedule.enabled()), "Run scheduled backups");
+            addSetting(stmt, "backup_interval_hours", String.valueOf(schedule.intervalHours()), "Hours between scheduled backups");
+            addSetting(stmt, "backup_keep_daily", String.valueOf(schedule.keepDaily()), "Daily backups to keep");
+            addSetting(stmt, "backup_keep_weekly", String.valueOf(schedule.keepWeekly()), "Weekly backups to keep");
+            addSetting(stmt, "backup_full_every_days", String.valueOf(schedule.fullEveryDays()), "Days between full backups");
+            stmt.executeBatch();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("❌ Error saving backup schedule: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void addSetting(PreparedStatement stmt, String key, String value, String description) throws SQLException {
+        stmt.setString(1, key);
+        stmt.setString(2, value);
+        stmt.setString(3, description);
+        stmt.addBatch();
+    }
+
+    private static void tick() {
+        // A manual backup is already running; check again next time
+        if (!running.tryLock()) {
+            return;
+        }
+        try {
+            Schedule schedule = loadSchedule();
+            if (!schedule.enabled()) {
+                return;
+            }
+
+            Path dir = backupDirectory();
+            List<BackupCatalog.Entry> entries = BackupCatalog.list(dir);
+            LocalDateTime now = LocalDateTime.now();
+            if (!entries.isEmpty()
+                    && entries.get(entries.size() - 1).created().isAfter(now.minusHours(schedule.intervalHours()))) {
+                return;
+            }
+
+            runScheduledBackup(dir, entries, schedule, now);
+            applyRetention(dir, schedule);
+        } catch (Exception e) {
+            System.err.println("❌ Scheduled backup failed: " + e.getMessage());
+            NotificationService.publish(NotificationService.TYPE_ALERT, "Scheduled Backup Failed", String.valueOf(e.getMessage()));
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private static void runScheduledBackup(Path dir, List<BackupCatalog.Entry> entries, Schedule schedule, LocalDateTime now)
+            throws Exception {
+        Files.createDirectories(dir);
+
+        // Incremental backups extend the newest archive; a full one is taken every fullEveryDays to bound the chain length
+        boolean recentFull = entries.stream().anyMatch(e -> BackupArchive.TYPE_FULL.equals(e.type())
+                && e.created().isAfter(now.minusDays(schedule.fullEveryDays())));
+        Path parent = recentFull ? BackupCatalog.latestArchive(dir) : null;
+
+        String timestamp = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        Path target = dir.resolve("property_manager_backup_" + timestamp + BackupArchive.EXTENSION);
+        BackupExporter.ProgressListener quiet = (message, progress) -> { };
+
+        long started = System.nanoTime();
+        if (parent != null) {
+            BackupArchive.exportIncremental(target, parent, quiet);
+        } else {
+            BackupArchive.export(target, quiet);
+        }
+        BackupCatalog.Entry entry = BackupCatalog.record(target, BackupCatalog.ORIGIN_SCHEDULED,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        System.out.println("⏰ Scheduled " + entry.type() + " backup written: " + entry.file() + " (" + entry.rows() + " rows)");
+        NotificationService.publish(NotificationService.TYPE_SYSTEM, "System Backup Completed",
+                "Scheduled " + entry.type() + " backup " + entry.file() + " written (" + entry.rows() + " rows).");
+    }
+
+    // Keeps the newest scheduled backup of each of the last keepDaily days and keepWeekly weeks, plus every archive
+    // those depend on. Manual backups are never deleted.
+    static void applyRetention(Path dir, Schedule schedule) throws IOException {
+        List<BackupCatalog.Entry> entries = BackupCatalog.list(dir);
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Set<String> keep = new HashSet<>();
+        Set<LocalDate> days = new HashSet<>();
+        Set<Integer> weeks = new HashSet<>();
+        // The newest backup is the parent of the next incremental
+        keep.add(entries.get(entries.size() - 1).file());
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            BackupCatalog.Entry entry = entries.get(i);
+            if (!BackupCatalog.ORIGIN_SCHEDULED.equals(entry.origin())) {
+                keep.add(entry.file());
+                continue;
+            }
+            LocalDate day = entry.created().toLocalDate();
+            int week = day.get(IsoFields.WEEK_BASED_YEAR) * 100 + day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            if (days.size() < schedule.keepDaily() && days.add(day)) {
+                keep.add(entry.file());
+            }
+            if (weeks.size() < schedule.keepWeekly() && weeks.add(week)) {
+                keep.add(entry.file());
+            }
+        }
+
+        Map<String, BackupCatalog.Entry> byFile = new HashMap<>();
+        for (BackupCatalog.Entry entry : entries) {
+            byFile.put(entry.file(), entry);
+        }
+        for (String file : new ArrayList<>(keep)) {
+            BackupCatalog.Entry entry = byFile.get(file);
+            while (entry != null && !entry.parentFile().isEmpty() && keep.add(entry.parentFile())) {
+                entry = byFile.get(entry.parentFile());
+            }
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (BackupCatalog.Entry entry : entries) {
+            if (!keep.contains(entry.file())) {
+                Files.deleteIfExists(dir.resolve(entry.file()));
+                removed.add(entry.file());
+            }
+        }
+        if (!removed.isEmpty()) {
+            BackupCatalog.remove(dir, removed);
+            System.out.println("🧹 Retention removed " + removed.size() + " old backups");
+        }
+
+        pruneChangeTracking(entries, keep);
+    }
+
+    // Tracking rows older than every kept archive's mark can no longer be needed by an incremental backup
+    private static void pruneChangeTracking(List<BackupCatalog.Entry> entries, Set<String> keep) {
+        String oldestMark = null;
+        for (BackupCatalog.Entry entry : entries) {
+            if (!keep.contains(entry.file()) || !entry.file().endsWith(BackupArchive.EXTENSION)) {
+                continue;
+            }
+            if (entry.auditMark().isEmpty()) {
+                return;
+            }
+            if (oldestMark == null || entry.auditMark().compareTo(oldestMark) < 0) {
+                oldestMark = entry.auditMark();
+            }
+        }
+        if (oldestMark == null) {
+            return;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(PRUNE_AUDIT_SQL)) {
+            stmt.setString(1, oldestMark);
+            int pruned = stmt.executeUpdate();
+            if (pruned > 0) {
+                System.out.println("🧹 Pruned " + pruned + " change-tracking rows from audit_log");
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error pruning audit_log: " + e.getMessage());
+        }
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
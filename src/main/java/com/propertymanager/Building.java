@@ -12,6 +12,7 @@ public class Building {
     public int occupiedApartments;
     public String status;
     public List<Apartment> apartments;
+    public boolean apartmentsLoaded;
     
     public Building(int id, String name, String location, int floors, int totalApartments, int occupiedApartments, String status) {
         this.id = id;
@@ -24,6 +25,13 @@ public class Building {
         this.apartments = new ArrayList<>();
     }
     
+    public Building copy() {
+        Building copy = new Building(id, name, location, floors, totalApartments, occupiedApartments, status);
+        copy.apartments.addAll(apartments);
+        copy.apartmentsLoaded = apartmentsLoaded;
+        return copy;
+    }
+    
     public double getOccupancyPercentage() {
         return Math.round((double) occupiedApartments / totalApartments * 100);
     }
@@ -1,12 +1,42 @@
 package com.propertymanager;
 
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 public class BuildingDAO {
     
+    // Apartment changes also invalidate the building, whose unit counts they may change
+    private static final EntityCache<Building> cache = new EntityCache<>("buildings", 500, Duration.ofMinutes(10), Building::copy);
+    
+    static {
+        DatabaseManager.addChangeListener((table, id) -> {
+            switch (table) {
+                case "buildings", "apartments" -> {
+                    if (id != null) {
+                        cache.invalidate(id);
+                    } else {
+                        cache.invalidateAll();
+                    }
+                }
+                case DatabaseManager.ALL_TABLES -> cache.invalidateAll();
+                default -> { }
+            }
+        });
+    }
+    
     public static List<Building> getAllBuildings() {
+        try {
+            return cache.getAll(BuildingDAO::queryAllBuildings, building -> building.id);
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading buildings: " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    private static List<Building> queryAllBuildings() throws SQLException {
         List<Building> buildings = new ArrayList<>();
         String sql = "SELECT id, name, location, floors, total_apartments, occupied_apartments, status FROM buildings ORDER BY name";
         
@@ -15,54 +45,156 @@ public class BuildingDAO {
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                Building building = new Building(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("location"),
-                    rs.getInt("floors"),
-                    rs.getInt("total_apartments"),
-                    rs.getInt("occupied_apartments"),
-                    rs.getString("status")
-                );
-                buildings.add(building);
+                buildings.add(mapBuilding(rs));
             }
             
             System.out.println("📊 Loaded " + buildings.size() + " buildings from database");
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Error loading buildings: " + e.getMessage());
-            e.printStackTrace();
         }
         
         return buildings;
     }
     
     public static Building getBuildingById(int id) {
+        try {
+            return cache.get(id, () -> queryBuildingById(id));
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading building: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private static Building queryBuildingById(int id) throws SQLException {
         String sql = "SELECT id, name, location, floors, total_apartments, occupied_apartments, status FROM buildings WHERE id = ?";
         
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapBuilding(rs) : null;
+            }
+        }
+    }
+    
+    private static Building mapBuilding(ResultSet rs) throws SQLException {
+        return new Building(
+            rs.getInt("id"),
+            rs.getString("name"),
+            rs.getString("location"),
+            rs.getInt("floors"),
+            rs.getInt("total_apartments"),
+            rs.getInt("occupied_apartments"),
+            rs.getString("status")
+        );
+    }
+    
+    // Writes invalidate the cache as soon as they commit, so a reload right after never sees the old rows;
+    // the change listener covers writes made by other clients
+    public static boolean addBuilding(String name, String location, int floors, int totalApartments) {
+        String sql = "INSERT INTO buildings (name, location, floors, total_apartments, occupied_apartments, status, construction_date, description) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, CURRENT_DATE, ?)";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            if (rs.next()) {
-                return new Building(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("location"),
-                    rs.getInt("floors"),
-                    rs.getInt("total_apartments"),
-                    rs.getInt("occupied_apartments"),
-                    rs.getString("status")
-                );
+            pstmt.setString(1, name);
+            pstmt.setString(2, location);
+            pstmt.setInt(3, floors);
+            pstmt.setInt(4, totalApartments);
+            pstmt.setInt(5, 0); // occupied_apartments starts at 0
+            pstmt.setString(6, "active"); // status
+            pstmt.setString(7, "New building added via application"); // description
+            
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Error adding building: " + e.getMessage());
+            return false;
+        } finally {
+            cache.invalidateAll();
+        }
+    }
+    
+    public static boolean updateBuilding(int id, String name, String location, int floors, int totalApartments) {
+        String sql = "UPDATE buildings SET name = ?, location = ?, floors = ?, total_apartments = ? WHERE id = ?";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, name);
+            pstmt.setString(2, location);
+            pstmt.setInt(3, floors);
+            pstmt.setInt(4, totalApartments);
+            pstmt.setInt(5, id);
+            
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Error updating building: " + e.getMessage());
+            return false;
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+    
+    public static boolean deleteBuilding(int id) {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            // First delete all apartments in this building
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM apartments WHERE building_id = ?")) {
+                pstmt.setInt(1, id);
+                pstmt.executeUpdate();
             }
             
+            // Then delete the building
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM buildings WHERE id = ?")) {
+                pstmt.setInt(1, id);
+                return pstmt.executeUpdate() > 0;
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Error loading building: " + e.getMessage());
+            System.err.println("❌ Error deleting building: " + e.getMessage());
+            return false;
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+    
+    public static boolean addApartment(int buildingId, String number, int floor, String size, int bedrooms, double price, String status) {
+        String sql = "INSERT INTO apartments (building_id, apartment_number, floor, size, bedrooms, bathrooms, price, status) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, buildingId);
+            pstmt.setString(2, number);
+            pstmt.setInt(3, floor);
+            pstmt.setString(4, size);
+            pstmt.setInt(5, bedrooms);
+            pstmt.setInt(6, bedrooms > 1 ? 2 : 1); // Default bathrooms based on bedrooms
+            pstmt.setDouble(7, price);
+            pstmt.setString(8, status.toLowerCase());
+            
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Error adding apartment: " + e.getMessage());
+            return false;
+        } finally {
+            cache.invalidate(buildingId);
         }
+    }
+    
+    public static void updateOccupancy(int id, int occupiedCount) {
+        String sql = "UPDATE buildings SET occupied_apartments = ? WHERE id = ?";
         
-        return null;
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, occupiedCount);
+            pstmt.setInt(2, id);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("❌ Error updating building occupancy: " + e.getMessage());
+        } finally {
+            cache.invalidate(id);
+        }
     }
     
     public static int getTotalBuildings() {
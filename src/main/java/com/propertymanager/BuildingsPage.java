@@ -1,6 +1,8 @@
 package com.propertymanager;
 
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -14,82 +16,79 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class BuildingsPage extends ScrollPane {
+public class BuildingsPage extends ScrollPane implements PageLifecycle {
     
     private TextField searchField;
-    private TilePane buildingsGrid;
+    private ListView<List<Building>> buildingsGrid;
     private VBox apartmentView;
     private Building selectedBuilding;
     private List<Building> buildings;
     private ObservableList<Building> filteredBuildings;
+    private final ObservableList<List<Building>> buildingRows = FXCollections.observableArrayList();
+    private int gridColumns = 1;
     private VBox mainContent;
     
+    private static final double CARD_WIDTH = 350;
+    private static final double CARD_GAP = 20;
+    
     public BuildingsPage() {
         initData();
         initPage();
+        loadBuildingsFromDatabase();
     }
     
     private void initData() {
         buildings = new ArrayList<>();
-        loadBuildingsFromDatabase();
         filteredBuildings = FXCollections.observableArrayList(buildings);
     }
     
+    @Override
+    public void refresh() {
+        // The current search is re-applied to the reloaded buildings
+        loadBuildingsFromDatabase();
+    }
+    
     private void loadBuildingsFromDatabase() {
-        try {
-            // Use the new DAO to load buildings
+        if (buildings.isEmpty()) {
+            buildingsGrid.setPlaceholder(new LoadingPlaceholder("Loading buildings..."));
+        }
+        
+        // Use the new DAO to load buildings; apartments are fetched when a building is opened
+        AsyncDAO.load(this, BuildingDAO::getAllBuildings, loaded -> {
             buildings.clear();
-            buildings.addAll(BuildingDAO.getAllBuildings());
-            
-            // Load apartments for each building
-            for (Building building : buildings) {
-                loadApartmentsForBuilding(building);
-            }
-            
-            System.out.println("✅ Successfully loaded " + buildings.size() + " buildings with apartments");
-            
-        } catch (Exception e) {
+            buildings.addAll(loaded);
+            buildingsGrid.setPlaceholder(new Label("No buildings found"));
+            filterBuildings(searchField.getText());
+            System.out.println("✅ Successfully loaded " + buildings.size() + " buildings");
+        }, e -> {
             e.printStackTrace();
             showError("Database Error", "Failed to load buildings from database: " + e.getMessage());
-        }
+        });
     }
     
-    private void loadApartmentsForBuilding(Building building) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String apartmentQuery = "SELECT a.apartment_number, a.floor, a.size, a.bedrooms, a.price, a.status, " +
-                                   "COALESCE(b.name, '-') as buyer_name " +
-                                   "FROM apartments a " +
-                                   "LEFT JOIN property_purchases pp ON a.id = pp.apartment_id " +
-                                   "LEFT JOIN buyers b ON pp.buyer_id = b.id " +
-                                   "WHERE a.building_id = ? ORDER BY a.floor, a.apartment_number";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(apartmentQuery)) {
-                stmt.setInt(1, building.id);
-                ResultSet rs = stmt.executeQuery();
-                
-                while (rs.next()) {
-                    Apartment apartment = new Apartment(
-                        rs.getString("apartment_number"),
-                        rs.getInt("floor"),
-                        rs.getString("size"),
-                        rs.getInt("bedrooms"),
-                        rs.getDouble("price"),
-                        rs.getString("status"),
-                        rs.getString("buyer_name")
-                    );
-                    building.apartments.add(apartment);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Error loading apartments for building " + building.name + ": " + e.getMessage());
+    // Runs action once the building's apartments are in memory, fetching them in the background if needed
+    private void withApartments(Building building, Runnable action) {
+        if (building.apartmentsLoaded) {
+            action.run();
+            return;
         }
+        AsyncDAO.load(this, () -> {
+            try {
+                ApartmentDAO.loadApartments(List.of(building));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return building;
+        }, loaded -> {
+            // Only continue with apartments in hand, otherwise the action would start another load
+            if (building.apartmentsLoaded) {
+                action.run();
+            }
+        }, e -> showError("Database Error", "Failed to load apartments: " + e.getMessage()));
     }
     
     private void initPage() {
@@ -107,18 +106,20 @@ public class BuildingsPage extends ScrollPane {
         // Search
         HBox searchBox = createSearchBox();
         
-        // Buildings grid
-        buildingsGrid = new TilePane();
-        buildingsGrid.setHgap(20);
-        buildingsGrid.setVgap(20);
-        buildingsGrid.setPrefColumns(3);
+        // Buildings grid: a virtualized list of card rows, so only the visible cards exist as nodes
+        // and scrolling reuses them; filtering just changes filteredBuildings
+        buildingsGrid = new ListView<>(buildingRows);
+        buildingsGrid.setCellFactory(list -> new BuildingRowCell());
+        buildingsGrid.setFocusTraversable(false);
+        buildingsGrid.setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 0;");
+        buildingsGrid.prefHeightProperty().bind(Bindings.max(400, heightProperty().subtract(220)));
+        buildingsGrid.widthProperty().addListener((obs, oldVal, newVal) -> updateGridColumns(newVal.doubleValue()));
+        filteredBuildings.addListener((ListChangeListener<Building>) change -> updateBuildingRows());
         
         // Apartment view (initially hidden)
         apartmentView = new VBox(20);
         apartmentView.setVisible(false);
         
-        updateBuildingsGrid();
-        
         mainContent.getChildren().addAll(header, searchBox, buildingsGrid, apartmentView);
         setContent(mainContent);
     }
@@ -164,121 +165,186 @@ public class BuildingsPage extends ScrollPane {
     }
     
     private void filterBuildings(String searchTerm) {
-        filteredBuildings.clear();
+        // One setAll, so the grid regroups its rows once per keystroke
+        List<Building> matches = new ArrayList<>();
         if (searchTerm == null || searchTerm.isEmpty()) {
-            filteredBuildings.addAll(buildings);
+            matches.addAll(buildings);
         } else {
+            String term = searchTerm.toLowerCase();
             for (Building building : buildings) {
-                if (building.name.toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    building.location.toLowerCase().contains(searchTerm.toLowerCase())) {
-                    filteredBuildings.add(building);
+                if (building.name.toLowerCase().contains(term) ||
+                    building.location.toLowerCase().contains(term)) {
+                    matches.add(building);
                 }
             }
         }
-        updateBuildingsGrid();
+        filteredBuildings.setAll(matches);
     }
     
+    // Building fields were edited in place; the visible cards re-read them
     private void updateBuildingsGrid() {
-        buildingsGrid.getChildren().clear();
-        
-        for (Building building : filteredBuildings) {
-            VBox card = createBuildingCard(building);
-            buildingsGrid.getChildren().add(card);
+        buildingsGrid.refresh();
+    }
+    
+    // Groups the filtered buildings into rows of as many cards as fit the grid's width
+    private void updateBuildingRows() {
+        List<List<Building>> rows = new ArrayList<>();
+        for (int i = 0; i < filteredBuildings.size(); i += gridColumns) {
+            rows.add(List.copyOf(filteredBuildings.subList(i, Math.min(i + gridColumns, filteredBuildings.size()))));
         }
+        buildingRows.setAll(rows);
     }
     
-    private VBox createBuildingCard(Building building) {
-        VBox card = new VBox(15);
-        card.setPrefWidth(350);
-        card.setPadding(new Insets(20));
-        card.setStyle("-fx-background-color: rgba(255, 255, 255, 0.9); -fx-background-radius: 12; -fx-border-color: rgba(255, 255, 255, 0.3); -fx-border-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
-        
-        // Header
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-        
-        Label icon = new Label("🏢");
-        icon.setStyle("-fx-background-color: linear-gradient(135deg, #2C3E8C, #4FD1C5); -fx-text-fill: white; -fx-background-radius: 8; -fx-padding: 8; -fx-font-size: 16px;");
-        
-        VBox titleBox = new VBox(2);
-        Label name = new Label(building.name);
-        name.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        name.setTextFill(Color.web("#2c3e50"));
-        
-        Label status = new Label(building.status);
-        status.setStyle("-fx-background-color: #d4edda; -fx-text-fill: #155724; -fx-background-radius: 4; -fx-padding: 2 8;");
-        
-        titleBox.getChildren().addAll(name, status);
-        header.getChildren().addAll(icon, titleBox);
-        
-        // Location
-        Label location = new Label("📍 " + building.location);
-        location.setFont(Font.font("Arial", 12));
-        location.setTextFill(Color.web("#6c757d"));
-        location.setWrapText(true);
-        
-        // Stats
-        HBox stats = new HBox(20);
-        VBox floorsBox = new VBox(2);
-        Label floorsLabel = new Label("Floors");
-        floorsLabel.setFont(Font.font("Arial", 10));
-        floorsLabel.setTextFill(Color.GRAY);
-        Label floorsValue = new Label("🏗️ " + building.floors);
-        floorsValue.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        floorsBox.getChildren().addAll(floorsLabel, floorsValue);
-        
-        VBox aptsBox = new VBox(2);
-        Label aptsLabel = new Label("Apartments");
-        aptsLabel.setFont(Font.font("Arial", 10));
-        aptsLabel.setTextFill(Color.GRAY);
-        Label aptsValue = new Label(String.valueOf(building.totalApartments));
-        aptsValue.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        aptsBox.getChildren().addAll(aptsLabel, aptsValue);
-        
-        stats.getChildren().addAll(floorsBox, aptsBox);
-        
-        // Occupancy
-        VBox occupancyBox = new VBox(5);
-        HBox occupancyHeader = new HBox(10);
-        occupancyHeader.setAlignment(Pos.CENTER_LEFT);
-        Label occupancyLabel = new Label("Occupancy");
-        occupancyLabel.setFont(Font.font("Arial", 12));
-        
-        Label occupancyValue = new Label(building.occupiedApartments + "/" + building.totalApartments + " (" + (int)building.getOccupancyPercentage() + "%)");
-        occupancyValue.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        
-        occupancyHeader.getChildren().addAll(occupancyLabel, occupancyValue);
-        HBox.setHgrow(occupancyLabel, Priority.ALWAYS);
-        
-        ProgressBar progressBar = new ProgressBar(building.getOccupancyPercentage() / 100.0);
-        progressBar.setPrefWidth(310);
-        progressBar.setStyle("-fx-accent: linear-gradient(135deg, #2C3E8C, #4FD1C5);");
-        
-        occupancyBox.getChildren().addAll(occupancyHeader, progressBar);
-        
-        // Buttons
-        HBox buttons = new HBox(10);
-        Button viewBtn = new Button("👁️ View Details");
-        viewBtn.setStyle("-fx-background-color: #4FD1C5; -fx-text-fill: white; -fx-border-radius: 6; -fx-padding: 8 15; -fx-cursor: hand;");
-        viewBtn.setOnMouseEntered(e -> viewBtn.setStyle("-fx-background-color: #38B2AC; -fx-text-fill: white; -fx-border-radius: 6; -fx-padding: 8 15; -fx-cursor: hand;"));
-        viewBtn.setOnMouseExited(e -> viewBtn.setStyle("-fx-background-color: #4FD1C5; -fx-text-fill: white; -fx-border-radius: 6; -fx-padding: 8 15; -fx-cursor: hand;"));
-        viewBtn.setOnAction(e -> showBuildingDetails(building));
-        
-        Button editBtn = new Button("✏️");
-        editBtn.setStyle("-fx-background-color: transparent; -fx-border-color: #6c757d; -fx-border-radius: 4; -fx-padding: 6 8;");
-        editBtn.setOnAction(e -> showEditBuildingDialog(building));
+    private void updateGridColumns(double width) {
+        // Leave room for the vertical scroll bar
+        int columns = Math.max(1, (int) ((width - 20 + CARD_GAP) / (CARD_WIDTH + CARD_GAP)));
+        if (columns != gridColumns) {
+            gridColumns = columns;
+            updateBuildingRows();
+        }
+    }
+    
+    // One grid row; its cards are created once and handed new buildings as the row is reused
+    private class BuildingRowCell extends ListCell<List<Building>> {
+        private final HBox row = new HBox(CARD_GAP);
+        private final List<BuildingCard> cards = new ArrayList<>();
         
-        Button deleteBtn = new Button("🗑️");
-        deleteBtn.setStyle("-fx-background-color: transparent; -fx-border-color: #dc3545; -fx-text-fill: #dc3545; -fx-border-radius: 4; -fx-padding: 6 8;");
-        deleteBtn.setOnAction(e -> showDeleteBuildingConfirmation(building));
+        BuildingRowCell() {
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 " + CARD_GAP + " 0;");
+        }
         
-        buttons.getChildren().addAll(viewBtn, editBtn, deleteBtn);
+        @Override
+        protected void updateItem(List<Building> item, boolean empty) {
+            super.updateItem(item, empty);
+            setText(null);
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+            while (cards.size() < item.size()) {
+                cards.add(new BuildingCard());
+            }
+            if (row.getChildren().size() != item.size()) {
+                row.getChildren().setAll(cards.subList(0, item.size()));
+            }
+            for (int i = 0; i < item.size(); i++) {
+                cards.get(i).setBuilding(item.get(i));
+            }
+            setGraphic(row);
+        }
+    }
+    
+    private class BuildingCard extends VBox {
+        private final Label name = new Label();
+        private final Label status = new Label();
+        private final Label location = new Label();
+        private final Label floorsValue = new Label();
+        private final Label aptsValue = new Label();
+        private final Label occupancyValue = new Label();
+        private final ProgressBar progressBar = new ProgressBar();
+        private Building building;
+        
+        BuildingCard() {
+            super(15);
+            setPrefWidth(CARD_WIDTH);
+            setPadding(new Insets(20));
+            setStyle("-fx-background-color: rgba(255, 255, 255, 0.9); -fx-background-radius: 12; -fx-border-color: rgba(255, 255, 255, 0.3); -fx-border-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+            
+            // Header
+            HBox header = new HBox(10);
+            header.setAlignment(Pos.CENTER_LEFT);
+            
+            Label icon = new Label("🏢");
+            icon.setStyle("-fx-background-color: linear-gradient(135deg, #2C3E8C, #4FD1C5); -fx-text-fill: white; -fx-background-radius: 8; -fx-padding: 8; -fx-font-size: 16px;");
+            
+            VBox titleBox = new VBox(2);
+            name.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+            name.setTextFill(Color.web("#2c3e50"));
+            
+            status.setStyle("-fx-background-color: #d4edda; -fx-text-fill: #155724; -fx-background-radius: 4; -fx-padding: 2 8;");
+            
+            titleBox.getChildren().addAll(name, status);
+            header.getChildren().addAll(icon, titleBox);
+            
+            // Location
+            location.setFont(Font.font("Arial", 12));
+            location.setTextFill(Color.web("#6c757d"));
+            location.setWrapText(true);
+            
+            // Stats
+            HBox stats = new HBox(20);
+            VBox floorsBox = new VBox(2);
+            Label floorsLabel = new Label("Floors");
+            floorsLabel.setFont(Font.font("Arial", 10));
+            floorsLabel.setTextFill(Color.GRAY);
+            floorsValue.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            floorsBox.getChildren().addAll(floorsLabel, floorsValue);
+            
+            VBox aptsBox = new VBox(2);
+            Label aptsLabel = new Label("Apartments");
+            aptsLabel.setFont(Font.font("Arial", 10));
+            aptsLabel.setTextFill(Color.GRAY);
+            aptsValue.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            aptsBox.getChildren().addAll(aptsLabel, aptsValue);
+            
+            stats.getChildren().addAll(floorsBox, aptsBox);
+            
+            // Occupancy
+            VBox occupancyBox = new VBox(5);
+            HBox occupancyHeader = new HBox(10);
+            occupancyHeader.setAlignment(Pos.CENTER_LEFT);
+            Label occupancyLabel = new Label("Occupancy");
+            occupancyLabel.setFont(Font.font("Arial", 12));
+            
+            occupancyValue.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+            
+            occupancyHeader.getChildren().addAll(occupancyLabel, occupancyValue);
+            HBox.setHgrow(occupancyLabel, Priority.ALWAYS);
+            
+            progressBar.setPrefWidth(310);
+            progressBar.setStyle("-fx-accent: linear-gradient(135deg, #2C3E8C, #4FD1C5);");
+            
+            occupancyBox.getChildren().addAll(occupancyHeader, progressBar);
+            
+            // Buttons act on whichever building the card currently shows
+            HBox buttons = new HBox(10);
+            Button viewBtn = new Button("👁️ View Details");
+            viewBtn.setStyle("-fx-background-color: #4FD1C5; -fx-text-fill: white; -fx-border-radius: 6; -fx-padding: 8 15; -fx-cursor: hand;");
+            viewBtn.setOnMouseEntered(e -> viewBtn.setStyle("-fx-background-color: #38B2AC; -fx-text-fill: white; -fx-border-radius: 6; -fx-padding: 8 15; -fx-cursor: hand;"));
+            viewBtn.setOnMouseExited(e -> viewBtn.setStyle("-fx-background-color: #4FD1C5; -fx-text-fill: white; -fx-border-radius: 6; -fx-padding: 8 15; -fx-cursor: hand;"));
+            viewBtn.setOnAction(e -> showBuildingDetails(building));
+            
+            Button editBtn = new Button("✏️");
+            editBtn.setStyle("-fx-background-color: transparent; -fx-border-color: #6c757d; -fx-border-radius: 4; -fx-padding: 6 8;");
+            editBtn.setOnAction(e -> showEditBuildingDialog(building));
+            
+            Button deleteBtn = new Button("🗑️");
+            deleteBtn.setStyle("-fx-background-color: transparent; -fx-border-color: #dc3545; -fx-text-fill: #dc3545; -fx-border-radius: 4; -fx-padding: 6 8;");
+            deleteBtn.setOnAction(e -> showDeleteBuildingConfirmation(building));
+            
+            buttons.getChildren().addAll(viewBtn, editBtn, deleteBtn);
+            
+            getChildren().addAll(header, location, stats, occupancyBox, buttons);
+        }
         
-        card.getChildren().addAll(header, location, stats, occupancyBox, buttons);
-        return card;
+        void setBuilding(Building building) {
+            this.building = building;
+            name.setText(building.name);
+            status.setText(building.status);
+            location.setText("📍 " + building.location);
+            floorsValue.setText("🏗️ " + building.floors);
+            aptsValue.setText(String.valueOf(building.totalApartments));
+            occupancyValue.setText(building.occupiedApartments + "/" + building.totalApartments + " (" + (int)building.getOccupancyPercentage() + "%)");
+            progressBar.setProgress(building.getOccupancyPercentage() / 100.0);
+        }
     }
     
     private void showBuildingDetails(Building building) {
+        if (!building.apartmentsLoaded) {
+            withApartments(building, () -> showBuildingDetails(building));
+            return;
+        }
+        
         Stage detailsStage = new Stage();
         detailsStage.initModality(Modality.APPLICATION_MODAL);
         detailsStage.setTitle("🏢 " + building.name + " - Building Details");
@@ -617,49 +683,38 @@ public class BuildingsPage extends ScrollPane {
         Label title = new Label("🏗️ Floor Breakdown");
         title.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         
-        ScrollPane scroll = new ScrollPane();
-        scroll.setFitToWidth(true);
-        scroll.setPrefHeight(200);
-        scroll.setStyle("-fx-background-color: transparent;");
+        // Legend
+        HBox legend = new HBox(15);
+        legend.getChildren().addAll(
+            createLegendItem("Sold", "#4FD1C5"),
+            createLegendItem("Available", "#F5C542"),
+            createLegendItem("Reserved", "#2C3E8C")
+        );
         
-        VBox floorList = new VBox(10);
+        Label selection = new Label("Click a unit for details");
+        selection.setFont(Font.font("Arial", 11));
+        selection.setTextFill(Color.GRAY);
         
-        for (int floor = 1; floor <= building.floors; floor++) {
-            final int currentFloor = floor;
-            long floorApartments = building.apartments.stream()
-                .filter(apt -> apt.floor == currentFloor)
-                .count();
-            
-            long soldOnFloor = building.apartments.stream()
-                .filter(apt -> apt.floor == currentFloor && "Sold".equals(apt.status))
-                .count();
-            
-            HBox floorItem = new HBox(15);
-            floorItem.setAlignment(Pos.CENTER_LEFT);
-            floorItem.setPadding(new Insets(10));
-            floorItem.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8;");
-            
-            Label floorLabel = new Label("Floor " + floor);
-            floorLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-            floorLabel.setPrefWidth(80);
-            
-            ProgressBar progress = new ProgressBar(floorApartments > 0 ? (double)soldOnFloor / floorApartments : 0);
-            progress.setPrefWidth(150);
-            progress.setStyle("-fx-accent: #4FD1C5;");
-            
-            Label stats = new Label(soldOnFloor + "/" + floorApartments);
-            stats.setFont(Font.font("Arial", 10));
-            stats.setTextFill(Color.GRAY);
-            
-            floorItem.getChildren().addAll(floorLabel, progress, stats);
-            floorList.getChildren().add(floorItem);
-        }
+        // One canvas for every unit; a tower with thousands of apartments is still a single node
+        OccupancyMap map = new OccupancyMap(building.apartments, building.floors,
+            apt -> selection.setText(OccupancyMap.describe(apt)));
+        
+        ScrollPane scroll = new ScrollPane(map);
+        scroll.setFitToWidth(true);
+        scroll.setPrefHeight(260);
+        scroll.setStyle("-fx-background-color: transparent;");
         
-        scroll.setContent(floorList);
-        card.getChildren().addAll(title, scroll);
+        card.getChildren().addAll(title, legend, scroll, selection);
         return card;
     }
     
+    private Label createLegendItem(String label, String color) {
+        Label item = new Label("■ " + label);
+        item.setFont(Font.font("Arial", 11));
+        item.setStyle("-fx-text-fill: " + color + ";");
+        return item;
+    }
+    
     private ScrollPane createFinancialTab(Building building) {
         ScrollPane scroll = new ScrollPane();
         scroll.setFitToWidth(true);
@@ -679,23 +734,105 @@ public class BuildingsPage extends ScrollPane {
         Label revenueTitle = new Label("💰 Revenue Summary");
         revenueTitle.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         
-        double totalRevenue = building.apartments.stream()
-            .filter(apt -> "Sold".equals(apt.status))
-            .mapToDouble(apt -> apt.price)
-            .sum();
-        
-        Label totalRevenueLabel = new Label(String.format("Total Revenue: %.0f MAD", totalRevenue));
+        Label totalRevenueLabel = new Label("Total Revenue: …");
         totalRevenueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         totalRevenueLabel.setTextFill(Color.web("#10b981"));
         
-        revenueCard.getChildren().addAll(revenueTitle, totalRevenueLabel);
+        Label collectedLabel = new Label("Collected: …");
+        collectedLabel.setFont(Font.font("Arial", 14));
+        
+        Label outstandingLabel = new Label("Outstanding: …");
+        outstandingLabel.setFont(Font.font("Arial", 14));
+        outstandingLabel.setTextFill(Color.web("#f59e0b"));
+        
+        revenueCard.getChildren().addAll(revenueTitle, totalRevenueLabel, collectedLabel, outstandingLabel);
+        
+        // Revenue by floor
+        VBox floorCard = new VBox(15);
+        floorCard.setPadding(new Insets(25));
+        floorCard.setStyle("-fx-background-color: white; -fx-background-radius: 15; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 15, 0, 0, 5);");
+        
+        Label floorTitle = new Label("🏢 Revenue by Floor");
+        floorTitle.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         
-        content.getChildren().addAll(title, revenueCard);
+        GridPane floorGrid = new GridPane();
+        floorGrid.setHgap(30);
+        floorGrid.setVgap(8);
+        
+        floorCard.getChildren().addAll(floorTitle, floorGrid);
+        
+        content.getChildren().addAll(title, revenueCard, floorCard);
         scroll.setContent(content);
         
+        AsyncDAO.load(content, () -> summarizeFinancials(building), summary -> {
+            totalRevenueLabel.setText(String.format("Total Revenue: %.0f MAD", summary.revenueCents() / 100.0));
+            collectedLabel.setText(String.format("Collected: %.0f MAD", summary.collectedCents() / 100.0));
+            outstandingLabel.setText(String.format("Outstanding: %.0f MAD",
+                    Math.max(0, summary.salesCents() - summary.collectedCents()) / 100.0));
+            
+            floorGrid.addRow(0, createFloorHeader("Floor"), createFloorHeader("Sold"), createFloorHeader("Revenue"));
+            int row = 1;
+            for (FloorFinancials floor : summary.floors()) {
+                floorGrid.addRow(row++,
+                        new Label(floor.label()),
+                        new Label(floor.sold() + "/" + floor.units()),
+                        new Label(String.format("%.0f MAD", floor.revenueCents() / 100.0)));
+            }
+            if (summary.floors().isEmpty()) {
+                floorGrid.addRow(1, new Label("No apartments"));
+            }
+        });
+        
         return scroll;
     }
     
+    private record FloorFinancials(String label, long units, long sold, long revenueCents) {}
+    
+    private record FinancialSummary(long revenueCents, long salesCents, long collectedCents, List<FloorFinancials> floors) {}
+    
+    // Aggregated from the shared analytics snapshot; falls back to the building's own apartments without a database
+    private static FinancialSummary summarizeFinancials(Building building) {
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.get();
+        int code = snapshot != null ? snapshot.buildingCode(building.id) : -1;
+        if (code < 0) {
+            long revenue = building.apartments.stream()
+                .filter(apt -> "Sold".equals(apt.status))
+                .mapToLong(apt -> Math.round(apt.price * 100))
+                .sum();
+            return new FinancialSummary(revenue, revenue, 0, List.of());
+        }
+        
+        AnalyticsSnapshot.Breakdown byFloor = snapshot.breakdown(AnalyticsSnapshot.Fact.APARTMENTS,
+                AnalyticsSnapshot.Dimension.BUILDING, AnalyticsSnapshot.Dimension.FLOOR, AnalyticsSnapshot.Dimension.STATUS);
+        AnalyticsSnapshot.Breakdown sales = snapshot.breakdown(AnalyticsSnapshot.Fact.SALES, AnalyticsSnapshot.Dimension.BUILDING);
+        AnalyticsSnapshot.Breakdown collections = snapshot.breakdown(AnalyticsSnapshot.Fact.COLLECTIONS, AnalyticsSnapshot.Dimension.BUILDING);
+        
+        long revenue = 0;
+        List<FloorFinancials> floors = new ArrayList<>();
+        // Top floor first, as in the occupancy map
+        for (int floor = byFloor.cardinality(1) - 1; floor >= 0; floor--) {
+            long units = 0;
+            for (int status = 0; status < byFloor.cardinality(2); status++) {
+                units += byFloor.count(code, floor, status);
+            }
+            if (units == 0) {
+                continue;
+            }
+            long soldRevenue = byFloor.sumCents(code, floor, AnalyticsSnapshot.STATUS_SOLD);
+            revenue += soldRevenue;
+            floors.add(new FloorFinancials(byFloor.label(1, floor), units,
+                    byFloor.count(code, floor, AnalyticsSnapshot.STATUS_SOLD), soldRevenue));
+        }
+        return new FinancialSummary(revenue, sales.sumCents(code), collections.sumCents(code), floors);
+    }
+    
+    private Label createFloorHeader(String text) {
+        Label header = new Label(text);
+        header.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+        header.setTextFill(Color.GRAY);
+        return header;
+    }
+    
     private void showApartments(Building building) {
         showBuildingDetails(building);
     }
@@ -856,13 +993,11 @@ public class BuildingsPage extends ScrollPane {
                 }
                 
                 // Save to database
-                if (saveBuildingToDatabase(name, location, floors, totalApartments)) {
+                if (BuildingDAO.addBuilding(name, location, floors, totalApartments)) {
                     // Reload buildings from database to get the new ID
                     loadBuildingsFromDatabase();
-                    filteredBuildings.clear();
-                    filteredBuildings.addAll(buildings);
-                    
-                    updateBuildingsGrid();
+                    NotificationService.publish(NotificationService.TYPE_SYSTEM, "New Building Added",
+                            name + " (" + location + ") was added with " + totalApartments + " apartments.");
                     
                     showSuccess("Success", "Building '" + name + "' has been added successfully!");
                     dialog.close();
@@ -901,109 +1036,6 @@ public class BuildingsPage extends ScrollPane {
         alert.showAndWait();
     }
     
-    private boolean saveBuildingToDatabase(String name, String location, int floors, int totalApartments) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String insertSQL = "INSERT INTO buildings (name, location, floors, total_apartments, occupied_apartments, status, construction_date, description) " +
-                             "VALUES (?, ?, ?, ?, ?, ?, CURRENT_DATE, ?)";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(insertSQL)) {
-                stmt.setString(1, name);
-                stmt.setString(2, location);
-                stmt.setInt(3, floors);
-                stmt.setInt(4, totalApartments);
-                stmt.setInt(5, 0); // occupied_apartments starts at 0
-                stmt.setString(6, "active"); // status
-                stmt.setString(7, "New building added via application"); // description
-                
-                int rowsAffected = stmt.executeUpdate();
-                return rowsAffected > 0;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-    
-    private boolean updateBuildingInDatabase(int buildingId, String name, String location, int floors, int totalApartments) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String updateSQL = "UPDATE buildings SET name = ?, location = ?, floors = ?, total_apartments = ? WHERE id = ?";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(updateSQL)) {
-                stmt.setString(1, name);
-                stmt.setString(2, location);
-                stmt.setInt(3, floors);
-                stmt.setInt(4, totalApartments);
-                stmt.setInt(5, buildingId);
-                
-                int rowsAffected = stmt.executeUpdate();
-                return rowsAffected > 0;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-    
-    private boolean deleteBuildingFromDatabase(int buildingId) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            // First delete all apartments in this building
-            String deleteApartmentsSQL = "DELETE FROM apartments WHERE building_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(deleteApartmentsSQL)) {
-                stmt.setInt(1, buildingId);
-                stmt.executeUpdate();
-            }
-            
-            // Then delete the building
-            String deleteBuildingSQL = "DELETE FROM buildings WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(deleteBuildingSQL)) {
-                stmt.setInt(1, buildingId);
-                int rowsAffected = stmt.executeUpdate();
-                return rowsAffected > 0;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-    
-    private boolean saveApartmentToDatabase(int buildingId, String number, int floor, String size, int bedrooms, double price, String status) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String insertSQL = "INSERT INTO apartments (building_id, apartment_number, floor, size, bedrooms, bathrooms, price, status) " +
-                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(insertSQL)) {
-                stmt.setInt(1, buildingId);
-                stmt.setString(2, number);
-                stmt.setInt(3, floor);
-                stmt.setString(4, size);
-                stmt.setInt(5, bedrooms);
-                stmt.setInt(6, bedrooms > 1 ? 2 : 1); // Default bathrooms based on bedrooms
-                stmt.setDouble(7, price);
-                stmt.setString(8, status.toLowerCase());
-                
-                int rowsAffected = stmt.executeUpdate();
-                return rowsAffected > 0;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-    
-    private void updateBuildingOccupancy(int buildingId, int occupiedCount) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String updateSQL = "UPDATE buildings SET occupied_apartments = ? WHERE id = ?";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(updateSQL)) {
-                stmt.setInt(1, occupiedCount);
-                stmt.setInt(2, buildingId);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-    
     private void showEditBuildingDialog(Building building) {
         Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
@@ -1062,7 +1094,7 @@ public class BuildingsPage extends ScrollPane {
                 }
                 
                 // Update in database
-                if (updateBuildingInDatabase(building.id, name, location, floors, totalApartments)) {
+                if (BuildingDAO.updateBuilding(building.id, name, location, floors, totalApartments)) {
                     building.name = name;
                     building.location = location;
                     building.floors = floors;
@@ -1103,10 +1135,12 @@ public class BuildingsPage extends ScrollPane {
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 // Delete from database
-                if (deleteBuildingFromDatabase(building.id)) {
+                if (BuildingDAO.deleteBuilding(building.id)) {
                     buildings.remove(building);
                     filteredBuildings.remove(building);
                     updateBuildingsGrid();
+                    NotificationService.publish(NotificationService.TYPE_ALERT, "Building Deleted",
+                            building.name + " (" + building.location + ") was deleted.");
                     showSuccess("Success", "Building '" + building.name + "' has been deleted successfully!");
                 } else {
                     showError("Database Error", "Failed to delete building from database.");
@@ -1116,6 +1150,11 @@ public class BuildingsPage extends ScrollPane {
     }
     
     private void showAddApartmentDialog(Building building) {
+        if (!building.apartmentsLoaded) {
+            withApartments(building, () -> showAddApartmentDialog(building));
+            return;
+        }
+        
         Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.setTitle("Add New Apartment");
@@ -1214,14 +1253,14 @@ public class BuildingsPage extends ScrollPane {
                 }
                 
                 // Save apartment to database
-                if (saveApartmentToDatabase(building.id, number, floor, size, bedrooms, price, status)) {
+                if (BuildingDAO.addApartment(building.id, number, floor, size, bedrooms, price, status)) {
                     Apartment newApartment = new Apartment(number, floor, size, bedrooms, price, status, buyer);
                     building.apartments.add(newApartment);
                     
                     if ("sold".equals(status.toLowerCase())) {
                         building.occupiedApartments++;
                         // Update building's occupied count in database
-                        updateBuildingOccupancy(building.id, building.occupiedApartments);
+                        BuildingDAO.updateOccupancy(building.id, building.occupiedApartments);
                     }
                     
                     if (apartmentView.isVisible() && selectedBuilding == building) {
@@ -6,50 +6,53 @@ import java.util.List;
 
 public class BuyerDAO {
     
-    public static List<Buyer> getAllBuyers() {
+    // Runs a listing query built from the page's tab, search text and keyset position.
+    // Returns no rows if the query was cancelled because the filters changed; other failures reach the caller.
+    public static List<Buyer> findBuyers(BuyerQuery query) throws SQLException {
         List<Buyer> buyers = new ArrayList<>();
-        String sql = """
-            SELECT b.id, b.name, b.phone, b.email, b.purchase_date, 
-                   b.purchase_amount, b.paid_amount, b.remaining_amount, 
-                   b.payment_status, b.last_payment_date, b.next_due_date,
-                   COALESCE(bld.name || ' - Apt ' || a.apartment_number, 'N/A') as property_info
-            FROM buyers b
-            LEFT JOIN property_purchases pp ON b.id = pp.buyer_id
-            LEFT JOIN apartments a ON pp.apartment_id = a.id
-            LEFT JOIN buildings bld ON a.building_id = bld.id
-            ORDER BY b.name
-        """;
         
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
+             PreparedStatement pstmt = conn.prepareStatement(query.toSql())) {
             
-            while (rs.next()) {
-                Buyer buyer = new Buyer(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("property_info"),
-                    rs.getString("phone"),
-                    rs.getString("email"),
-                    rs.getDate("purchase_date") != null ? rs.getDate("purchase_date").toString() : "",
-                    rs.getInt("purchase_amount"),
-                    rs.getInt("paid_amount"),
-                    rs.getInt("remaining_amount"),
-                    rs.getString("payment_status"),
-                    rs.getDate("last_payment_date") != null ? rs.getDate("last_payment_date").toString() : "",
-                    rs.getDate("next_due_date") != null ? rs.getDate("next_due_date").toString() : ""
-                );
-                buyers.add(buyer);
+            query.bind(pstmt);
+            query.started(pstmt);
+            if (query.isCancelled()) {
+                return new ArrayList<>();
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    buyers.add(mapBuyer(rs));
+                }
+            } finally {
+                query.finished();
             }
-            
-            System.out.println("👥 Loaded " + buyers.size() + " buyers from database");
             
         } catch (SQLException e) {
+            if (query.isCancelled()) {
+                return new ArrayList<>();
+            }
             System.err.println("❌ Error loading buyers: " + e.getMessage());
-            e.printStackTrace();
+            throw e;
         }
         
-        return buyers;
+        return query.isCancelled() ? new ArrayList<>() : buyers;
+    }
+    
+    private static Buyer mapBuyer(ResultSet rs) throws SQLException {
+        return new Buyer(
+            rs.getInt("id"),
+            rs.getString("name"),
+            rs.getString("property_info"),
+            rs.getString("phone"),
+            rs.getString("email"),
+            rs.getDate("purchase_date") != null ? rs.getDate("purchase_date").toString() : "",
+            rs.getInt("purchase_amount"),
+            rs.getInt("paid_amount"),
+            rs.getInt("remaining_amount"),
+            rs.getString("payment_status"),
+            rs.getDate("last_payment_date") != null ? rs.getDate("last_payment_date").toString() : "",
+            rs.getDate("next_due_date") != null ? rs.getDate("next_due_date").toString() : ""
+        );
     }
     
     public static int getTotalBuyers() {
@@ -106,49 +109,29 @@ public class BuyerDAO {
         return 0.0;
     }
     
-    public static List<Buyer> getBuyersByPaymentStatus(String status) {
-        List<Buyer> buyers = new ArrayList<>();
-        String sql = """
-            SELECT b.id, b.name, b.phone, b.email, b.purchase_date, 
-                   b.purchase_amount, b.paid_amount, b.remaining_amount, 
-                   b.payment_status, b.last_payment_date, b.next_due_date,
-                   COALESCE(bld.name || ' - Apt ' || a.apartment_number, 'N/A') as property_info
-            FROM buyers b
-            LEFT JOIN property_purchases pp ON b.id = pp.buyer_id
-            LEFT JOIN apartments a ON pp.apartment_id = a.id
-            LEFT JOIN buildings bld ON a.building_id = bld.id
-            WHERE b.payment_status = ?
-            ORDER BY b.name
-        """;
+    public static double getOverduePayments() {
+        String sql = "SELECT SUM(remaining_amount) FROM buyers WHERE payment_status = 'overdue'";
         
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, status);
-            ResultSet rs = pstmt.executeQuery();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
-            while (rs.next()) {
-                Buyer buyer = new Buyer(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("property_info"),
-                    rs.getString("phone"),
-                    rs.getString("email"),
-                    rs.getDate("purchase_date") != null ? rs.getDate("purchase_date").toString() : "",
-                    rs.getInt("purchase_amount"),
-                    rs.getInt("paid_amount"),
-                    rs.getInt("remaining_amount"),
-                    rs.getString("payment_status"),
-                    rs.getDate("last_payment_date") != null ? rs.getDate("last_payment_date").toString() : "",
-                    rs.getDate("next_due_date") != null ? rs.getDate("next_due_date").toString() : ""
-                );
-                buyers.add(buyer);
+            if (rs.next()) {
+                return rs.getDouble(1);
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Error loading buyers by status: " + e.getMessage());
+            System.err.println("❌ Error calculating overdue payments: " + e.getMessage());
         }
         
-        return buyers;
+        return 0.0;
+    }
+    
+    public static List<Buyer> getBuyersByPaymentStatus(String status) {
+        try {
+            return findBuyers(new BuyerQuery().status(status));
+        } catch (SQLException e) {
+            return new ArrayList<>();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.propertymanager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the buyers listing query from the selected tab, the search text and the keyset position.
+// Every search word must match the name, email, phone or a purchased property; words of three or more
+// characters use the trigram indexes, shorter ones a prefix match on the lower(...) pattern indexes.
+public class BuyerQuery {
+
+    private static final int TRIGRAM_MIN_LENGTH = 3;
+
+    private static final String SELECT_SQL = """
+        SELECT b.id, b.name, b.phone, b.email, b.purchase_date,
+               b.purchase_amount, b.paid_amount, b.remaining_amount,
+               b.payment_status, b.last_payment_date, b.next_due_date,
+               COALESCE(p.property_info, 'N/A') as property_info
+        FROM buyers b
+        LEFT JOIN LATERAL (
+            SELECT string_agg(bld.name || ' - Apt ' || a.apartment_number, ', ' ORDER BY pp.id) AS property_info
+            FROM property_purchases pp
+            JOIN apartments a ON pp.apartment_id = a.id
+            JOIN buildings bld ON a.building_id = bld.id
+            WHERE pp.buyer_id = b.id
+        ) p ON TRUE
+        WHERE TRUE
+    """;
+
+    private String status;
+    private String search;
+    private String afterName;
+    private int afterId;
+    private int limit;
+
+    // Set while the query runs, so another thread can cancel it on the server
+    private volatile Statement running;
+    private volatile boolean cancelled;
+
+    public BuyerQuery status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public BuyerQuery search(String search) {
+        this.search = search == null || search.isBlank() ? null : search.trim();
+        return this;
+    }
+
+    // Start after this (name, id); the next page of the same ordering
+    public BuyerQuery after(String name, int id) {
+        this.afterName = name;
+        this.afterId = id;
+        return this;
+    }
+
+    public BuyerQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public String toSql() {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (status != null) {
+            sql.append(" AND b.payment_status = ?");
+        }
+        for (String word : searchWords()) {
+            // Each arm of the UNION can use its own index; a single OR across tables could not
+            boolean trigram = word.length() >= TRIGRAM_MIN_LENGTH;
+            sql.append(" AND b.id IN (SELECT id FROM buyers WHERE ");
+            appendMatch(sql, "name", trigram).append(" OR ");
+            appendMatch(sql, "email", trigram).append(" OR ");
+            appendMatch(sql, "phone", trigram);
+            sql.append(" UNION SELECT pp.buyer_id FROM property_purchases pp")
+               .append(" JOIN apartments a ON pp.apartment_id = a.id JOIN buildings bld ON a.building_id = bld.id WHERE ");
+            appendMatch(sql, "bld.name", trigram).append(" OR ");
+            appendMatch(sql, "a.apartment_number", trigram).append(")");
+        }
+        if (afterName != null) {
+            // Row comparison lets the (name, id) index seek straight to the next page
+            sql.append(" AND (b.name, b.id) > (?, ?)");
+        }
+        sql.append(" ORDER BY b.name, b.id");
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    private static StringBuilder appendMatch(StringBuilder sql, String column, boolean trigram) {
+        return trigram
+            ? sql.append(column).append(" ILIKE ?")
+            : sql.append("lower(").append(column).append(") LIKE ?");
+    }
+
+    public void bind(PreparedStatement stmt) throws SQLException {
+        int index = 1;
+        if (status != null) {
+            stmt.setString(index++, status);
+        }
+        for (String word : searchWords()) {
+            String escaped = word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            String pattern = word.length() >= TRIGRAM_MIN_LENGTH ? "%" + escaped + "%" : escaped.toLowerCase() + "%";
+            for (int i = 0; i < 5; i++) {
+                stmt.setString(index++, pattern);
+            }
+        }
+        if (afterName != null) {
+            stmt.setString(index++, afterName);
+            stmt.setInt(index++, afterId);
+        }
+        if (limit > 0) {
+            stmt.setInt(index, limit);
+        }
+    }
+
+    private List<String> searchWords() {
+        List<String> words = new ArrayList<>();
+        if (search != null) {
+            for (String word : search.split("\\s+")) {
+                if (!word.isEmpty() && !word.equals("-")) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    void started(Statement stmt) {
+        running = stmt;
+    }
+
+    void finished() {
+        running = null;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Stops the query on the server if it is still running; its caller gets no rows
+    public void cancel() {
+        cancelled = true;
+        Statement stmt = running;
+        if (stmt != null) {
+            try {
+                stmt.cancel();
+            } catch (SQLException e) {
+                System.err.println("❌ Error cancelling buyers query: " + e.getMessage());
+            }
+        }
+    }
+}
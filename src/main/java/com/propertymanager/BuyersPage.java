@@ -1,5 +1,6 @@
 package com.propertymanager;
 
+import javafx.animation.PauseTransition;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -8,27 +9,44 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
+import javafx.util.Duration;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
-public class BuyersPage extends VBox {
+public class BuyersPage extends VBox implements PageLifecycle {
     private VBox content;
+    private HBox statsGrid;
     private String title = "Buyer & Payment Management";
     
+    private static final int PAGE_SIZE = 100;
+    // Next page is requested once a row this close to the end of the loaded rows is shown
+    private static final int PREFETCH_ROWS = 20;
+    
     private ObservableList<Buyer> buyers;
-    private FilteredList<Buyer> filteredBuyers;
     private TabPane tabPane;
     private TableView<Buyer> tableView;
     
+    // Current filters and paging state; pageGeneration drops pages that arrive after the filters changed
+    private String statusFilter;
+    private String searchFilter;
+    private BuyerQuery runningQuery;
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(250));
+    private int pageGeneration = 0;
+    private boolean pageLoading = false;
+    private boolean hasMorePages = true;
+    // Keyset position of the last row the database returned; rows added or removed locally never move it
+    private String cursorName;
+    private int cursorId;
+    
     // Payment statistics
-    private long totalCollected = 13600000;
-    private long pending = 2900000;
-    private long overdue = 1000000;
+    private long totalCollected = 0;
+    private long pending = 0;
+    private long overdue = 0;
 
     public BuyersPage() {
         content = new VBox();
@@ -38,6 +56,7 @@ public class BuyersPage extends VBox {
         
         initializeData();
         createUI();
+        loadBuyersFromDatabase();
         
         // Add content to this VBox
         this.setStyle("-fx-background-color: #F8FAFC;");
@@ -46,44 +65,107 @@ public class BuyersPage extends VBox {
 
     private void initializeData() {
         buyers = FXCollections.observableArrayList();
+    }
+    
+    @Override
+    public void refresh() {
+        // The selected tab and search text are kept; paging restarts from the first page
         loadBuyersFromDatabase();
-        filteredBuyers = new FilteredList<>(buyers);
-        filteredBuyers.setPredicate(buyer -> true); // Show all initially
+    }
+    
+    @Override
+    public void dispose() {
+        searchDebounce.stop();
+        pageGeneration++;
+        if (runningQuery != null) {
+            runningQuery.cancel();
+            runningQuery = null;
+        }
     }
     
     private void loadBuyersFromDatabase() {
-        try {
-            // Use the new DAO to load buyers
-            buyers.clear();
-            buyers.addAll(BuyerDAO.getAllBuyers());
-            
-            // Update payment statistics
-            updatePaymentStatistics();
-            
-            System.out.println("👥 Successfully loaded " + buyers.size() + " buyers from database");
+        // A page still loading for the old filters is stopped on the server
+        if (runningQuery != null) {
+            runningQuery.cancel();
+            runningQuery = null;
+        }
+        pageGeneration++;
+        pageLoading = false;
+        hasMorePages = true;
+        cursorName = null;
+        cursorId = 0;
+        buyers.clear();
+        tableView.setPlaceholder(new LoadingPlaceholder("Loading buyers..."));
+        
+        // Totals are aggregated in SQL, independent of how many rows are loaded
+        AsyncDAO.load(this, () -> new BuyersStats(
+            (long) BuyerDAO.getTotalRevenue(),
+            (long) BuyerDAO.getPendingPayments(),
+            (long) BuyerDAO.getOverduePayments()
+        ), this::updatePaymentStatistics);
+        
+        loadNextPage();
+    }
+    
+    private void loadNextPage() {
+        if (pageLoading || !hasMorePages) {
+            return;
+        }
+        pageLoading = true;
+        
+        int generation = pageGeneration;
+        BuyerQuery query = new BuyerQuery()
+            .status(statusFilter)
+            .search(searchFilter)
+            .after(cursorName, cursorId)
+            .limit(PAGE_SIZE);
+        runningQuery = query;
+        
+        AsyncDAO.load(this, () -> {
+            try {
+                return BuyerDAO.findBuyers(query);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }, page -> {
+            if (generation != pageGeneration) {
+                return;
+            }
+            runningQuery = null;
+            pageLoading = false;
+            hasMorePages = page.size() == PAGE_SIZE;
+            if (!page.isEmpty()) {
+                Buyer last = page.get(page.size() - 1);
+                cursorName = last.getName();
+                cursorId = last.getId();
+            }
+            buyers.addAll(page);
+            tableView.setPlaceholder(new Label("No buyers found"));
             
-        } catch (Exception e) {
+            System.out.println("👥 Loaded " + page.size() + " buyers (" + buyers.size() + " shown)");
+        }, e -> {
+            if (generation != pageGeneration) {
+                return;
+            }
+            runningQuery = null;
+            pageLoading = false;
+            tableView.setPlaceholder(new Label("Buyers could not be loaded"));
             e.printStackTrace();
             showError("Database Error", "Failed to load buyers from database: " + e.getMessage());
-        }
+        });
     }
     
-    private void updatePaymentStatistics() {
-        try {
-            totalCollected = (long) BuyerDAO.getTotalRevenue();
-            pending = (long) BuyerDAO.getPendingPayments();
-            
-            // Calculate overdue separately
-            overdue = buyers.stream()
-                .filter(buyer -> "overdue".equals(buyer.getPaymentStatus()))
-                .mapToLong(buyer -> buyer.getRemainingAmount())
-                .sum();
-                
-            System.out.println("📊 Payment statistics updated - Collected: " + totalCollected + ", Pending: " + pending + ", Overdue: " + overdue);
+    private record BuyersStats(long totalCollected, long pending, long overdue) {}
+    
+    private void updatePaymentStatistics(BuyersStats stats) {
+        totalCollected = stats.totalCollected();
+        pending = stats.pending();
+        overdue = stats.overdue();
+        
+        // Swap in fresh stat cards in place of the loading values
+        statsGrid.getChildren().setAll(createPaymentStats().getChildren());
             
-        } catch (Exception e) {
-            System.err.println("❌ Error updating payment statistics: " + e.getMessage());
-        }
+        System.out.println("📊 Payment statistics updated - Collected: " + totalCollected + ", Pending: " + pending + ", Overdue: " + overdue);
     }
 
     private void createUI() {
@@ -92,7 +174,7 @@ public class BuyersPage extends VBox {
         content.getChildren().add(header);
 
         // Payment Stats
-        HBox statsGrid = createPaymentStats();
+        statsGrid = createPaymentStats();
         content.getChildren().add(statsGrid);
 
         // Buyers Table with Tabs
@@ -122,11 +204,15 @@ public class BuyersPage extends VBox {
         exportBtn.getStyleClass().add("secondary-button");
         exportBtn.setOnAction(e -> showExportDialog());
 
+        Button reconcileBtn = new Button("Reconcile Payments");
+        reconcileBtn.getStyleClass().add("secondary-button");
+        reconcileBtn.setOnAction(e -> reconcilePayments(reconcileBtn));
+
         Button addBuyerBtn = new Button("+ Add Buyer");
         addBuyerBtn.getStyleClass().add("primary-button");
         addBuyerBtn.setOnAction(e -> showAddBuyerDialog());
 
-        HBox buttonContainer = new HBox(12, exportBtn, addBuyerBtn);
+        HBox buttonContainer = new HBox(12, exportBtn, reconcileBtn, addBuyerBtn);
         buttonContainer.setAlignment(Pos.CENTER_RIGHT);
 
         header.getChildren().addAll(titleSection, spacer, buttonContainer);
@@ -211,8 +297,10 @@ public class BuyersPage extends VBox {
         buyerSearchField.getStyleClass().add("search-field");
         buyerSearchField.setPrefWidth(400);
         
+        // Query once typing pauses rather than on every keystroke
+        searchDebounce.setOnFinished(e -> filterBuyersBySearch(buyerSearchField.getText()));
         buyerSearchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filterBuyersBySearch(newValue);
+            searchDebounce.playFromStart();
         });
         
         searchBar.getChildren().add(buyerSearchField);
@@ -249,9 +337,20 @@ public class BuyersPage extends VBox {
 
     private TableView<Buyer> createBuyersTable() {
         TableView<Buyer> table = new TableView<>();
-        table.setItems(filteredBuyers);
+        table.setItems(buyers);
         table.getStyleClass().add("table-view");
         
+        // Rows exist only for the visible range, so a row near the end of the loaded data means the user scrolled there
+        table.setRowFactory(tv -> new TableRow<Buyer>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index >= buyers.size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
+        
         // Name Column
         TableColumn<Buyer, String> nameCol = new TableColumn<>("Name");
         nameCol.setCellValueFactory(cellData -> cellData.getValue().nameProperty());
@@ -373,39 +472,22 @@ public class BuyersPage extends VBox {
     }
 
     private void filterBuyersByTab(String tabText) {
-        switch (tabText) {
-            case "All Buyers":
-                filteredBuyers.setPredicate(buyer -> true);
-                break;
-            case "Fully Paid":
-                filteredBuyers.setPredicate(buyer -> "paid".equals(buyer.getPaymentStatus()));
-                break;
-            case "Partial Payment":
-                filteredBuyers.setPredicate(buyer -> "partial".equals(buyer.getPaymentStatus()));
-                break;
-            case "Overdue":
-                filteredBuyers.setPredicate(buyer -> "overdue".equals(buyer.getPaymentStatus()));
-                break;
-        }
+        statusFilter = switch (tabText) {
+            case "Fully Paid" -> "paid";
+            case "Partial Payment" -> "partial";
+            case "Overdue" -> "overdue";
+            default -> null;
+        };
+        loadBuyersFromDatabase();
     }
     
     private void filterBuyersBySearch(String searchText) {
-        if (searchText == null || searchText.trim().isEmpty()) {
-            // Reset to current tab filter
-            Tab selectedTab = tabPane.getSelectionModel().getSelectedItem();
-            if (selectedTab != null) {
-                filterBuyersByTab(selectedTab.getText());
-            }
+        String search = searchText == null || searchText.trim().isEmpty() ? null : searchText.trim();
+        if (Objects.equals(search, searchFilter)) {
             return;
         }
-        
-        String lowerSearchText = searchText.toLowerCase();
-        filteredBuyers.setPredicate(buyer -> 
-            buyer.getName().toLowerCase().contains(lowerSearchText) ||
-            buyer.getProperty().toLowerCase().contains(lowerSearchText) ||
-            buyer.getEmail().toLowerCase().contains(lowerSearchText) ||
-            buyer.getPhone().toLowerCase().contains(lowerSearchText)
-        );
+        searchFilter = search;
+        loadBuyersFromDatabase();
     }
 
     private void showExportDialog() {
@@ -420,6 +502,75 @@ public class BuyersPage extends VBox {
         alert.showAndWait();
     }
 
+    private void reconcilePayments(Button trigger) {
+        trigger.setDisable(true);
+        AsyncDAO.load(this, () -> PaymentLedger.reconcile(false), report -> {
+            if (report == null) {
+                trigger.setDisable(false);
+                showError("Reconciliation Failed", "Could not read the payment history.");
+                return;
+            }
+            if (!report.isComplete() && report.buyerDiscrepancies() == 0 && report.purchaseDiscrepancies() == 0) {
+                trigger.setDisable(false);
+                showError("Reconciliation Incomplete", incompleteMessage(report));
+                return;
+            }
+            if (report.isClean()) {
+                trigger.setDisable(false);
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Reconcile Payments");
+                alert.setHeaderText("Balances match the payment history");
+                alert.setContentText(String.format("%,d buyers checked in %.1f s.", report.buyersChecked(), report.elapsedMillis() / 1000.0));
+                alert.showAndWait();
+                return;
+            }
+
+            StringBuilder details = new StringBuilder();
+            for (PaymentLedger.Discrepancy discrepancy : report.samples().subList(0, Math.min(10, report.samples().size()))) {
+                details.append(String.format("%s #%d %s: recorded %,.0f MAD, ledger %,.0f MAD%n",
+                        discrepancy.kind(), discrepancy.id(), Objects.toString(discrepancy.name(), ""),
+                        discrepancy.recordedPaid(), discrepancy.ledgerPaid()));
+            }
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Reconcile Payments");
+            alert.setHeaderText(report.buyerDiscrepancies() + " buyer and " + report.purchaseDiscrepancies()
+                    + " purchase balances differ from the payment history");
+            if (!report.isComplete()) {
+                details.append("\n").append(incompleteMessage(report)).append("\n");
+            }
+            alert.setContentText(details + "\nReset these balances from the payment history?");
+            alert.showAndWait().ifPresentOrElse(response -> {
+                if (response != ButtonType.OK) {
+                    trigger.setDisable(false);
+                    return;
+                }
+                AsyncDAO.load(this, () -> PaymentLedger.reconcile(true), repaired -> {
+                    trigger.setDisable(false);
+                    if (repaired == null) {
+                        showError("Reconciliation Failed", "Could not repair the payment balances.");
+                        return;
+                    }
+                    loadBuyersFromDatabase();
+                    if (!repaired.isComplete()) {
+                        showError("Reconciliation Incomplete", repaired.buyerDiscrepancies() + " buyer and "
+                                + repaired.purchaseDiscrepancies() + " purchase balances were repaired.\n" + incompleteMessage(repaired));
+                    }
+                }, error -> {
+                    trigger.setDisable(false);
+                    showError("Reconciliation Failed", error.getMessage());
+                });
+            }, () -> trigger.setDisable(false));
+        }, error -> {
+            trigger.setDisable(false);
+            showError("Reconciliation Failed", error.getMessage());
+        });
+    }
+
+    private String incompleteMessage(PaymentLedger.Report report) {
+        return String.format("%d of %d buyer ranges failed and were not %s; run the reconciliation again.",
+                report.failedBatches(), report.batches() + report.failedBatches(), report.repaired() ? "repaired" : "checked");
+    }
+
     private void showAddBuyerDialog() {
         Dialog<Buyer> dialog = new Dialog<>();
         dialog.setTitle("Register New Buyer");
@@ -0,0 +1,41 @@
+package com.propertymanager;
+
+import java.util.List;
+
+public class CustomerRequest {
+    public int dbId;
+    public String id, from, building, apartment, type, subject, status, date, priority;
+    public List<RequestMessage> messages;
+    public int messageCount;
+    
+    public CustomerRequest(String id, String from, String building, String apartment, String type, String subject,
+                           String status, String date, String priority, List<RequestMessage> messages) {
+        this(0, id, from, building, apartment, type, subject, status, date, priority, messages, messages.size());
+    }
+    
+    public CustomerRequest(int dbId, String id, String from, String building, String apartment, String type, String subject,
+                           String status, String date, String priority, List<RequestMessage> messages, int messageCount) {
+        this.dbId = dbId;
+        this.id = id;
+        this.from = from;
+        this.building = building;
+        this.apartment = apartment;
+        this.type = type;
+        this.subject = subject;
+        this.status = status;
+        this.date = date;
+        this.priority = priority;
+        this.messages = messages;
+        this.messageCount = messageCount;
+    }
+    
+    // Messages are loaded newest-first in pages; older ones stay in the database until requested
+    public boolean hasOlderMessages() {
+        return dbId > 0 && messages.size() < messageCount;
+    }
+    
+    public void addMessage(RequestMessage message) {
+        messages.add(message);
+        messageCount++;
+    }
+}
@@ -0,0 +1,49 @@
+package com.propertymanager;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+// Observable values behind DashboardPage. Cards and charts bind to these once; a refresh only sets new
+// numbers, and a property whose value did not change notifies nobody.
+public class DashboardModel {
+
+    private final BooleanProperty loaded = new SimpleBooleanProperty(false);
+    private final IntegerProperty totalBuildings = new SimpleIntegerProperty();
+    private final IntegerProperty totalApartments = new SimpleIntegerProperty();
+    private final IntegerProperty totalBuyers = new SimpleIntegerProperty();
+    private final IntegerProperty totalLands = new SimpleIntegerProperty();
+    private final IntegerProperty soldApartments = new SimpleIntegerProperty();
+    private final IntegerProperty availableApartments = new SimpleIntegerProperty();
+
+    // Must be called on the FX thread
+    public void apply(DashboardStats stats) {
+        totalBuildings.set(stats.totalBuildings());
+        totalApartments.set(stats.totalApartments());
+        totalBuyers.set(stats.totalBuyers());
+        totalLands.set(stats.totalLands());
+        soldApartments.set(stats.occupiedApartments());
+        availableApartments.set(stats.availableApartments());
+        loaded.set(true);
+    }
+
+    // The value as text, or a placeholder until the first load completes
+    public StringBinding display(ReadOnlyIntegerProperty value) {
+        return Bindings.when(loaded).then(value.asString()).otherwise("…");
+    }
+
+    public ReadOnlyBooleanProperty loadedProperty() { return loaded; }
+    public ReadOnlyIntegerProperty totalBuildingsProperty() { return totalBuildings; }
+    public ReadOnlyIntegerProperty totalApartmentsProperty() { return totalApartments; }
+    public ReadOnlyIntegerProperty totalBuyersProperty() { return totalBuyers; }
+    public ReadOnlyIntegerProperty totalLandsProperty() { return totalLands; }
+    public ReadOnlyIntegerProperty soldApartmentsProperty() { return soldApartments; }
+    public ReadOnlyIntegerProperty availableApartmentsProperty() { return availableApartments; }
+
+    public int getSoldApartments() { return soldApartments.get(); }
+}
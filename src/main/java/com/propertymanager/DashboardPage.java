@@ -1,5 +1,9 @@
 package com.propertymanager;
 
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ObservableStringValue;
+import javafx.concurrent.ScheduledService;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.chart.BarChart;
@@ -14,6 +18,7 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.scene.Scene;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -21,15 +26,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.prefs.Preferences;
 
-public class DashboardPage extends VBox {
+public class DashboardPage extends VBox implements PageLifecycle {
     
-    private int totalBuildings = 0;
-    private int totalApartments = 0;
-    private int totalBuyers = 0;
-    private int totalLands = 0;
-    private int soldApartments = 0;
-    private int availableApartments = 0;
+    private final DashboardModel model = new DashboardModel();
+    
+    // Auto-refresh choices for a dashboard left open, e.g. on a wall display; 0 is off
+    private static final String[] AUTO_REFRESH_LABELS = {"Auto-refresh: Off", "Every 30 sec", "Every 1 min", "Every 5 min", "Every 15 min"};
+    private static final int[] AUTO_REFRESH_SECONDS = {0, 30, 60, 300, 900};
+    private static final String AUTO_REFRESH_KEY = "dashboard.autoRefreshSeconds";
+    private static final Preferences prefs = Preferences.userNodeForPackage(DashboardPage.class);
+    
+    private ScheduledService<DashboardStats> autoRefresh;
+    private int autoRefreshSeconds = prefs.getInt(AUTO_REFRESH_KEY, 0);
+    private boolean showing = false;
     
     private VBox mainContent;
     private HBox statsRow;
@@ -39,35 +50,31 @@ public class DashboardPage extends VBox {
     private List<VBox> widgets = new ArrayList<>();
     
     public DashboardPage() {
-        loadDataFromDatabase();
         initDashboard();
+        loadDataFromDatabase();
     }
     
     private void loadDataFromDatabase() {
-        try {
-            // Use the new DAO classes to load statistics
-            totalBuildings = BuildingDAO.getTotalBuildings();
-            totalApartments = BuildingDAO.getTotalApartments();
-            soldApartments = BuildingDAO.getOccupiedApartments();
-            availableApartments = totalApartments - soldApartments;
-            
-            totalBuyers = BuyerDAO.getTotalBuyers();
-            totalLands = LandDAO.getTotalLands();
+        // All dashboard aggregates come from a single query, run off the FX thread
+        AsyncDAO.load(this, DashboardStatsDAO::getSnapshot, this::applyStatistics);
+    }
+    
+    // Pushes new values into the existing cards and charts; nothing is rebuilt
+    private void applyStatistics(DashboardStats stats) {
+        if (stats != null) {
+            model.apply(stats);
             
             System.out.println("📊 Dashboard statistics loaded successfully!");
-            System.out.println("Buildings: " + totalBuildings + ", Apartments: " + totalApartments + ", Buyers: " + totalBuyers + ", Lands: " + totalLands);
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("❌ Error loading dashboard data, using default values");
-            // Use default values if database fails
-            totalBuildings = 6;
-            totalApartments = 240;
-            totalBuyers = 69;
-            totalLands = 6;
-            soldApartments = 69;
-            availableApartments = 171;
+            System.out.println("Buildings: " + stats.totalBuildings() + ", Apartments: " + stats.totalApartments() + ", Buyers: " + stats.totalBuyers() + ", Lands: " + stats.totalLands());
+        } else if (!model.loadedProperty().get()) {
+            System.err.println("❌ Error loading dashboard data, showing empty values");
+            model.apply(DashboardStats.empty());
+        } else {
+            // Keep showing the last values rather than replacing them with defaults
+            System.err.println("❌ Error refreshing dashboard data, keeping the last values");
+            return;
         }
+        updateAllCharts();
     }
     
     private void initDashboard() {
@@ -144,9 +151,20 @@ public class DashboardPage extends VBox {
         
         Button refreshBtn = new Button("🔄 Refresh");
         refreshBtn.setStyle("-fx-background-color: #F5C542; -fx-text-fill: white; -fx-background-radius: 8; -fx-padding: 10 15; -fx-cursor: hand;");
-        refreshBtn.setOnAction(e -> refreshDashboard());
+        refreshBtn.setOnAction(e -> refresh());
+        
+        ComboBox<String> autoRefreshCombo = new ComboBox<>();
+        autoRefreshCombo.getItems().addAll(AUTO_REFRESH_LABELS);
+        autoRefreshCombo.getSelectionModel().select(autoRefreshIndex());
+        autoRefreshCombo.setStyle("-fx-background-radius: 8; -fx-padding: 4 5;");
+        autoRefreshCombo.setOnAction(e -> {
+            int index = autoRefreshCombo.getSelectionModel().getSelectedIndex();
+            if (index >= 0) {
+                setAutoRefresh(AUTO_REFRESH_SECONDS[index]);
+            }
+        });
         
-        controls.getChildren().addAll(refreshBtn, addWidgetBtn, editBtn);
+        controls.getChildren().addAll(autoRefreshCombo, refreshBtn, addWidgetBtn, editBtn);
         
         titleRow.getChildren().addAll(titleBox, spacer, controls);
         header.getChildren().add(titleRow);
@@ -159,16 +177,17 @@ public class DashboardPage extends VBox {
         statsRow.setAlignment(Pos.CENTER);
         
         statsRow.getChildren().addAll(
-            createStatCard("Total Buildings", String.valueOf(totalBuildings), "+0", "🏢", "#2C3E8C"),
-            createStatCard("Total Properties", String.valueOf(totalApartments), "+0", "📄", "#4FD1C5"),
-            createStatCard("Total Buyers", String.valueOf(totalBuyers), "+0", "👥", "#F5C542"),
-            createStatCard("Land Properties", String.valueOf(totalLands), "+0", "🏞️", "#8B5CF6")
+            createStatCard("Total Buildings", model.display(model.totalBuildingsProperty()), "+0", "🏢", "#2C3E8C"),
+            createStatCard("Total Properties", model.display(model.totalApartmentsProperty()), "+0", "📄", "#4FD1C5"),
+            createStatCard("Total Buyers", model.display(model.totalBuyersProperty()), "+0", "👥", "#F5C542"),
+            createStatCard("Land Properties", model.display(model.totalLandsProperty()), "+0", "🏞️", "#8B5CF6")
         );
         
         return statsRow;
     }
     
-    private VBox createStatCard(String title, String value, String change, String icon, String color) {
+    // The value label is bound to the model, so refreshes update the card in place
+    private VBox createStatCard(String title, ObservableStringValue value, String change, String icon, String color) {
         VBox card = new VBox(10);
         card.setPrefWidth(280);
         card.setPrefHeight(120);
@@ -182,7 +201,7 @@ public class DashboardPage extends VBox {
             
             Button editCardBtn = new Button("✏️");
             editCardBtn.setStyle("-fx-background-color: #4FD1C5; -fx-text-fill: white; -fx-background-radius: 15; -fx-padding: 5; -fx-font-size: 10px;");
-            editCardBtn.setOnAction(e -> editStatCard(card, title, value, icon, color));
+            editCardBtn.setOnAction(e -> editStatCard(card, title, value.getValue(), icon, color));
             
             Button deleteCardBtn = new Button("🗑️");
             deleteCardBtn.setStyle("-fx-background-color: #ef4444; -fx-text-fill: white; -fx-background-radius: 15; -fx-padding: 5; -fx-font-size: 10px;");
@@ -203,7 +222,8 @@ public class DashboardPage extends VBox {
         HBox valueBox = new HBox(10);
         valueBox.setAlignment(Pos.CENTER_LEFT);
         
-        Label valueLabel = new Label(value);
+        Label valueLabel = new Label();
+        valueLabel.textProperty().bind(value);
         valueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         valueLabel.setTextFill(Color.web(ThemeManager.getTextPrimary()));
         
@@ -229,11 +249,95 @@ public class DashboardPage extends VBox {
     
     private void toggleEditMode() {
         editMode = !editMode;
-        refreshDashboard();
+        rebuildDashboard();
     }
     
-    private void refreshDashboard() {
+    @Override
+    public void refresh() {
         loadDataFromDatabase();
+    }
+    
+    @Override
+    public void onShow() {
+        showing = true;
+        updateAutoRefresh();
+    }
+    
+    @Override
+    public void onHide() {
+        showing = false;
+        updateAutoRefresh();
+    }
+    
+    @Override
+    public void dispose() {
+        showing = false;
+        if (autoRefresh != null) {
+            autoRefresh.cancel();
+            autoRefresh = null;
+        }
+    }
+    
+    private int autoRefreshIndex() {
+        for (int i = 0; i < AUTO_REFRESH_SECONDS.length; i++) {
+            if (AUTO_REFRESH_SECONDS[i] == autoRefreshSeconds) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    private void setAutoRefresh(int seconds) {
+        autoRefreshSeconds = seconds;
+        prefs.putInt(AUTO_REFRESH_KEY, seconds);
+        updateAutoRefresh();
+    }
+    
+    // Runs only while the dashboard is the visible page
+    private void updateAutoRefresh() {
+        if (autoRefreshSeconds <= 0 || !showing) {
+            if (autoRefresh != null) {
+                autoRefresh.cancel();
+            }
+            return;
+        }
+        if (autoRefresh == null) {
+            autoRefresh = createAutoRefresh();
+        }
+        Duration period = Duration.seconds(autoRefreshSeconds);
+        autoRefresh.setDelay(period);
+        autoRefresh.setPeriod(period);
+        autoRefresh.restart();
+    }
+    
+    private ScheduledService<DashboardStats> createAutoRefresh() {
+        ScheduledService<DashboardStats> service = new ScheduledService<>() {
+            @Override
+            protected Task<DashboardStats> createTask() {
+                return new Task<>() {
+                    @Override
+                    protected DashboardStats call() {
+                        DashboardStats stats = DashboardStatsDAO.getSnapshot();
+                        // Failing the task is what lets the backoff strategy lengthen the period
+                        if (stats == null) {
+                            throw new IllegalStateException("Dashboard statistics are unavailable");
+                        }
+                        return stats;
+                    }
+                };
+            }
+        };
+        // Back off while the database is unreachable instead of failing every period
+        service.setBackoffStrategy(ScheduledService.EXPONENTIAL_BACKOFF_STRATEGY);
+        service.setMaximumCumulativePeriod(Duration.minutes(15));
+        service.setOnSucceeded(e -> applyStatistics(service.getValue()));
+        service.setOnFailed(e -> System.err.println("❌ Error refreshing dashboard data, backing off: "
+                + service.getException().getMessage()));
+        return service;
+    }
+    
+    // Only used when edit mode changes the card layout; data refreshes never rebuild nodes
+    private void rebuildDashboard() {
         mainContent.getChildren().clear();
         
         VBox header = createEditableHeader();
@@ -242,15 +346,10 @@ public class DashboardPage extends VBox {
         activitiesRow = createActivitiesRow();
         
         mainContent.getChildren().addAll(header, statsRow, chartsRow, activitiesRow);
-        
-        // Update all charts and diagrams with new data
-        updateAllCharts();
     }
     
+    // The occupancy chart and legend are bound to the model; only the revenue series needs new values
     private void updateAllCharts() {
-        // Update occupancy chart data
-        updateOccupancyChart();
-        // Update revenue chart data  
         updateRevenueChart();
     }
     
@@ -611,18 +710,22 @@ public class DashboardPage extends VBox {
     
     private void updateRevenueData() {
         if (revenueSeries != null && expensesSeries != null) {
-            revenueSeries.getData().clear();
-            expensesSeries.getData().clear();
-            
-            double baseRevenue = soldApartments * 500000; // Base calculation
+            double baseRevenue = model.getSoldApartments() * 500000; // Base calculation
             double baseExpenses = baseRevenue * 0.25;
             
             String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun"};
             
-            for (String month : months) {
+            // Bars are created once; later refreshes only move their values
+            boolean reuse = revenueSeries.getData().size() == months.length;
+            for (int i = 0; i < months.length; i++) {
                 double variation = 0.8 + (Math.random() * 0.4);
-                revenueSeries.getData().add(new XYChart.Data<>(month, baseRevenue * variation));
-                expensesSeries.getData().add(new XYChart.Data<>(month, baseExpenses * variation));
+                if (reuse) {
+                    revenueSeries.getData().get(i).setYValue(baseRevenue * variation);
+                    expensesSeries.getData().get(i).setYValue(baseExpenses * variation);
+                } else {
+                    revenueSeries.getData().add(new XYChart.Data<>(months[i], baseRevenue * variation));
+                    expensesSeries.getData().add(new XYChart.Data<>(months[i], baseExpenses * variation));
+                }
             }
         }
     }
@@ -651,8 +754,10 @@ public class DashboardPage extends VBox {
         occupancyPieChart.setAnimated(true);
         occupancyPieChart.setStyle("-fx-background-color: transparent;");
         
-        PieChart.Data sold = new PieChart.Data("Sold", soldApartments);
-        PieChart.Data available = new PieChart.Data("Available", availableApartments);
+        PieChart.Data sold = new PieChart.Data("Sold", 0);
+        PieChart.Data available = new PieChart.Data("Available", 0);
+        sold.pieValueProperty().bind(model.soldApartmentsProperty());
+        available.pieValueProperty().bind(model.availableApartmentsProperty());
         
         occupancyPieChart.getData().addAll(sold, available);
         
@@ -662,7 +767,8 @@ public class DashboardPage extends VBox {
         Label soldColor = new Label("●");
         soldColor.setTextFill(Color.web("#10B981"));
         soldColor.setFont(Font.font(16));
-        soldLegendLabel = new Label("Sold: " + soldApartments);
+        soldLegendLabel = new Label();
+        soldLegendLabel.textProperty().bind(Bindings.concat("Sold: ", model.soldApartmentsProperty()));
         soldLegendLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         soldLegendLabel.setTextFill(Color.web("#D1D5DB"));
         soldLegend.getChildren().addAll(soldColor, soldLegendLabel);
@@ -671,7 +777,8 @@ public class DashboardPage extends VBox {
         Label availableColor = new Label("●");
         availableColor.setTextFill(Color.web("#EF4444"));
         availableColor.setFont(Font.font(16));
-        availableLegendLabel = new Label("Available: " + availableApartments);
+        availableLegendLabel = new Label();
+        availableLegendLabel.textProperty().bind(Bindings.concat("Available: ", model.availableApartmentsProperty()));
         availableLegendLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         availableLegendLabel.setTextFill(Color.web("#D1D5DB"));
         availableLegend.getChildren().addAll(availableColor, availableLegendLabel);
@@ -682,21 +789,6 @@ public class DashboardPage extends VBox {
         return container;
     }
     
-    private void updateOccupancyChart() {
-        if (occupancyPieChart != null && !occupancyPieChart.getData().isEmpty()) {
-            occupancyPieChart.getData().get(0).setPieValue(soldApartments);
-            occupancyPieChart.getData().get(1).setPieValue(availableApartments);
-            
-            if (soldLegendLabel != null) {
-                soldLegendLabel.setText("Sold: " + soldApartments);
-            }
-            
-            if (availableLegendLabel != null) {
-                availableLegendLabel.setText("Available: " + availableApartments);
-            }
-        }
-    }
-    
     private HBox createActivitiesRow() {
         HBox activitiesRow = new HBox(20);
         activitiesRow.setAlignment(Pos.CENTER);
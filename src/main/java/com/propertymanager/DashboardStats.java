@@ -0,0 +1,44 @@
+package com.propertymanager;
+
+// Immutable snapshot of every aggregate shown on DashboardPage and ReportsPage
+public record DashboardStats(
+    int totalBuildings,
+    int totalApartments,
+    int occupiedApartments,
+    int soldUnits,
+    int availableUnits,
+    int reservedUnits,
+    int maintenanceUnits,
+    int totalBuyers,
+    int paidBuyers,
+    int partialBuyers,
+    int pendingBuyers,
+    int overdueBuyers,
+    double totalSales,
+    double totalRevenue,
+    double revenueYearToDate,
+    double revenueMonthToDate,
+    double pendingPayments,
+    double overdueAmount,
+    int totalLands,
+    double totalLandValue,
+    int openMaintenanceRequests,
+    int pendingPermits,
+    int openCustomerRequests
+) {
+    public static DashboardStats empty() {
+        return new DashboardStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public int availableApartments() {
+        return Math.max(0, totalApartments - occupiedApartments);
+    }
+
+    public double salesRate() {
+        return totalApartments == 0 ? 0 : (double) occupiedApartments / totalApartments * 100;
+    }
+
+    public double collectionRate() {
+        return totalSales == 0 ? 0 : totalRevenue / totalSales * 100;
+    }
+}
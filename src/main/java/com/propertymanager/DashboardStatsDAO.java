@@ -0,0 +1,88 @@
+package com.propertymanager;
+
+import java.sql.*;
+
+public class DashboardStatsDAO {
+
+    // One round trip: every aggregate is computed in a single-row CTE per table
+    private static final String STATS_SQL = """
+        WITH bld AS (
+            SELECT COUNT(*) AS total_buildings,
+                   COALESCE(SUM(total_apartments), 0) AS total_apartments,
+                   COALESCE(SUM(occupied_apartments), 0) AS occupied_apartments
+            FROM buildings
+        ), apt AS (
+            SELECT COUNT(*) FILTER (WHERE status = 'sold') AS sold_units,
+                   COUNT(*) FILTER (WHERE status = 'available') AS available_units,
+                   COUNT(*) FILTER (WHERE status = 'reserved') AS reserved_units,
+                   COUNT(*) FILTER (WHERE status = 'maintenance') AS maintenance_units
+            FROM apartments
+        ), byr AS (
+            SELECT COUNT(*) AS total_buyers,
+                   COALESCE(SUM(purchase_amount), 0) AS total_sales,
+                   COALESCE(SUM(paid_amount), 0) AS total_revenue,
+                   COALESCE(SUM(remaining_amount) FILTER (WHERE remaining_amount > 0), 0) AS pending_payments,
+                   COUNT(*) FILTER (WHERE payment_status = 'paid') AS paid_buyers,
+                   COUNT(*) FILTER (WHERE payment_status = 'partial') AS partial_buyers,
+                   COUNT(*) FILTER (WHERE payment_status = 'pending') AS pending_buyers,
+                   COUNT(*) FILTER (WHERE payment_status = 'overdue'
+                                       OR (remaining_amount > 0 AND next_due_date < CURRENT_DATE)) AS overdue_buyers,
+                   COALESCE(SUM(remaining_amount) FILTER (WHERE payment_status = 'overdue'
+                                       OR (remaining_amount > 0 AND next_due_date < CURRENT_DATE)), 0) AS overdue_amount
+            FROM buyers
+        ), lnd AS (
+            SELECT COUNT(*) AS total_lands,
+                   COALESCE(SUM(estimated_value), 0) AS total_land_value
+            FROM lands
+        ), pay AS (
+            SELECT COALESCE(SUM(amount) FILTER (WHERE payment_date >= date_trunc('year', CURRENT_DATE)), 0) AS revenue_ytd,
+                   COALESCE(SUM(amount) FILTER (WHERE payment_date >= date_trunc('month', CURRENT_DATE)), 0) AS revenue_mtd
+            FROM payments
+        ), ops AS (
+            SELECT (SELECT COUNT(*) FROM maintenance_requests WHERE status IN ('pending', 'in-progress')) AS open_maintenance,
+                   (SELECT COUNT(*) FROM permits WHERE status = 'pending') AS pending_permits,
+                   (SELECT COUNT(*) FROM customer_requests WHERE status IN ('open', 'in-progress')) AS open_requests
+        )
+        SELECT * FROM bld, apt, byr, lnd, pay, ops
+    """;
+
+    public static DashboardStats getSnapshot() {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STATS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            if (rs.next()) {
+                return new DashboardStats(
+                    rs.getInt("total_buildings"),
+                    rs.getInt("total_apartments"),
+                    rs.getInt("occupied_apartments"),
+                    rs.getInt("sold_units"),
+                    rs.getInt("available_units"),
+                    rs.getInt("reserved_units"),
+                    rs.getInt("maintenance_units"),
+                    rs.getInt("total_buyers"),
+                    rs.getInt("paid_buyers"),
+                    rs.getInt("partial_buyers"),
+                    rs.getInt("pending_buyers"),
+                    rs.getInt("overdue_buyers"),
+                    rs.getDouble("total_sales"),
+                    rs.getDouble("total_revenue"),
+                    rs.getDouble("revenue_ytd"),
+                    rs.getDouble("revenue_mtd"),
+                    rs.getDouble("pending_payments"),
+                    rs.getDouble("overdue_amount"),
+                    rs.getInt("total_lands"),
+                    rs.getDouble("total_land_value"),
+                    rs.getInt("open_maintenance"),
+                    rs.getInt("pending_permits"),
+                    rs.getInt("open_requests")
+                );
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading dashboard statistics: " + e.getMessage());
+        }
+
+        return null;
+    }
+}
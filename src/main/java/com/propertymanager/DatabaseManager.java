@@ -1,17 +1,90 @@
 package com.propertymanager;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.BiConsumer;
 
 public class DatabaseManager {
     private static String DB_URL;
     private static String DB_USER;
     private static String DB_PASSWORD;
-    
+
+    // Pool settings (overridable from db.properties)
+    private static int maxPoolSize = 10;
+    private static int minIdle = 2;
+    private static long connectionTimeoutMs = 10_000;
+    private static long idleTimeoutMs = 300_000;
+    private static long maxLifetimeMs = 1_800_000;
+    private static long leakDetectionThresholdMs = 20_000;
+
+    private static final PoolMetrics metrics = new PoolMetrics();
+    private static volatile HikariDataSource dataSource;
+
+    // Row changes published by the entity_changed triggers, as "table:key" payloads
+    public static final String CHANGE_CHANNEL = "entity_changed";
+    public static final String ALL_TABLES = "*";
+    private static final long LISTENER_RETRY_MS = 5_000;
+
+    private static final List<BiConsumer<String, Integer>> changeListeners = new CopyOnWriteArrayList<>();
+    private static volatile Thread changeListenerThread;
+    private static volatile Connection listenerConnection;
+
+    // Installed idempotently by the change listener; the plpgsql body cannot go through db_setup.py's ';' split
+    private static final String CHANGE_TRIGGER_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION notify_entity_change() RETURNS trigger AS $$
+        DECLARE
+            key_column TEXT := TG_ARGV[0];
+            new_key TEXT;
+            old_key TEXT;
+        BEGIN
+            IF TG_OP = 'TRUNCATE' THEN
+                PERFORM pg_notify('entity_changed', TG_TABLE_NAME || ':');
+                RETURN NULL;
+            END IF;
+            IF TG_OP <> 'DELETE' THEN
+                new_key := to_jsonb(NEW) ->> key_column;
+                PERFORM pg_notify('entity_changed', TG_TABLE_NAME || ':' || COALESCE(new_key, ''));
+            END IF;
+            IF TG_OP <> 'INSERT' THEN
+                old_key := to_jsonb(OLD) ->> key_column;
+                IF old_key IS DISTINCT FROM new_key THEN
+                    PERFORM pg_notify('entity_changed', TG_TABLE_NAME || ':' || COALESCE(old_key, ''));
+                END IF;
+            END IF;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    // Table -> column whose value is published as the changed entity's key
+    private static final String[][] CHANGE_TRIGGER_TABLES = {
+        {"buildings", "id"},
+        {"apartments", "building_id"},
+        {"buyers", "id"},
+        {"property_purchases", "buyer_id"},
+        {"payments", "buyer_id"},
+        {"lands", "id"}
+    };
+
     static {
         try {
             loadDatabaseConfig();
@@ -22,38 +95,106 @@ public class DatabaseManager {
             e.printStackTrace();
         }
     }
-    
+
     private static void loadDatabaseConfig() throws IOException {
         Properties props = new Properties();
-        
+
         // Try to load from db.properties file first
         try (InputStream input = DatabaseManager.class.getClassLoader().getResourceAsStream("db.properties")) {
             if (input != null) {
                 props.load(input);
-                DB_URL = "jdbc:postgresql://" + props.getProperty("db.host", "localhost") + 
-                        ":" + props.getProperty("db.port", "5432") + 
+                DB_URL = "jdbc:postgresql://" + props.getProperty("db.host", "localhost") +
+                        ":" + props.getProperty("db.port", "5432") +
                         "/" + props.getProperty("db.name", "property_manager");
                 DB_USER = props.getProperty("db.user", "postgres");
                 DB_PASSWORD = props.getProperty("db.password", "4426");
+                loadPoolConfig(props);
                 System.out.println("📁 Database config loaded from db.properties");
                 return;
             }
         } catch (Exception e) {
             System.out.println("⚠️ db.properties not found, using default values");
         }
-        
+
         // Fallback to default values matching your .env file
         DB_URL = "jdbc:postgresql://localhost:5432/property_manager";
         DB_USER = "postgres";
         DB_PASSWORD = "4426";
         System.out.println("🔧 Using default database configuration");
     }
-    
+
+    // A bad pool value only falls back for its own key, never for the connection settings
+    private static void loadPoolConfig(Properties props) {
+        maxPoolSize = parseInt(props, "db.pool.maxSize", maxPoolSize);
+        minIdle = parseInt(props, "db.pool.minIdle", minIdle);
+        connectionTimeoutMs = parseLong(props, "db.pool.connectionTimeoutMs", connectionTimeoutMs);
+        idleTimeoutMs = parseLong(props, "db.pool.idleTimeoutMs", idleTimeoutMs);
+        maxLifetimeMs = parseLong(props, "db.pool.maxLifetimeMs", maxLifetimeMs);
+        leakDetectionThresholdMs = parseLong(props, "db.pool.leakDetectionThresholdMs", leakDetectionThresholdMs);
+    }
+
+    private static int parseInt(Properties props, String key, int fallback) {
+        String value = props.getProperty(key);
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : fallback;
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Invalid " + key + " '" + value + "', using " + fallback);
+            return fallback;
+        }
+    }
+
+    private static long parseLong(Properties props, String key, long fallback) {
+        String value = props.getProperty(key);
+        try {
+            return value != null ? Long.parseLong(value.trim()) : fallback;
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Invalid " + key + " '" + value + "', using " + fallback);
+            return fallback;
+        }
+    }
+
+    private static HikariDataSource getDataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseManager.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = createDataSource();
+                    dataSource = ds;
+                }
+            }
+        }
+        return ds;
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("property-manager");
+        config.setJdbcUrl(DB_URL);
+        config.setUsername(DB_USER);
+        config.setPassword(DB_PASSWORD);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(Math.min(minIdle, maxPoolSize));
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setLeakDetectionThreshold(leakDetectionThresholdMs);
+        // Let the app start even if PostgreSQL is down; failures surface on getConnection()
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(metrics);
+
+        // pgjdbc statement caching and batch rewriting
+        config.addDataSourceProperty("prepareThreshold", "3");
+        config.addDataSourceProperty("preparedStatementCacheQueries", "256");
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+
+        System.out.println("🏊 Connection pool started (max " + maxPoolSize + ", min idle " + config.getMinimumIdle() + ")");
+        return new HikariDataSource(config);
+    }
+
     public static Connection getConnection() throws SQLException {
         try {
-            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println("🔗 Connected to PostgreSQL database");
-            return conn;
+            return getDataSource().getConnection();
         } catch (SQLException e) {
             System.err.println("❌ Database connection failed: " + e.getMessage());
             System.err.println("🔍 URL: " + DB_URL);
@@ -61,7 +202,7 @@ public class DatabaseManager {
             throw e;
         }
     }
-    
+
     public static boolean testConnection() {
         try (Connection conn = getConnection()) {
             System.out.println("✅ Database connection test successful!");
@@ -71,9 +212,223 @@ public class DatabaseManager {
             return false;
         }
     }
-    
+
+    // Listeners receive (table, key); a null key means any row of the table, ALL_TABLES means anything may have changed
+    public static void addChangeListener(BiConsumer<String, Integer> listener) {
+        changeListeners.add(listener);
+    }
+
+    public static synchronized void startChangeListener() {
+        if (changeListenerThread != null) {
+            return;
+        }
+        Thread thread = new Thread(DatabaseManager::runChangeListener, "db-change-listener");
+        thread.setDaemon(true);
+        changeListenerThread = thread;
+        thread.start();
+    }
+
+    // Holds one dedicated connection outside the pool, so a long-lived LISTEN never counts as a leak
+    private static void runChangeListener() {
+        boolean triggersInstalled = false;
+
+        while (changeListenerThread == Thread.currentThread()) {
+            try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
+                listenerConnection = conn;
+                if (!triggersInstalled) {
+                    installChangeTriggers(conn);
+                    triggersInstalled = true;
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANGE_CHANNEL);
+                }
+                System.out.println("👂 Listening for database changes on '" + CHANGE_CHANNEL + "'");
+
+                // Changes made while we were not listening are unknown
+                dispatchChange(ALL_TABLES, null);
+
+                PGConnection pgConn = conn.unwrap(PGConnection.class);
+                while (changeListenerThread == Thread.currentThread()) {
+                    PGNotification[] notifications = pgConn.getNotifications(10_000);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handleNotification(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (changeListenerThread != Thread.currentThread()) {
+                    break;
+                }
+                System.err.println("❌ Change listener disconnected: " + e.getMessage());
+                dispatchChange(ALL_TABLES, null);
+            } finally {
+                listenerConnection = null;
+            }
+
+            try {
+                Thread.sleep(LISTENER_RETRY_MS);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private static void installChangeTriggers(Connection conn) {
+        try {
+            // One transaction, so other clients never see a table without its triggers
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CHANGE_TRIGGER_FUNCTION_SQL);
+                for (String[] table : CHANGE_TRIGGER_TABLES) {
+                    String name = table[0];
+                    stmt.execute("DROP TRIGGER IF EXISTS " + name + "_notify_change ON " + name);
+                    stmt.execute("CREATE TRIGGER " + name + "_notify_change AFTER INSERT OR UPDATE OR DELETE ON " + name +
+                            " FOR EACH ROW EXECUTE FUNCTION notify_entity_change('" + table[1] + "')");
+                    stmt.execute("DROP TRIGGER IF EXISTS " + name + "_notify_truncate ON " + name);
+                    stmt.execute("CREATE TRIGGER " + name + "_notify_truncate AFTER TRUNCATE ON " + name +
+                            " FOR EACH STATEMENT EXECUTE FUNCTION notify_entity_change('" + table[1] + "')");
+                }
+                conn.commit();
+                System.out.println("🔔 Change notification triggers installed");
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                // LISTEN only takes effect outside a transaction
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            // Without privileges the existing triggers (if any) keep working; caches still expire by TTL
+            System.err.println("❌ Could not install change triggers: " + e.getMessage());
+        }
+    }
+
+    private static void handleNotification(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String table = payload.substring(0, separator);
+        String key = payload.substring(separator + 1);
+        Integer id = null;
+        if (!key.isEmpty()) {
+            try {
+                id = Integer.valueOf(key);
+            } catch (NumberFormatException e) {
+                // Unknown key format: treat as a change to the whole table
+            }
+        }
+        dispatchChange(table, id);
+    }
+
+    private static void dispatchChange(String table, Integer id) {
+        for (BiConsumer<String, Integer> listener : changeListeners) {
+            try {
+                listener.accept(table, id);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Change listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static synchronized void stopChangeListener() {
+        Thread thread = changeListenerThread;
+        changeListenerThread = null;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        // Closing the socket wakes a listener blocked in getNotifications
+        Connection conn = listenerConnection;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Already closed
+            }
+        }
+    }
+
+    public static PoolStatistics getPoolStatistics() {
+        HikariDataSource ds = dataSource;
+        HikariPoolMXBean pool = ds != null && !ds.isClosed() ? ds.getHikariPoolMXBean() : null;
+        return new PoolStatistics(
+            pool != null ? pool.getActiveConnections() : 0,
+            pool != null ? pool.getIdleConnections() : 0,
+            pool != null ? pool.getTotalConnections() : 0,
+            pool != null ? pool.getThreadsAwaitingConnection() : 0,
+            maxPoolSize,
+            metrics.acquisitions.get(),
+            metrics.timeouts.get(),
+            TimeUnit.NANOSECONDS.toMicros(metrics.acquireNanosTotal.get()) / 1000.0 / Math.max(1, metrics.acquisitions.get()),
+            TimeUnit.NANOSECONDS.toMicros(metrics.acquireNanosMax.get()) / 1000.0,
+            metrics.usageMillisTotal.get() / (double) Math.max(1, metrics.usages.get())
+        );
+    }
+
     public static void close() {
-        // PostgreSQL connections are closed automatically when using try-with-resources
+        stopChangeListener();
+
+        HikariDataSource ds;
+        synchronized (DatabaseManager.class) {
+            ds = dataSource;
+            if (ds != null && !ds.isClosed()) {
+                System.out.println("📈 " + getPoolStatistics());
+            }
+            dataSource = null;
+        }
+        if (ds != null) {
+            ds.close();
+        }
         System.out.println("🔒 Database connections closed");
     }
-}
\ No newline at end of file
+
+    // Snapshot of pool state and acquisition timings
+    public record PoolStatistics(int activeConnections, int idleConnections, int totalConnections,
+                                 int threadsAwaitingConnection, int maxPoolSize,
+                                 long acquisitions, long timeouts,
+                                 double averageWaitMillis, double maxWaitMillis,
+                                 double averageUsageMillis) {
+        @Override
+        public String toString() {
+            return String.format("Pool: %d/%d in use, %d idle, %d waiting | %d acquisitions, avg wait %.2f ms, max wait %.2f ms, %d timeouts, avg hold %.1f ms",
+                activeConnections, maxPoolSize, idleConnections, threadsAwaitingConnection,
+                acquisitions, averageWaitMillis, maxWaitMillis, timeouts, averageUsageMillis);
+        }
+    }
+
+    // Collects Hikari's per-checkout timings so wait times under load are visible
+    private static class PoolMetrics implements MetricsTrackerFactory, IMetricsTracker {
+        final AtomicLong acquisitions = new AtomicLong();
+        final AtomicLong acquireNanosTotal = new AtomicLong();
+        final LongAccumulator acquireNanosMax = new LongAccumulator(Math::max, 0);
+        final AtomicLong usages = new AtomicLong();
+        final AtomicLong usageMillisTotal = new AtomicLong();
+        final AtomicLong timeouts = new AtomicLong();
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return this;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.incrementAndGet();
+            acquireNanosTotal.addAndGet(elapsedAcquiredNanos);
+            acquireNanosMax.accumulate(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usages.incrementAndGet();
+            usageMillisTotal.addAndGet(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.propertymanager;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+// Bounded, time-limited cache of entities keyed by id, filled by the DAOs.
+// Entries are dropped when the change listener reports the row changed, or when they exceed the TTL.
+// Entities are mutable, so the cache keeps its own copies and hands every caller a fresh one.
+public class EntityCache<T> {
+
+    // Loader that reports failures so they are never cached as empty results
+    public interface Loader<R> {
+        R load() throws SQLException;
+    }
+
+    private record Entry<T>(T value, long loadedAt) {}
+
+    private final String name;
+    private final long ttlMillis;
+    private final UnaryOperator<T> copier;
+    private final Map<Integer, Entry<T>> entries;
+
+    // Ids of the last full listing, in query order; null when a change may have altered it
+    private List<Integer> allIds;
+    private long allLoadedAt;
+
+    // Bumped on every invalidation so a load that raced with a change is not cached
+    private long generation;
+    private long hits;
+    private long misses;
+
+    public EntityCache(String name, int maxSize, Duration ttl, UnaryOperator<T> copier) {
+        this.name = name;
+        this.ttlMillis = ttl.toMillis();
+        this.copier = copier;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public T get(int id, Loader<T> loader) throws SQLException {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<T> entry = entries.get(id);
+            if (entry != null && isFresh(entry.loadedAt())) {
+                hits++;
+                return copier.apply(entry.value());
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        T value = loader.load();
+        synchronized (this) {
+            if (value != null && loadGeneration == generation) {
+                entries.put(id, new Entry<>(copier.apply(value), System.currentTimeMillis()));
+            }
+        }
+        return value;
+    }
+
+    public List<T> getAll(Loader<List<T>> loader, ToIntFunction<T> idOf) throws SQLException {
+        long loadGeneration;
+        synchronized (this) {
+            List<T> cached = cachedListing();
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        List<T> values = loader.load();
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                long now = System.currentTimeMillis();
+                List<Integer> ids = new ArrayList<>(values.size());
+                for (T value : values) {
+                    int id = idOf.applyAsInt(value);
+                    entries.put(id, new Entry<>(copier.apply(value), now));
+                    ids.add(id);
+                }
+                allIds = ids;
+                allLoadedAt = now;
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    // The full listing if it is fresh and every entity is still cached (none evicted or invalidated)
+    private List<T> cachedListing() {
+        if (allIds == null || !isFresh(allLoadedAt)) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(allIds.size());
+        for (Integer id : allIds) {
+            Entry<T> entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            values.add(copier.apply(entry.value()));
+        }
+        return values;
+    }
+
+    private boolean isFresh(long loadedAt) {
+        return System.currentTimeMillis() - loadedAt < ttlMillis;
+    }
+
+    // A changed row also invalidates the listing, whose membership or order may have changed
+    public synchronized void invalidate(int id) {
+        entries.remove(id);
+        allIds = null;
+        generation++;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        allIds = null;
+        generation++;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s cache: %d entries, %d hits, %d misses", name, entries.size(), hits, misses);
+    }
+}
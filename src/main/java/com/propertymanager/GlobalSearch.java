@@ -0,0 +1,271 @@
+package com.propertymanager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Search across buildings, apartments, buyers, lands, permits, maintenance requests and vehicles.
+// search_documents holds one weighted tsvector per record (title A, subtitle B, the rest C) under a GIN index;
+// triggers on the source tables keep it current, so a search is one index lookup however many records exist.
+public class GlobalSearch {
+
+    public record Result(String type, int id, String title, String subtitle, double rank) {}
+
+    public static final String TYPE_BUILDING = "building";
+    public static final String TYPE_APARTMENT = "apartment";
+    public static final String TYPE_BUYER = "buyer";
+    public static final String TYPE_LAND = "land";
+    public static final String TYPE_PERMIT = "permit";
+    public static final String TYPE_MAINTENANCE = "maintenance";
+    public static final String TYPE_VEHICLE = "vehicle";
+
+    private static final String[][] SOURCES = {
+        {TYPE_BUILDING, "buildings"},
+        {TYPE_APARTMENT, "apartments"},
+        {TYPE_BUYER, "buyers"},
+        {TYPE_LAND, "lands"},
+        {TYPE_PERMIT, "permits"},
+        {TYPE_MAINTENANCE, "maintenance_requests"},
+        {TYPE_VEHICLE, "vehicles"},
+    };
+
+    // Ranking is limited to this many matches, so a one-letter prefix costs no more than a precise word
+    private static final int MAX_CANDIDATES = 500;
+
+    private static volatile boolean indexReady;
+
+    // Written in the same transaction as a full build; a table without it may hold a partial index
+    private static final String BUILT_KEY = "search_index_built";
+
+    private static final String BUILT_SQL = "SELECT EXISTS (SELECT 1 FROM system_settings WHERE setting_key = ?)";
+
+    private static final String SAVE_BUILT_SQL = """
+        INSERT INTO system_settings (setting_key, setting_value, description) VALUES (?, CURRENT_TIMESTAMP::text, 'When the global search index was last built in full')
+        ON CONFLICT (setting_key) DO UPDATE SET setting_value = EXCLUDED.setting_value, updated_at = CURRENT_TIMESTAMP
+    """;
+
+    private static final String TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS search_documents (
+            id SERIAL PRIMARY KEY,
+            entity_type VARCHAR(20) NOT NULL,
+            entity_id INTEGER NOT NULL,
+            title TEXT NOT NULL,
+            subtitle TEXT,
+            document TSVECTOR NOT NULL,
+            created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            UNIQUE(entity_type, entity_id)
+        )
+    """;
+
+    private static final String INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_search_documents_document ON search_documents USING gin (document)";
+
+    // What each record type contributes to the index; used by the triggers and by the initial build
+    private static final String SOURCE_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION search_source(kind TEXT, only_id INTEGER)
+        RETURNS TABLE(entity_type TEXT, entity_id INTEGER, title TEXT, subtitle TEXT, body TEXT) AS $$
+            SELECT 'building', b.id, b.name, b.location, concat_ws(' ', b.status, b.description)
+            FROM buildings b WHERE kind = 'building' AND (only_id IS NULL OR b.id = only_id)
+            UNION ALL
+            SELECT 'apartment', a.id, 'Apt ' || a.apartment_number, bld.name, concat_ws(' ', a.size, a.status, a.description)
+            FROM apartments a JOIN buildings bld ON bld.id = a.building_id
+            WHERE kind = 'apartment' AND (only_id IS NULL OR a.id = only_id)
+            UNION ALL
+            SELECT 'buyer', b.id, b.name, COALESCE(b.email, b.phone),
+                   concat_ws(' ', b.phone, translate(b.email, '@.', '  '), b.national_id, b.payment_status)
+            FROM buyers b WHERE kind = 'buyer' AND (only_id IS NULL OR b.id = only_id)
+            UNION ALL
+            SELECT 'land', l.id, l.name, l.location, concat_ws(' ', l.owner, l.area, l.status, l.description)
+            FROM lands l WHERE kind = 'land' AND (only_id IS NULL OR l.id = only_id)
+            UNION ALL
+            SELECT 'permit', p.id, p.permit_number, p.permit_type || ' - ' || p.requested_by,
+                   concat_ws(' ', p.status, p.approved_by, p.description)
+            FROM permits p WHERE kind = 'permit' AND (only_id IS NULL OR p.id = only_id)
+            UNION ALL
+            SELECT 'maintenance', m.id, m.issue_title, m.request_number || ' - ' || m.requested_by,
+                   concat_ws(' ', m.assigned_to, m.priority, m.status, m.description)
+            FROM maintenance_requests m WHERE kind = 'maintenance' AND (only_id IS NULL OR m.id = only_id)
+            UNION ALL
+            SELECT 'vehicle', v.id, v.vehicle_number, v.vehicle_type, concat_ws(' ', v.capacity, v.status)
+            FROM vehicles v WHERE kind = 'vehicle' AND (only_id IS NULL OR v.id = only_id)
+        $$ LANGUAGE sql STABLE
+    """;
+
+    private static final String REFRESH_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION search_refresh(kind TEXT, only_id INTEGER) RETURNS void AS $$
+        BEGIN
+            INSERT INTO search_documents (entity_type, entity_id, title, subtitle, document)
+            SELECT s.entity_type, s.entity_id, COALESCE(s.title, ''), s.subtitle,
+                   setweight(to_tsvector('simple', COALESCE(s.title, '')), 'A')
+                   || setweight(to_tsvector('simple', COALESCE(s.subtitle, '')), 'B')
+                   || setweight(to_tsvector('simple', COALESCE(s.body, '')), 'C')
+            FROM search_source(kind, only_id) s
+            ON CONFLICT (entity_type, entity_id) DO UPDATE
+            SET title = EXCLUDED.title, subtitle = EXCLUDED.subtitle, document = EXCLUDED.document,
+                updated_at = CURRENT_TIMESTAMP;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    private static final String TRIGGER_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION search_index_change() RETURNS trigger AS $$
+        BEGIN
+            IF TG_OP = 'DELETE' THEN
+                DELETE FROM search_documents WHERE entity_type = TG_ARGV[0] AND entity_id = OLD.id;
+                RETURN NULL;
+            END IF;
+            PERFORM search_refresh(TG_ARGV[0], NEW.id);
+            -- Apartment results show their building's name. Nested, because NEW.name only exists on buildings
+            IF TG_TABLE_NAME = 'buildings' AND TG_OP = 'UPDATE' THEN
+                IF OLD.name IS DISTINCT FROM NEW.name THEN
+                    PERFORM search_refresh('apartment', a.id) FROM apartments a WHERE a.building_id = NEW.id;
+                END IF;
+            END IF;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    private static final String SEARCH_SQL = """
+        WITH q AS (SELECT to_tsquery('simple', ?) AS query)
+        SELECT c.entity_type, c.entity_id, c.title, c.subtitle, ts_rank(c.document, q.query) AS rank
+        FROM (
+            SELECT d.entity_type, d.entity_id, d.title, d.subtitle, d.document
+            FROM search_documents d, q
+            WHERE d.document @@ q.query
+            LIMIT ?
+        ) c, q
+        ORDER BY rank DESC, c.title
+        LIMIT ?
+    """;
+
+    // Installs the index table and its triggers, and builds it until a build has completed; run once at startup,
+    // off the FX thread. Everything is one transaction, so no write is missed while the triggers are replaced
+    public static void ensureIndex() {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(TABLE_SQL);
+                stmt.execute(INDEX_SQL);
+                stmt.execute(SOURCE_FUNCTION_SQL);
+                stmt.execute(REFRESH_FUNCTION_SQL);
+                stmt.execute(TRIGGER_FUNCTION_SQL);
+
+                for (String[] source : SOURCES) {
+                    stmt.execute("DROP TRIGGER IF EXISTS search_index ON " + source[1]);
+                    stmt.execute("CREATE TRIGGER search_index AFTER INSERT OR UPDATE OR DELETE ON " + source[1]
+                            + " FOR EACH ROW EXECUTE FUNCTION search_index_change('" + source[0] + "')");
+                }
+
+                boolean built;
+                try (PreparedStatement pstmt = conn.prepareStatement(BUILT_SQL)) {
+                    pstmt.setString(1, BUILT_KEY);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        built = rs.next() && rs.getBoolean(1);
+                    }
+                }
+                if (!built) {
+                    long started = System.currentTimeMillis();
+                    stmt.execute("TRUNCATE search_documents");
+                    for (String[] source : SOURCES) {
+                        stmt.execute("SELECT search_refresh('" + source[0] + "', NULL)");
+                    }
+                    stmt.execute("ANALYZE search_documents");
+                    try (PreparedStatement pstmt = conn.prepareStatement(SAVE_BUILT_SQL)) {
+                        pstmt.setString(1, BUILT_KEY);
+                        pstmt.executeUpdate();
+                    }
+                    System.out.println("🔎 Search index built in " + (System.currentTimeMillis() - started) + " ms");
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            indexReady = true;
+        } catch (SQLException e) {
+            System.err.println("❌ Error preparing search index: " + e.getMessage());
+        }
+    }
+
+    public static List<Result> search(String text, int limit) {
+        List<Result> results = new ArrayList<>();
+        String query = toPrefixQuery(text);
+        if (query.isEmpty() || !indexReady) {
+            return results;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_SQL)) {
+            stmt.setString(1, query);
+            stmt.setInt(2, MAX_CANDIDATES);
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new Result(
+                        rs.getString("entity_type"),
+                        rs.getInt("entity_id"),
+                        rs.getString("title"),
+                        rs.getString("subtitle"),
+                        rs.getDouble("rank")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error searching: " + e.getMessage());
+        }
+
+        return results;
+    }
+
+    // "sky tow 10" becomes sky:* & tow:* & 10:*; anything but letters and digits separates words,
+    // which also keeps tsquery operators typed by the user out of the query
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(" & ");
+            }
+            query.append(word).append(":*");
+        }
+        return query.toString();
+    }
+
+    public static String pageFor(String type) {
+        return switch (type) {
+            case TYPE_BUILDING, TYPE_APARTMENT -> "Buildings";
+            case TYPE_BUYER -> "Buyers";
+            case TYPE_LAND -> "Lands";
+            case TYPE_PERMIT -> "Permits";
+            case TYPE_MAINTENANCE -> "Maintenance";
+            case TYPE_VEHICLE -> "Transportation";
+            default -> "Dashboard";
+        };
+    }
+
+    public static String iconFor(String type) {
+        return switch (type) {
+            case TYPE_BUILDING -> "🏢";
+            case TYPE_APARTMENT -> "🚪";
+            case TYPE_BUYER -> "👤";
+            case TYPE_LAND -> "🌍";
+            case TYPE_PERMIT -> "📋";
+            case TYPE_MAINTENANCE -> "🔧";
+            case TYPE_VEHICLE -> "🚚";
+            default -> "🔎";
+        };
+    }
+}
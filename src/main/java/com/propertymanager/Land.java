@@ -24,6 +24,10 @@ public class Land {
         this.documents = documents;
     }
     
+    public Land copy() {
+        return new Land(id, name, location, area, owner, estimatedValue, status, description, documents);
+    }
+    
     // Getters for PropertyValueFactory
     public String getName() { return name; }
     public String getLocation() { return location; }
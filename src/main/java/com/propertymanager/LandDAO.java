@@ -1,12 +1,35 @@
 package com.propertymanager;
 
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 public class LandDAO {
     
+    private static final EntityCache<Land> cache = new EntityCache<>("lands", 500, Duration.ofMinutes(10), Land::copy);
+    
+    static {
+        DatabaseManager.addChangeListener((table, id) -> {
+            if (table.equals("lands") && id != null) {
+                cache.invalidate(id);
+            } else if (table.equals("lands") || table.equals(DatabaseManager.ALL_TABLES)) {
+                cache.invalidateAll();
+            }
+        });
+    }
+    
     public static List<Land> getAllLands() {
+        try {
+            return cache.getAll(LandDAO::queryAllLands, land -> land.id);
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading lands: " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    private static List<Land> queryAllLands() throws SQLException {
         List<Land> lands = new ArrayList<>();
         String sql = "SELECT id, name, location, area, owner, estimated_value, status, description, documents_count FROM lands ORDER BY name";
         
@@ -30,10 +53,6 @@ public class LandDAO {
             }
             
             System.out.println("🏞️ Loaded " + lands.size() + " lands from database");
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Error loading lands: " + e.getMessage());
-            e.printStackTrace();
         }
         
         return lands;
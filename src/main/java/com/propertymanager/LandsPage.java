@@ -11,16 +11,12 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
-public class LandsPage extends VBox {
+public class LandsPage extends VBox implements PageLifecycle {
     
     private List<Land> lands;
     private GridPane landsGrid;
@@ -28,37 +24,20 @@ public class LandsPage extends VBox {
     public LandsPage() {
         initData();
         initPage();
+        refresh();
     }
     
     private void initData() {
         lands = new ArrayList<>();
-        loadLandsFromDatabase();
     }
     
-    private void loadLandsFromDatabase() {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String query = "SELECT id, name, location, area, owner, estimated_value, status, description, documents_count FROM lands ORDER BY name";
-            try (PreparedStatement stmt = conn.prepareStatement(query)) {
-                ResultSet rs = stmt.executeQuery();
-                
-                while (rs.next()) {
-                    Land land = new Land(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("location"),
-                        rs.getString("area"),
-                        rs.getString("owner"),
-                        rs.getDouble("estimated_value"),
-                        rs.getString("status"),
-                        rs.getString("description"),
-                        rs.getInt("documents_count")
-                    );
-                    lands.add(land);
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    @Override
+    public void refresh() {
+        AsyncDAO.load(this, LandDAO::getAllLands, loaded -> {
+            lands.clear();
+            lands.addAll(loaded);
+            updateLandsGrid();
+        });
     }
     
     private void initPage() {
@@ -0,0 +1,28 @@
+package com.propertymanager;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+// Shown in place of page data while it is loaded in the background
+public class LoadingPlaceholder extends HBox {
+
+    public LoadingPlaceholder(String message) {
+        setSpacing(12);
+        setAlignment(Pos.CENTER);
+        setPadding(new Insets(40));
+
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setPrefSize(28, 28);
+
+        Label label = new Label(message);
+        label.setFont(Font.font("Arial", 14));
+        label.setTextFill(Color.GRAY);
+
+        getChildren().addAll(indicator, label);
+    }
+}
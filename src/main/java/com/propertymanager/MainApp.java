@@ -3,12 +3,15 @@ package com.propertymanager;
 import javafx.application.Application;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+
 public class MainApp extends Application {
     
     private BorderPane root;
@@ -17,6 +20,10 @@ public class MainApp extends Application {
     private String userType = "Admin User";
     private String currentUserEmail;
     private String currentUserName;
+    private PageRegistry pages;
+    
+    private static final int PAGE_CACHE_SIZE = 6;
+    private static final Duration PAGE_STALE_AFTER = Duration.ofMinutes(2);
     
     public MainApp() {}
     
@@ -35,13 +42,29 @@ public class MainApp extends Application {
         // Force light theme
         ThemeManager.applyLightTheme();
         
-        // Test database connection
-        try {
-            DatabaseManager.getConnection().close();
-            System.out.println("✓ Database connected successfully!");
-        } catch (Exception e) {
-            System.err.println("✗ Database connection failed: " + e.getMessage());
-        }
+        // Test database connection in the background so the window opens immediately
+        AsyncDAO.run(() -> {
+            try {
+                DatabaseManager.getConnection().close();
+                System.out.println("✓ Database connected successfully!");
+                // Keep the DAO caches coherent with changes made by other clients
+                DatabaseManager.startChangeListener();
+                // Scheduled backups run in the background when enabled in the backup dialog
+                BackupScheduler.start();
+                // Installs and, on first run, builds the index behind the TopBar search field
+                GlobalSearch.ensureIndex();
+                // Monthly summaries behind ReportsPage, filled on first run
+                ReportRollups.ensureRollups();
+                // Unread counters behind the TopBar bell
+                NotificationService.ensureInstalled();
+                // Flags buyers whose due date has passed, hourly
+                OverdueEngine.start();
+                // Per-purchase sums behind the payment ledger reconciliation
+                PaymentLedger.ensureIndex();
+            } catch (Exception e) {
+                System.err.println("✗ Database connection failed: " + e.getMessage());
+            }
+        });
         
         primaryStage.setTitle("Smart Property Manager Pro");
         
@@ -63,19 +86,9 @@ public class MainApp extends Application {
         root.setLeft(sidebar);
         root.setTop(topBar);
         
-        // Add scroll to initial page
-        ScrollPane initialScroll = new ScrollPane();
-        initialScroll.setFitToWidth(true);
-        initialScroll.setFitToHeight(true);
-        initialScroll.setStyle("-fx-background-color: #F8FAFC; -fx-background: #F8FAFC;");
-        
-        VBox initialWrapper = new VBox();
-        initialWrapper.setPadding(new Insets(0, 0, 50, 0));
-        initialWrapper.setStyle("-fx-background-color: #F8FAFC;");
-        initialWrapper.getChildren().add(new DashboardPage());
-        initialScroll.setContent(initialWrapper);
-        
-        root.setCenter(initialScroll);
+        // Visited pages stay cached; switching back reuses them and refreshes stale data in the background
+        pages = new PageRegistry(PAGE_CACHE_SIZE, PAGE_STALE_AFTER, this::createPage, this::wrapPage, root::setCenter);
+        showPage("Dashboard");
         
         mainContainer.getChildren().addAll(windowControls, root);
         VBox.setVgrow(root, Priority.ALWAYS);
@@ -86,6 +99,13 @@ public class MainApp extends Application {
         scene.setFill(javafx.scene.paint.Color.web("#F8FAFC"));
         
         primaryStage.setScene(scene);
+        // Release pooled connections when the main window goes away
+        primaryStage.setOnHidden(e -> {
+            BackupScheduler.stop();
+            OverdueEngine.stop();
+            NotificationService.flush();
+            DatabaseManager.close();
+        });
         primaryStage.show();
     }
     
@@ -133,6 +153,10 @@ public class MainApp extends Application {
     }
     
     public void showPage(String pageName) {
+        pages.show(pageName);
+    }
+    
+    private ScrollPane wrapPage(Node page) {
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.setFitToHeight(true);
@@ -142,52 +166,46 @@ public class MainApp extends Application {
         VBox wrapper = new VBox();
         wrapper.setPadding(new Insets(0, 0, 50, 0));
         wrapper.setStyle("-fx-background-color: #F8FAFC;");
+        wrapper.getChildren().add(page);
         
+        scrollPane.setContent(wrapper);
+        return scrollPane;
+    }
+    
+    private Node createPage(String pageName) {
         switch (pageName) {
             case "Dashboard":
-                wrapper.getChildren().add(new DashboardPage());
-                break;
+                return new DashboardPage();
             case "Buildings":
-                wrapper.getChildren().add(new BuildingsPage());
-                break;
+                return new BuildingsPage();
             case "Buyers":
-                wrapper.getChildren().add(new BuyersPage());
-                break;
+                return new BuyersPage();
             case "Lands":
-                wrapper.getChildren().add(new LandsPage());
-                break;
+                return new LandsPage();
             case "Permits":
-                wrapper.getChildren().add(new PermitsPage());
-                break;
+                return new PermitsPage();
             case "Maintenance":
-                wrapper.getChildren().add(new MaintenancePage());
-                break;
+                return new MaintenancePage();
             case "Reports":
-                wrapper.getChildren().add(new ReportsPage());
-                break;
+                return new ReportsPage();
             case "Requests":
-                wrapper.getChildren().add(new RequestsPage());
-                break;
+                return new RequestsPage();
             case "Transportation":
-                wrapper.getChildren().add(new TransportationPage());
-                break;
+                return new TransportationPage();
             case "Settings":
-                wrapper.getChildren().add(new SettingsPage());
-                break;
+                return new SettingsPage();
             case "AdminProfile":
                 if (currentUserEmail != null) {
-                    wrapper.getChildren().add(new AdminProfilePage(currentUserEmail));
-                } else {
-                    wrapper.getChildren().add(new AdminProfilePage());
+                    return new AdminProfilePage(currentUserEmail);
                 }
-                break;
+                return new AdminProfilePage();
             case "UserProfile":
-                wrapper.getChildren().add(new UserProfilePage());
-                break;
+                return new UserProfilePage();
+            case "Notifications":
+                return new NotificationCenter();
+            default:
+                return new VBox();
         }
-        
-        scrollPane.setContent(wrapper);
-        root.setCenter(scrollPane);
     }
     
     public void startWithUserType(Stage stage, String userType) throws Exception {
@@ -217,10 +235,9 @@ public class MainApp extends Application {
             topBar.updateTheme();
         }
         
-        // Update current page theme
-        ScrollPane currentScroll = (ScrollPane) root.getCenter();
-        if (currentScroll != null) {
-            updateScrollPaneTheme(currentScroll);
+        // Update cached pages' theme, including the current one
+        for (ScrollPane cachedScroll : pages.getCachedViews()) {
+            updateScrollPaneTheme(cachedScroll);
         }
     }
     
@@ -18,23 +18,37 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class MaintenancePage extends VBox {
+public class MaintenancePage extends VBox implements PageLifecycle {
     
     private String selectedTab = "all";
     private VBox requestsContainer;
+    private HBox statsRow;
     private List<MaintenanceRequest> requests;
     
     public MaintenancePage() {
         initRequests();
         initPage();
+        requestsContainer.getChildren().setAll(new LoadingPlaceholder("Loading maintenance requests..."));
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        // Query off the FX thread, then reload the existing controls with the loaded requests
+        AsyncDAO.load(this, this::loadMaintenanceRequestsFromDatabase, loaded -> {
+            requests.clear();
+            requests.addAll(loaded);
+            updateStatsRow();
+            updateRequestsList();
+        });
     }
     
     private void initRequests() {
         requests = new ArrayList<>();
-        loadMaintenanceRequestsFromDatabase();
     }
     
-    private void loadMaintenanceRequestsFromDatabase() {
+    private List<MaintenanceRequest> loadMaintenanceRequestsFromDatabase() {
+        List<MaintenanceRequest> requests = new ArrayList<>();
         try (Connection conn = DatabaseManager.getConnection()) {
             String query = "SELECT mr.request_number, b.name as building_name, " +
                           "CASE WHEN mr.apartment_id IS NOT NULL THEN CONCAT('Apt ', a.apartment_number) ELSE 'Common Area' END as location, " +
@@ -72,6 +86,7 @@ public class MaintenancePage extends VBox {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return requests;
     }
     
     private void initPage() {
@@ -80,7 +95,7 @@ public class MaintenancePage extends VBox {
         setStyle("-fx-background-color: #f8f9fa;");
         
         HBox header = createHeader();
-        HBox statsRow = createStatsRow();
+        statsRow = createStatsRow();
         VBox requestsList = createRequestsList();
         
         getChildren().addAll(header, statsRow, requestsList);
@@ -113,22 +128,26 @@ public class MaintenancePage extends VBox {
     }
     
     private HBox createStatsRow() {
-        HBox statsRow = new HBox(20);
-        statsRow.setAlignment(Pos.CENTER);
-        
+        HBox row = new HBox(20);
+        row.setAlignment(Pos.CENTER);
+        statsRow = row;
+        updateStatsRow();
+        return row;
+    }
+    
+    // Recounts the stat cards in place; the rest of the page keeps its tab and scroll position
+    private void updateStatsRow() {
         int total = requests.size();
         int pending = (int) requests.stream().filter(r -> "pending".equals(r.status)).count();
         int inProgress = (int) requests.stream().filter(r -> "in-progress".equals(r.status)).count();
         int completed = (int) requests.stream().filter(r -> "completed".equals(r.status)).count();
         
-        statsRow.getChildren().addAll(
+        statsRow.getChildren().setAll(
             createStatCard("Total Requests", String.valueOf(total), "🔧", "#2C3E8C"),
             createStatCard("Pending", String.valueOf(pending), "⏰", "#F5C542"),
             createStatCard("In Progress", String.valueOf(inProgress), "⚠️", "#2196F3"),
             createStatCard("Completed", String.valueOf(completed), "✅", "#4CAF50")
         );
-        
-        return statsRow;
     }
     
     private VBox createStatCard(String title, String value, String icon, String color) {
@@ -1,5 +1,8 @@
 package com.propertymanager;
 
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -7,34 +10,131 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.util.Duration;
 
-import java.util.ArrayList;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
-public class NotificationCenter extends VBox {
+public class NotificationCenter extends VBox implements PageLifecycle {
+    
+    // Rows are fetched a page at a time as the list scrolls, PREFETCH_ROWS before the end is reached
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 20;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     private String selectedTab = "all";
     private String filterType = "all";
     private TextField searchField;
-    private VBox notificationsContainer;
-    private List<Notification> notifications;
-    private List<String> selectedNotifications;
+    private ListView<Notification> notificationsList;
+    private final ObservableList<Notification> notifications = FXCollections.observableArrayList();
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(250));
+    private boolean shown;
+    
+    // Paging state for the current filters; a new generation drops pages requested for older filters
+    private NotificationService.Query query = NotificationService.Query.ALL;
+    private int generation = 0;
+    private boolean hasMore = true;
+    private boolean loadingPage = false;
+    
+    private Button allTab;
+    private Button unreadTab;
+    private Button readTab;
+    private Label totalValue;
+    private Label unreadValue;
+    private Label readValue;
+    private Label filteredValue;
+    
+    // New rows are delivered by NotificationService after each change, while the page is visible
+    private final Consumer<List<NotificationService.Notification>> onNotificationsChanged = this::onNotificationsChanged;
     
     public NotificationCenter() {
-        selectedNotifications = new ArrayList<>();
-        initData();
         initPage();
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        query = currentQuery();
+        generation++;
+        hasMore = true;
+        loadingPage = false;
+        notifications.clear();
+        notificationsList.setPlaceholder(new LoadingPlaceholder("Loading notifications..."));
+        loadNextPage();
+        updateStats();
+    }
+    
+    @Override
+    public void onShow() {
+        NotificationService.addListener(onNotificationsChanged);
+        // The first show follows the constructor's load
+        if (shown) {
+            refresh();
+        }
+        shown = true;
+    }
+    
+    @Override
+    public void onHide() {
+        NotificationService.removeListener(onNotificationsChanged);
     }
     
-    private void initData() {
-        notifications = new ArrayList<>();
-        notifications.add(new Notification("1", "rent", "Payment Overdue", "Emma Davis has an overdue payment of 1,000,000 MAD for property Metro Heights - 405.", "2h ago", "2025-11-08", false));
-        notifications.add(new Notification("2", "maintenance", "New Maintenance Request", "Water leak reported in Skyline Tower - Unit 305. Priority: High.", "3h ago", "2025-11-08", false));
-        notifications.add(new Notification("3", "permit", "Construction Permit Approved", "Permit #CP-2024-089 for Riverside Plaza renovation has been approved.", "5h ago", "2025-11-08", false));
-        notifications.add(new Notification("4", "tenant", "New Buyer Registered", "Jennifer Wilson has completed purchase for Garden View - 412.", "1d ago", "2025-11-07", true));
-        notifications.add(new Notification("5", "system", "System Backup Completed", "Daily backup completed successfully at 2:00 AM.", "1d ago", "2025-11-07", true));
-        notifications.add(new Notification("6", "alert", "Maintenance Due Soon", "Vehicle MT-2006 requires maintenance within the next 7 days.", "2d ago", "2025-11-06", true));
+    @Override
+    public void dispose() {
+        NotificationService.removeListener(onNotificationsChanged);
+        searchDebounce.stop();
+        generation++;
+    }
+    
+    private void loadNextPage() {
+        if (loadingPage || !hasMore) {
+            return;
+        }
+        loadingPage = true;
+        int requested = generation;
+        NotificationService.Query pageQuery = query;
+        NotificationService.Notification after = notifications.isEmpty() ? null : notifications.get(notifications.size() - 1).stored;
+        AsyncDAO.load(this, () -> NotificationService.getPage(pageQuery, after, PAGE_SIZE), page -> {
+            if (requested != generation) {
+                return;
+            }
+            loadingPage = false;
+            hasMore = page.size() == PAGE_SIZE;
+            notifications.addAll(page.stream().map(Notification::new).toList());
+            notificationsList.setPlaceholder(createEmptyState());
+            updateStats();
+        }, e -> {
+            if (requested != generation) {
+                return;
+            }
+            // Scrolling to the end again retries the page
+            loadingPage = false;
+            notificationsList.setPlaceholder(new Label("Notifications could not be loaded"));
+            System.err.println("❌ Error loading notifications page: " + e.getMessage());
+        });
+    }
+    
+    // Arrivals matching the filters go on top; the counters behind the stats cards were refreshed with them
+    private void onNotificationsChanged(List<NotificationService.Notification> arrivals) {
+        int newestId = notifications.isEmpty() ? 0 : notifications.get(0).id;
+        for (NotificationService.Notification arrival : arrivals) {
+            if (arrival.id() > newestId && query.matches(arrival)) {
+                notifications.add(0, new Notification(arrival));
+            }
+        }
+        updateStats();
+    }
+    
+    private NotificationService.Query currentQuery() {
+        Boolean read = switch (selectedTab) {
+            case "unread" -> false;
+            case "read" -> true;
+            default -> null;
+        };
+        String type = filterType.equals("all") ? null : filterType;
+        String text = searchField == null ? null : searchField.getText();
+        return new NotificationService.Query(read, type, text);
     }
     
     private void initPage() {
@@ -67,16 +167,15 @@ public class NotificationCenter extends VBox {
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
         
-        int unreadCount = (int) notifications.stream().filter(n -> !n.isRead).count();
-        
         HBox rightBox = new HBox(15);
         rightBox.setAlignment(Pos.CENTER_RIGHT);
         
-        if (unreadCount > 0) {
-            Label unreadBadge = new Label(unreadCount + " unread");
-            unreadBadge.setStyle("-fx-background-color: #F5C542; -fx-text-fill: black; -fx-background-radius: 12; -fx-padding: 4 12;");
-            rightBox.getChildren().add(unreadBadge);
-        }
+        Label unreadBadge = new Label();
+        unreadBadge.textProperty().bind(NotificationService.unreadCountProperty().asString("%d unread"));
+        unreadBadge.visibleProperty().bind(NotificationService.unreadCountProperty().greaterThan(0));
+        unreadBadge.managedProperty().bind(unreadBadge.visibleProperty());
+        unreadBadge.setStyle("-fx-background-color: #F5C542; -fx-text-fill: black; -fx-background-radius: 12; -fx-padding: 4 12;");
+        rightBox.getChildren().add(unreadBadge);
         
         Button markAllBtn = new Button("✓ Mark All Read");
         markAllBtn.setStyle("-fx-background-color: #e9ecef; -fx-text-fill: #495057; -fx-background-radius: 8; -fx-padding: 10 20; -fx-cursor: hand;");
@@ -91,22 +190,41 @@ public class NotificationCenter extends VBox {
         HBox statsRow = new HBox(20);
         statsRow.setAlignment(Pos.CENTER);
         
-        int total = notifications.size();
-        int unread = (int) notifications.stream().filter(n -> !n.isRead).count();
-        int read = total - unread;
-        int filtered = getFilteredNotifications().size();
+        totalValue = new Label("…");
+        unreadValue = new Label("…");
+        readValue = new Label("…");
+        filteredValue = new Label("…");
         
         statsRow.getChildren().addAll(
-            createStatCard("Total Notifications", String.valueOf(total), "🔔", "#2C3E8C"),
-            createStatCard("Unread", String.valueOf(unread), "⚠️", "#F5C542"),
-            createStatCard("Read", String.valueOf(read), "✅", "#4CAF50"),
-            createStatCard("Filtered", String.valueOf(filtered), "🔍", "#8B5CF6")
+            createStatCard("Total Notifications", totalValue, "🔔", "#2C3E8C"),
+            createStatCard("Unread", unreadValue, "⚠️", "#F5C542"),
+            createStatCard("Read", readValue, "✅", "#4CAF50"),
+            createStatCard("Filtered", filteredValue, "🔍", "#8B5CF6")
         );
         
         return statsRow;
     }
     
-    private VBox createStatCard(String title, String value, String icon, String color) {
+    // Totals come from NotificationService's per-type counters, never from counting rows
+    private void updateStats() {
+        int total = NotificationService.totalCount(null);
+        int unread = NotificationService.unreadCount(null);
+        totalValue.setText(String.valueOf(total));
+        unreadValue.setText(String.valueOf(unread));
+        readValue.setText(String.valueOf(total - unread));
+        
+        if (query.hasText()) {
+            // Text matches are not counted; show what has been found so far
+            filteredValue.setText(notifications.size() + (hasMore ? "+" : ""));
+        } else {
+            int typeTotal = NotificationService.totalCount(query.type());
+            int typeUnread = NotificationService.unreadCount(query.type());
+            int filtered = query.read() == null ? typeTotal : query.read() ? typeTotal - typeUnread : typeUnread;
+            filteredValue.setText(String.valueOf(filtered));
+        }
+    }
+    
+    private VBox createStatCard(String title, Label valueLabel, String icon, String color) {
         VBox card = new VBox(10);
         card.setPrefWidth(280);
         card.setPrefHeight(120);
@@ -121,7 +239,6 @@ public class NotificationCenter extends VBox {
         titleLabel.setFont(Font.font("Arial", 12));
         titleLabel.setTextFill(Color.GRAY);
         
-        Label valueLabel = new Label(value);
         valueLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         valueLabel.setTextFill(Color.web("#2c3e50"));
         
@@ -146,16 +263,14 @@ public class NotificationCenter extends VBox {
         // Tabs and filters
         VBox filtersSection = createFiltersSection();
         
-        // Notifications list
-        notificationsContainer = new VBox(15);
-        ScrollPane scrollPane = new ScrollPane(notificationsContainer);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setPrefHeight(600);
-        scrollPane.setStyle("-fx-background-color: transparent;");
+        // Notifications list; only the visible rows have nodes, and cells are reused while scrolling
+        notificationsList = new ListView<>(notifications);
+        notificationsList.setCellFactory(list -> new NotificationCell());
+        notificationsList.setPrefHeight(600);
+        notificationsList.setFocusTraversable(false);
+        notificationsList.setStyle("-fx-background-color: transparent; -fx-control-inner-background: white; -fx-background-insets: 0; -fx-padding: 0;");
         
-        updateNotificationsList();
-        
-        container.getChildren().addAll(filtersSection, scrollPane);
+        container.getChildren().addAll(filtersSection, notificationsList);
         return container;
     }
     
@@ -164,10 +279,11 @@ public class NotificationCenter extends VBox {
         
         // Tabs
         HBox tabsBox = new HBox(10);
-        Button allTab = createTabButton("All", "all");
-        Button unreadTab = createTabButton("Unread", "unread");
-        Button readTab = createTabButton("Read", "read");
+        allTab = createTabButton("All", "all");
+        unreadTab = createTabButton("Unread", "unread");
+        readTab = createTabButton("Read", "read");
         tabsBox.getChildren().addAll(allTab, unreadTab, readTab);
+        updateTabStyles();
         
         // Search and filter
         HBox searchBox = new HBox(15);
@@ -176,17 +292,30 @@ public class NotificationCenter extends VBox {
         searchField = new TextField();
         searchField.setPromptText("🔍 Search notifications...");
         searchField.setPrefWidth(300);
-        searchField.textProperty().addListener((obs, old, text) -> updateNotificationsList());
+        searchDebounce.setOnFinished(e -> refresh());
+        searchField.textProperty().addListener((obs, old, text) -> searchDebounce.playFromStart());
         
         ComboBox<String> typeFilter = new ComboBox<>();
         typeFilter.getItems().addAll("All Types", "Alert", "Rent", "Permit", "Maintenance", "Tenant", "System");
         typeFilter.setValue("All Types");
         typeFilter.setOnAction(e -> {
             filterType = typeFilter.getValue().equals("All Types") ? "all" : typeFilter.getValue().toLowerCase();
-            updateNotificationsList();
+            refresh();
         });
         
-        searchBox.getChildren().addAll(searchField, typeFilter);
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        
+        // Bulk actions apply to every notification matching the filters, loaded or not
+        Button markFilteredBtn = new Button("✓ Mark Filtered Read");
+        markFilteredBtn.setStyle("-fx-background-color: #e9ecef; -fx-text-fill: #495057; -fx-background-radius: 8; -fx-padding: 8 16; -fx-cursor: hand;");
+        markFilteredBtn.setOnAction(e -> markFilteredAsRead());
+        
+        Button deleteFilteredBtn = new Button("🗑️ Delete Filtered");
+        deleteFilteredBtn.setStyle("-fx-background-color: #ffebee; -fx-text-fill: #d32f2f; -fx-background-radius: 8; -fx-padding: 8 16; -fx-cursor: hand;");
+        deleteFilteredBtn.setOnAction(e -> deleteFiltered());
+        
+        searchBox.getChildren().addAll(searchField, typeFilter, spacer, markFilteredBtn, deleteFilteredBtn);
         
         section.getChildren().addAll(tabsBox, searchBox);
         return section;
@@ -195,211 +324,230 @@ public class NotificationCenter extends VBox {
     private Button createTabButton(String text, String tabValue) {
         Button button = new Button(text);
         button.setPadding(new Insets(10, 20, 10, 20));
-        
-        if (selectedTab.equals(tabValue)) {
-            button.setStyle("-fx-background-color: #2C3E8C; -fx-text-fill: white; -fx-background-radius: 8; -fx-font-weight: bold; -fx-cursor: hand;");
-        } else {
-            button.setStyle("-fx-background-color: #f1f3f4; -fx-text-fill: #666; -fx-background-radius: 8; -fx-cursor: hand;");
-        }
-        
+        button.setUserData(tabValue);
         button.setOnAction(e -> {
             selectedTab = tabValue;
             updateTabStyles();
-            updateNotificationsList();
+            refresh();
         });
-        
         return button;
     }
     
     private void updateTabStyles() {
-        VBox container = (VBox) getChildren().get(2);
-        VBox filtersSection = (VBox) container.getChildren().get(0);
-        HBox newTabsBox = new HBox(10);
-        Button allTab = createTabButton("All", "all");
-        Button unreadTab = createTabButton("Unread", "unread");
-        Button readTab = createTabButton("Read", "read");
-        newTabsBox.getChildren().addAll(allTab, unreadTab, readTab);
-        filtersSection.getChildren().set(0, newTabsBox);
-    }
-    
-    private List<Notification> getFilteredNotifications() {
-        return notifications.stream()
-            .filter(n -> {
-                boolean matchesTab = selectedTab.equals("all") || 
-                    (selectedTab.equals("unread") && !n.isRead) ||
-                    (selectedTab.equals("read") && n.isRead);
-                
-                boolean matchesSearch = searchField == null || searchField.getText().isEmpty() ||
-                    n.title.toLowerCase().contains(searchField.getText().toLowerCase()) ||
-                    n.message.toLowerCase().contains(searchField.getText().toLowerCase());
-                
-                boolean matchesType = filterType.equals("all") || n.type.equals(filterType);
-                
-                return matchesTab && matchesSearch && matchesType;
-            })
-            .collect(Collectors.toList());
-    }
-    
-    private void updateNotificationsList() {
-        notificationsContainer.getChildren().clear();
-        
-        List<Notification> filtered = getFilteredNotifications();
-        
-        if (filtered.isEmpty()) {
-            VBox emptyState = new VBox(15);
-            emptyState.setAlignment(Pos.CENTER);
-            emptyState.setPrefHeight(300);
-            
-            Label emptyIcon = new Label("🔔");
-            emptyIcon.setFont(Font.font(48));
-            
-            Label emptyText = new Label("No notifications found");
-            emptyText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-            
-            Label emptySubtext = new Label("Try adjusting your filters or search terms");
-            emptySubtext.setFont(Font.font("Arial", 14));
-            emptySubtext.setTextFill(Color.GRAY);
-            
-            emptyState.getChildren().addAll(emptyIcon, emptyText, emptySubtext);
-            notificationsContainer.getChildren().add(emptyState);
-        } else {
-            for (Notification notification : filtered) {
-                VBox notificationCard = createNotificationCard(notification);
-                notificationsContainer.getChildren().add(notificationCard);
+        for (Button button : List.of(allTab, unreadTab, readTab)) {
+            if (selectedTab.equals(button.getUserData())) {
+                button.setStyle("-fx-background-color: #2C3E8C; -fx-text-fill: white; -fx-background-radius: 8; -fx-font-weight: bold; -fx-cursor: hand;");
+            } else {
+                button.setStyle("-fx-background-color: #f1f3f4; -fx-text-fill: #666; -fx-background-radius: 8; -fx-cursor: hand;");
             }
         }
     }
     
-    private VBox createNotificationCard(Notification notification) {
-        VBox card = new VBox(15);
-        card.setPadding(new Insets(20));
-        
-        if (!notification.isRead) {
-            card.setStyle("-fx-background-color: #f0f8ff; -fx-background-radius: 12; -fx-border-color: #2C3E8C; -fx-border-width: 1; -fx-border-radius: 12;");
-        } else {
-            card.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 12; -fx-border-color: #e9ecef; -fx-border-width: 1; -fx-border-radius: 12;");
-        }
-        
-        HBox header = new HBox();
-        header.setAlignment(Pos.CENTER_LEFT);
-        
-        Label typeIcon = new Label(getTypeIcon(notification.type));
-        typeIcon.setStyle("-fx-background-color: " + getTypeColor(notification.type) + "; -fx-text-fill: white; -fx-background-radius: 8; -fx-padding: 8; -fx-font-size: 16px;");
-        
-        VBox contentBox = new VBox(8);
-        HBox.setHgrow(contentBox, Priority.ALWAYS);
+    private VBox createEmptyState() {
+        VBox emptyState = new VBox(15);
+        emptyState.setAlignment(Pos.CENTER);
+        emptyState.setPrefHeight(300);
         
-        HBox titleRow = new HBox(10);
-        titleRow.setAlignment(Pos.CENTER_LEFT);
+        Label emptyIcon = new Label("🔔");
+        emptyIcon.setFont(Font.font(48));
         
-        Label titleLabel = new Label(notification.title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        titleLabel.setTextFill(Color.web("#2c3e50"));
+        Label emptyText = new Label("No notifications found");
+        emptyText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         
-        Label typeBadge = new Label(notification.type.toUpperCase());
-        typeBadge.setStyle("-fx-background-color: " + getTypeColor(notification.type) + "; -fx-text-fill: white; -fx-background-radius: 10; -fx-padding: 2 8; -fx-font-size: 10px;");
+        Label emptySubtext = new Label("Try adjusting your filters or search terms");
+        emptySubtext.setFont(Font.font("Arial", 14));
+        emptySubtext.setTextFill(Color.GRAY);
         
-        if (!notification.isRead) {
-            Label unreadDot = new Label("●");
+        emptyState.getChildren().addAll(emptyIcon, emptyText, emptySubtext);
+        return emptyState;
+    }
+    
+    // One card per visible row, built once per cell and refilled for whichever notification it shows
+    private class NotificationCell extends ListCell<Notification> {
+        private final VBox card = new VBox(15);
+        private final Label typeIcon = new Label();
+        private final Label titleLabel = new Label();
+        private final Label typeBadge = new Label();
+        private final Label unreadDot = new Label("●");
+        private final Label messageLabel = new Label();
+        private final Label timeLabel = new Label();
+        private final Button readBtn = new Button();
+        private final Button deleteBtn = new Button("🗑️");
+        
+        NotificationCell() {
+            card.setPadding(new Insets(20));
+            
+            HBox header = new HBox();
+            header.setAlignment(Pos.CENTER_LEFT);
+            
+            VBox contentBox = new VBox(8);
+            HBox.setHgrow(contentBox, Priority.ALWAYS);
+            
+            HBox titleRow = new HBox(10);
+            titleRow.setAlignment(Pos.CENTER_LEFT);
+            
+            titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+            titleLabel.setTextFill(Color.web("#2c3e50"));
+            
             unreadDot.setTextFill(Color.web("#F5C542"));
             unreadDot.setFont(Font.font(12));
+            unreadDot.managedProperty().bind(unreadDot.visibleProperty());
+            
             titleRow.getChildren().addAll(titleLabel, typeBadge, unreadDot);
-        } else {
-            titleRow.getChildren().addAll(titleLabel, typeBadge);
+            
+            messageLabel.setFont(Font.font("Arial", 13));
+            messageLabel.setTextFill(Color.web("#495057"));
+            messageLabel.setWrapText(true);
+            
+            HBox timeBox = new HBox(10);
+            timeBox.setAlignment(Pos.CENTER_LEFT);
+            timeLabel.setFont(Font.font("Arial", 11));
+            timeLabel.setTextFill(Color.GRAY);
+            timeBox.getChildren().add(timeLabel);
+            
+            contentBox.getChildren().addAll(titleRow, messageLabel, timeBox);
+            
+            VBox actionsBox = new VBox(5);
+            readBtn.setStyle("-fx-background-color: #e9ecef; -fx-text-fill: #495057; -fx-background-radius: 6; -fx-padding: 8; -fx-cursor: hand;");
+            readBtn.setOnAction(e -> toggleReadStatus(getItem()));
+            deleteBtn.setStyle("-fx-background-color: #ffebee; -fx-text-fill: #d32f2f; -fx-background-radius: 6; -fx-padding: 8; -fx-cursor: hand;");
+            deleteBtn.setOnAction(e -> deleteNotification(getItem()));
+            actionsBox.getChildren().addAll(readBtn, deleteBtn);
+            
+            header.getChildren().addAll(typeIcon, contentBox, actionsBox);
+            card.getChildren().add(header);
+            
+            setPadding(new Insets(0, 0, 15, 0));
+            setStyle("-fx-background-color: transparent;");
         }
         
-        Label messageLabel = new Label(notification.message);
-        messageLabel.setFont(Font.font("Arial", 13));
-        messageLabel.setTextFill(Color.web("#495057"));
-        messageLabel.setWrapText(true);
-        
-        HBox timeBox = new HBox(10);
-        timeBox.setAlignment(Pos.CENTER_LEFT);
-        Label timeLabel = new Label(notification.timestamp + " • " + notification.date);
-        timeLabel.setFont(Font.font("Arial", 11));
-        timeLabel.setTextFill(Color.GRAY);
-        timeBox.getChildren().add(timeLabel);
-        
-        contentBox.getChildren().addAll(titleRow, messageLabel, timeBox);
-        
-        VBox actionsBox = new VBox(5);
-        
-        Button readBtn = new Button(notification.isRead ? "📧" : "✓");
-        readBtn.setStyle("-fx-background-color: #e9ecef; -fx-text-fill: #495057; -fx-background-radius: 6; -fx-padding: 8; -fx-cursor: hand;");
-        readBtn.setOnAction(e -> toggleReadStatus(notification));
-        
-        Button deleteBtn = new Button("🗑️");
-        deleteBtn.setStyle("-fx-background-color: #ffebee; -fx-text-fill: #d32f2f; -fx-background-radius: 6; -fx-padding: 8; -fx-cursor: hand;");
-        deleteBtn.setOnAction(e -> deleteNotification(notification));
-        
-        actionsBox.getChildren().addAll(readBtn, deleteBtn);
-        
-        header.getChildren().addAll(typeIcon, contentBox, actionsBox);
-        card.getChildren().add(header);
-        
-        return card;
+        @Override
+        protected void updateItem(Notification notification, boolean empty) {
+            super.updateItem(notification, empty);
+            if (empty || notification == null) {
+                setGraphic(null);
+                return;
+            }
+            
+            if (!notification.isRead) {
+                card.setStyle("-fx-background-color: #f0f8ff; -fx-background-radius: 12; -fx-border-color: #2C3E8C; -fx-border-width: 1; -fx-border-radius: 12;");
+            } else {
+                card.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 12; -fx-border-color: #e9ecef; -fx-border-width: 1; -fx-border-radius: 12;");
+            }
+            
+            String color = getTypeColor(notification.type);
+            typeIcon.setText(getTypeIcon(notification.type));
+            typeIcon.setStyle("-fx-background-color: " + color + "; -fx-text-fill: white; -fx-background-radius: 8; -fx-padding: 8; -fx-font-size: 16px;");
+            titleLabel.setText(notification.title);
+            typeBadge.setText(notification.type.toUpperCase());
+            typeBadge.setStyle("-fx-background-color: " + color + "; -fx-text-fill: white; -fx-background-radius: 10; -fx-padding: 2 8; -fx-font-size: 10px;");
+            unreadDot.setVisible(!notification.isRead);
+            messageLabel.setText(notification.message);
+            timeLabel.setText(notification.timestamp + " • " + notification.date);
+            readBtn.setText(notification.isRead ? "📧" : "✓");
+            
+            // Wrap the message to the list's width rather than the cell's preferred width
+            messageLabel.setPrefWidth(Math.max(200, getListView().getWidth() - 160));
+            setGraphic(card);
+            
+            if (getIndex() >= notifications.size() - PREFETCH_ROWS) {
+                loadNextPage();
+            }
+        }
     }
     
     private String getTypeIcon(String type) {
-        switch (type) {
-            case "alert": return "⚠️";
-            case "rent": return "💰";
-            case "permit": return "📋";
-            case "maintenance": return "🔧";
-            case "tenant": return "👥";
-            case "system": return "⚙️";
-            default: return "🔔";
-        }
+        return NotificationService.iconFor(type);
     }
     
     private String getTypeColor(String type) {
-        switch (type) {
-            case "alert": return "#dc3545";
-            case "rent": return "#28a745";
-            case "permit": return "#007bff";
-            case "maintenance": return "#fd7e14";
-            case "tenant": return "#6f42c1";
-            case "system": return "#20c997";
-            default: return "#6c757d";
-        }
+        return NotificationService.colorFor(type);
     }
     
+    // Applied locally right away; the database write runs in the background
     private void toggleReadStatus(Notification notification) {
+        if (notification == null) {
+            return;
+        }
         notification.isRead = !notification.isRead;
-        updateNotificationsList();
-        updateStatsRow();
+        NotificationService.markRead(notification.id, notification.isRead);
+        int index = notifications.indexOf(notification);
+        if (index < 0) {
+            return;
+        }
+        if (query.read() != null && query.read() != notification.isRead) {
+            notifications.remove(index);
+        } else {
+            notifications.set(index, notification);
+        }
     }
     
     private void deleteNotification(Notification notification) {
+        if (notification == null) {
+            return;
+        }
         notifications.remove(notification);
-        updateNotificationsList();
-        updateStatsRow();
+        NotificationService.delete(notification.id);
     }
     
     private void markAllAsRead() {
+        NotificationService.markAllRead();
+        markLoadedAsRead();
+    }
+    
+    private void markFilteredAsRead() {
+        NotificationService.markRead(query, true);
+        markLoadedAsRead();
+    }
+    
+    // Every loaded row matches the current filters, so a bulk update covers all of them. Applied locally:
+    // the UPDATE runs in the background and a reload could still see the rows unread
+    private void markLoadedAsRead() {
+        if (Boolean.FALSE.equals(query.read())) {
+            // Nothing the Unread tab could show is left
+            generation++;
+            hasMore = false;
+            loadingPage = false;
+            notifications.clear();
+            updateStats();
+            return;
+        }
         notifications.forEach(n -> n.isRead = true);
-        updateNotificationsList();
-        updateStatsRow();
+        notificationsList.refresh();
     }
     
-    private void updateStatsRow() {
-        HBox newStatsRow = createStatsRow();
-        getChildren().set(1, newStatsRow);
+    private void deleteFiltered() {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Delete Notifications");
+        alert.setHeaderText("Delete " + filteredValue.getText() + " notifications?");
+        alert.setContentText("Every notification matching the current tab, type and search will be deleted.\n\nThis action cannot be undone.");
+        alert.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                NotificationService.delete(query);
+                generation++;
+                hasMore = false;
+                notifications.clear();
+                updateStats();
+            }
+        });
     }
     
     // Data class
     private static class Notification {
-        String id, type, title, message, timestamp, date;
+        final NotificationService.Notification stored;
+        int id;
+        String type, title, message, timestamp, date;
         boolean isRead;
         
-        Notification(String id, String type, String title, String message, String timestamp, String date, boolean isRead) {
-            this.id = id;
-            this.type = type;
-            this.title = title;
-            this.message = message;
-            this.timestamp = timestamp;
-            this.date = date;
-            this.isRead = isRead;
+        Notification(NotificationService.Notification stored) {
+            this.stored = stored;
+            this.id = stored.id();
+            this.type = stored.type();
+            this.title = stored.title();
+            this.message = stored.message();
+            this.timestamp = NotificationService.timeAgo(stored.createdAt());
+            this.date = stored.createdAt() != null ? stored.createdAt().format(DATE_FORMAT) : "";
+            this.isRead = stored.read();
         }
     }
-}
\ No newline at end of file
+}
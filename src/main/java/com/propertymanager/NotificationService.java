@@ -0,0 +1,551 @@
+package com.propertymanager;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableMap;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Notifications stored in the notifications table. publish() only queues; a writer thread inserts queued events
+// in batches. Statement triggers keep notification_counts (unread and total per type) current and announce each
+// change on the entity_changed channel, so open clients pick up new rows and counts without polling or COUNT(*).
+public class NotificationService {
+
+    public record Notification(int id, String type, String title, String message, LocalDateTime createdAt, boolean read) {}
+
+    // What a list shows: read state (null for both), one type (null for all) and text in the title or message
+    public record Query(Boolean read, String type, String text) {
+        public static final Query ALL = new Query(null, null, null);
+
+        public boolean hasText() {
+            return text != null && !text.isBlank();
+        }
+
+        public boolean matches(Notification n) {
+            if (read != null && n.read() != read) {
+                return false;
+            }
+            if (type != null && !type.equals(n.type())) {
+                return false;
+            }
+            if (hasText()) {
+                String needle = text.trim().toLowerCase();
+                return n.title().toLowerCase().contains(needle) || n.message().toLowerCase().contains(needle);
+            }
+            return true;
+        }
+    }
+
+    public static final String TYPE_ALERT = "alert";
+    public static final String TYPE_RENT = "rent";
+    public static final String TYPE_PERMIT = "permit";
+    public static final String TYPE_MAINTENANCE = "maintenance";
+    public static final String TYPE_TENANT = "tenant";
+    public static final String TYPE_SYSTEM = "system";
+
+    private static final String TABLE = "notifications";
+    private static final int BATCH_SIZE = 100;
+    private static final long BATCH_WAIT_MS = 200;
+    private static final int MAX_ARRIVALS = 200;
+
+    private record Pending(String type, String title, String message) {}
+
+    // Queued by flush() to let the writer finish the batch in hand and exit
+    private static final Pending STOP = new Pending(null, null, null);
+    private static final long SHUTDOWN_WAIT_MS = 5000;
+
+    private static final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+    private static volatile Thread writerThread;
+    private static volatile boolean installed;
+
+    private static final AtomicBoolean syncQueued = new AtomicBoolean();
+    // Highest id already delivered; -1 until the first sync
+    private static volatile int lastSeenId = -1;
+
+    // Updated on the FX thread only
+    private static final ObservableMap<String, Integer> unreadByType = FXCollections.observableHashMap();
+    private static final ObservableMap<String, Integer> totalByType = FXCollections.observableHashMap();
+    private static final ReadOnlyIntegerWrapper unreadCount = new ReadOnlyIntegerWrapper();
+    private static final List<Consumer<List<Notification>>> listeners = new CopyOnWriteArrayList<>();
+
+    static {
+        DatabaseManager.addChangeListener((table, id) -> {
+            if (table.equals(TABLE) || table.equals(DatabaseManager.ALL_TABLES)) {
+                requestSync();
+            }
+        });
+    }
+
+    private static final String COUNTS_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS notification_counts (
+            notification_type VARCHAR(50) PRIMARY KEY,
+            unread INTEGER NOT NULL DEFAULT 0,
+            total INTEGER NOT NULL DEFAULT 0
+        )
+    """;
+
+    // Statement-level: one upsert per type touched and one NOTIFY, however many rows a statement changes
+    private static final String COUNTS_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION notification_counts_change() RETURNS trigger AS $$
+        BEGIN
+            IF TG_OP <> 'DELETE' THEN
+                INSERT INTO notification_counts AS c (notification_type, unread, total)
+                SELECT notification_type, COUNT(*) FILTER (WHERE is_read IS NOT TRUE), COUNT(*)
+                FROM new_rows GROUP BY notification_type
+                ON CONFLICT (notification_type) DO UPDATE
+                SET unread = c.unread + EXCLUDED.unread, total = c.total + EXCLUDED.total;
+            END IF;
+            IF TG_OP <> 'INSERT' THEN
+                INSERT INTO notification_counts AS c (notification_type, unread, total)
+                SELECT notification_type, -COUNT(*) FILTER (WHERE is_read IS NOT TRUE), -COUNT(*)
+                FROM old_rows GROUP BY notification_type
+                ON CONFLICT (notification_type) DO UPDATE
+                SET unread = c.unread + EXCLUDED.unread, total = c.total + EXCLUDED.total;
+            END IF;
+            PERFORM pg_notify('entity_changed', 'notifications:');
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    private static final String[][] COUNT_TRIGGERS = {
+        {"notifications_count_insert", "INSERT", "NEW TABLE AS new_rows"},
+        {"notifications_count_update", "UPDATE", "OLD TABLE AS old_rows NEW TABLE AS new_rows"},
+        {"notifications_count_delete", "DELETE", "OLD TABLE AS old_rows"},
+    };
+
+    // Pages are read newest first by (created_at, id); the partial index serves the unread tab
+    private static final String[] INDEXES_SQL = {
+        "CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications(created_at DESC, id DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_notifications_type_created_at ON notifications(notification_type, created_at DESC, id DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications(created_at DESC, id DESC) WHERE is_read IS NOT TRUE",
+    };
+
+    private static final String REBUILD_COUNTS_SQL = """
+        INSERT INTO notification_counts (notification_type, unread, total)
+        SELECT notification_type, COUNT(*) FILTER (WHERE is_read IS NOT TRUE), COUNT(*)
+        FROM notifications GROUP BY notification_type
+    """;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (notification_type, title, message) VALUES (?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "SELECT id, notification_type, title, message, created_at, is_read FROM notifications ";
+
+    // Installs the counter table and its triggers and recounts it, in one transaction so no write goes uncounted;
+    // run once at startup, off the FX thread
+    public static void ensureInstalled() {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(COUNTS_TABLE_SQL);
+                // Keyset paging needs a created_at on every row; older databases allowed NULL
+                boolean nullable;
+                try (ResultSet rs = stmt.executeQuery("SELECT NOT attnotnull FROM pg_attribute"
+                        + " WHERE attrelid = 'notifications'::regclass AND attname = 'created_at'")) {
+                    nullable = rs.next() && rs.getBoolean(1);
+                }
+                if (nullable) {
+                    stmt.execute("UPDATE notifications SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL");
+                    stmt.execute("ALTER TABLE notifications ALTER COLUMN created_at SET NOT NULL");
+                }
+                for (String index : INDEXES_SQL) {
+                    stmt.execute(index);
+                }
+                stmt.execute(COUNTS_FUNCTION_SQL);
+                // DROP TRIGGER locks notifications against writes until commit, so the recount below is exact
+                for (String[] trigger : COUNT_TRIGGERS) {
+                    stmt.execute("DROP TRIGGER IF EXISTS " + trigger[0] + " ON notifications");
+                    stmt.execute("CREATE TRIGGER " + trigger[0] + " AFTER " + trigger[1] + " ON notifications REFERENCING "
+                            + trigger[2] + " FOR EACH STATEMENT EXECUTE FUNCTION notification_counts_change()");
+                }
+                stmt.execute("DELETE FROM notification_counts");
+                stmt.execute(REBUILD_COUNTS_SQL);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            installed = true;
+        } catch (SQLException e) {
+            System.err.println("❌ Error preparing notification counters: " + e.getMessage());
+        }
+        requestSync();
+    }
+
+    // Recomputes the counters from the notifications table, for loads that bypass the triggers such as a restore
+    public static void rebuildCounts() {
+        if (!installed) {
+            return;
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM notification_counts");
+                stmt.execute(REBUILD_COUNTS_SQL);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error rebuilding notification counters: " + e.getMessage());
+        }
+        requestSync();
+    }
+
+    // Queues an event; never blocks the caller on the database
+    public static void publish(String type, String title, String message) {
+        pending.add(new Pending(type, title, message));
+        startWriter();
+    }
+
+    private static synchronized void startWriter() {
+        if (writerThread != null) {
+            return;
+        }
+        Thread thread = new Thread(NotificationService::runWriter, "notification-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    private static void runWriter() {
+        List<Pending> batch = new ArrayList<>(BATCH_SIZE);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(pending.take());
+                // Events published together (a bulk import, a restore) go out as one insert
+                long deadline = System.currentTimeMillis() + BATCH_WAIT_MS;
+                while (batch.size() < BATCH_SIZE && batch.get(batch.size() - 1) != STOP) {
+                    pending.drainTo(batch, BATCH_SIZE - batch.size());
+                    long wait = deadline - System.currentTimeMillis();
+                    if (batch.size() >= BATCH_SIZE || wait <= 0) {
+                        break;
+                    }
+                    Pending next = pending.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            // The batch in hand is written before exiting, while the pool is still open
+            stopping |= batch.removeIf(event -> event == STOP);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Stops the writer once its current batch is written, then writes whatever is still queued; called on shutdown
+    public static void flush() {
+        Thread thread;
+        synchronized (NotificationService.class) {
+            thread = writerThread;
+            writerThread = null;
+        }
+        if (thread != null) {
+            pending.add(STOP);
+            try {
+                thread.join(SHUTDOWN_WAIT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Pending> batch = new ArrayList<>();
+        pending.drainTo(batch);
+        batch.removeIf(event -> event == STOP);
+        for (int from = 0; from < batch.size(); from += BATCH_SIZE) {
+            write(batch.subList(from, Math.min(batch.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private static void write(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            for (Pending event : batch) {
+                pstmt.setString(1, event.type());
+                pstmt.setString(2, event.title());
+                pstmt.setString(3, event.message());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            System.err.println("❌ Error writing " + batch.size() + " notifications: " + e.getMessage());
+        }
+    }
+
+    public static void markRead(int id, boolean read) {
+        execute("UPDATE notifications SET is_read = ?, read_at = CASE WHEN ? THEN CURRENT_TIMESTAMP END "
+                + "WHERE id = ? AND is_read IS DISTINCT FROM ?", List.of(read, read, id, read));
+    }
+
+    public static void markAllRead() {
+        markRead(Query.ALL, true);
+    }
+
+    // One UPDATE for every notification the query matches, loaded or not
+    public static void markRead(Query query, boolean read) {
+        List<Object> params = new ArrayList<>(List.of(read, read));
+        String where = where(query, params);
+        params.add(read);
+        execute("UPDATE notifications SET is_read = ?, read_at = CASE WHEN ? THEN CURRENT_TIMESTAMP END "
+                + where + " AND is_read IS DISTINCT FROM ?", params);
+    }
+
+    public static void delete(int id) {
+        execute("DELETE FROM notifications WHERE id = ?", List.of(id));
+    }
+
+    public static void delete(Query query) {
+        List<Object> params = new ArrayList<>();
+        String where = where(query, params);
+        execute("DELETE FROM notifications " + where, params);
+    }
+
+    // "WHERE ..." for the query, always non-empty so callers can append AND clauses
+    private static String where(Query query, List<Object> params) {
+        StringBuilder where = new StringBuilder("WHERE true");
+        if (query.read() != null) {
+            where.append(query.read() ? " AND is_read" : " AND is_read IS NOT TRUE");
+        }
+        if (query.type() != null) {
+            where.append(" AND notification_type = ?");
+            params.add(query.type());
+        }
+        if (query.hasText()) {
+            String pattern = "%" + query.text().trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            where.append(" AND (title ILIKE ? OR message ILIKE ?)");
+            params.add(pattern);
+            params.add(pattern);
+        }
+        return where.toString();
+    }
+
+    private static void execute(String sql, List<Object> params) {
+        AsyncDAO.run(() -> {
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                System.err.println("❌ Error updating notifications: " + e.getMessage());
+            }
+        });
+    }
+
+    // Newest first
+    public static List<Notification> getRecent(int limit) {
+        return getPage(Query.ALL, null, limit);
+    }
+
+    // The next page after the given row (null for the first page), newest first. Keyset paging on
+    // (created_at, id) makes page 1,000 as cheap as page 1; no OFFSET, no total count.
+    public static List<Notification> getPage(Query query, Notification after, int limit) {
+        List<Notification> notifications = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(where(query, params));
+        if (after != null && after.createdAt() != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            params.add(Timestamp.valueOf(after.createdAt()));
+            params.add(after.id());
+        } else if (after != null) {
+            sql.append(" AND id < ?");
+            params.add(after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limit);
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(read(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading notifications: " + e.getMessage());
+        }
+        return notifications;
+    }
+
+    private static Notification read(ResultSet rs) throws SQLException {
+        Timestamp created = rs.getTimestamp("created_at");
+        return new Notification(
+            rs.getInt("id"),
+            rs.getString("notification_type"),
+            rs.getString("title"),
+            rs.getString("message"),
+            created != null ? created.toLocalDateTime() : null,
+            rs.getBoolean("is_read")
+        );
+    }
+
+    // Coalesces bursts of change events into one sync in flight at a time
+    private static void requestSync() {
+        if (syncQueued.compareAndSet(false, true)) {
+            AsyncDAO.run(() -> {
+                syncQueued.set(false);
+                sync();
+            });
+        }
+    }
+
+    // Reads the per-type counters and any rows newer than the last delivered one
+    private static void sync() {
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Integer> totals = new HashMap<>();
+        List<Notification> arrivals = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (installed) {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT notification_type, unread, total FROM notification_counts WHERE total > 0")) {
+                    while (rs.next()) {
+                        counts.put(rs.getString(1), rs.getInt(2));
+                        totals.put(rs.getString(1), rs.getInt(3));
+                    }
+                }
+            }
+            if (lastSeenId < 0) {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM notifications")) {
+                    lastSeenId = rs.next() ? rs.getInt(1) : 0;
+                }
+            } else {
+                try (PreparedStatement pstmt = conn.prepareStatement(SELECT_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?")) {
+                    pstmt.setInt(1, lastSeenId);
+                    pstmt.setInt(2, MAX_ARRIVALS);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            arrivals.add(read(rs));
+                        }
+                    }
+                }
+                if (!arrivals.isEmpty()) {
+                    lastSeenId = arrivals.get(arrivals.size() - 1).id();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error syncing notifications: " + e.getMessage());
+            return;
+        }
+
+        Platform.runLater(() -> {
+            if (installed) {
+                unreadByType.keySet().retainAll(counts.keySet());
+                unreadByType.putAll(counts);
+                totalByType.keySet().retainAll(totals.keySet());
+                totalByType.putAll(totals);
+                unreadCount.set(counts.values().stream().mapToInt(Integer::intValue).sum());
+            }
+            for (Consumer<List<Notification>> listener : listeners) {
+                listener.accept(arrivals);
+            }
+        });
+    }
+
+    // Called on the FX thread after every change to the notifications table, with the rows added since the last call
+    public static void addListener(Consumer<List<Notification>> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<List<Notification>> listener) {
+        listeners.remove(listener);
+    }
+
+    public static ReadOnlyIntegerProperty unreadCountProperty() {
+        return unreadCount.getReadOnlyProperty();
+    }
+
+    public static ObservableMap<String, Integer> getUnreadByType() {
+        return FXCollections.unmodifiableObservableMap(unreadByType);
+    }
+
+    // From the counters, for a type or all types (null); FX thread only
+    public static int unreadCount(String type) {
+        return type == null ? unreadCount.get() : unreadByType.getOrDefault(type, 0);
+    }
+
+    public static int totalCount(String type) {
+        return type == null
+            ? totalByType.values().stream().mapToInt(Integer::intValue).sum()
+            : totalByType.getOrDefault(type, 0);
+    }
+
+    public static String iconFor(String type) {
+        return switch (type) {
+            case TYPE_ALERT -> "⚠️";
+            case TYPE_RENT -> "💰";
+            case TYPE_PERMIT -> "📋";
+            case TYPE_MAINTENANCE -> "🔧";
+            case TYPE_TENANT -> "👥";
+            case TYPE_SYSTEM -> "⚙️";
+            default -> "🔔";
+        };
+    }
+
+    public static String colorFor(String type) {
+        return switch (type) {
+            case TYPE_ALERT -> "#dc3545";
+            case TYPE_RENT -> "#28a745";
+            case TYPE_PERMIT -> "#007bff";
+            case TYPE_MAINTENANCE -> "#fd7e14";
+            case TYPE_TENANT -> "#6f42c1";
+            case TYPE_SYSTEM -> "#20c997";
+            default -> "#6c757d";
+        };
+    }
+
+    // "just now", "5m ago", "3h ago", "2d ago"
+    public static String timeAgo(LocalDateTime time) {
+        if (time == null) {
+            return "";
+        }
+        long minutes = Duration.between(time, LocalDateTime.now()).toMinutes();
+        if (minutes < 1) {
+            return "just now";
+        }
+        if (minutes < 60) {
+            return minutes + "m ago";
+        }
+        if (minutes < 24 * 60) {
+            return minutes / 60 + "h ago";
+        }
+        return minutes / (24 * 60) + "d ago";
+    }
+}
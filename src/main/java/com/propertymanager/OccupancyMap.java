@@ -0,0 +1,216 @@
+package com.propertymanager;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Floor-by-unit heat map of a building drawn on one Canvas: a row per floor, top floor first, a square per apartment.
+// Apartments are grouped by floor once; hover and click are resolved from the mouse position, not per-unit nodes.
+public class OccupancyMap extends Region {
+
+    private static final double LABEL_WIDTH = 60;
+    private static final double STATS_WIDTH = 60;
+    private static final double ROW_HEIGHT = 18;
+    private static final double ROW_GAP = 4;
+    private static final double MAX_UNIT_WIDTH = 18;
+    private static final double MIN_UNIT_WIDTH = 3;
+    private static final double UNIT_GAP = 2;
+
+    private static final Color SOLD = Color.web("#4FD1C5");
+    private static final Color AVAILABLE = Color.web("#F5C542");
+    private static final Color RESERVED = Color.web("#2C3E8C");
+    private static final Color OTHER = Color.web("#CBD5E0");
+    private static final Color TEXT = Color.web("#2c3e50");
+
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+    private final Consumer<Apartment> onSelect;
+
+    // rows[0] is the top floor
+    private final int topFloor;
+    private final List<List<Apartment>> rows = new ArrayList<>();
+    private final int[] soldByRow;
+    private final int widestRow;
+
+    private Apartment hovered;
+    private Apartment selected;
+
+    public OccupancyMap(List<Apartment> apartments, int floors, Consumer<Apartment> onSelect) {
+        this.onSelect = onSelect;
+
+        int low = 1;
+        int high = Math.max(1, floors);
+        for (Apartment apt : apartments) {
+            low = Math.min(low, apt.floor);
+            high = Math.max(high, apt.floor);
+        }
+        topFloor = high;
+        for (int floor = high; floor >= low; floor--) {
+            rows.add(new ArrayList<>());
+        }
+
+        // One pass: each apartment goes straight to its floor's row
+        soldByRow = new int[rows.size()];
+        for (Apartment apt : apartments) {
+            int row = topFloor - apt.floor;
+            rows.get(row).add(apt);
+            if ("Sold".equalsIgnoreCase(apt.status)) {
+                soldByRow[row]++;
+            }
+        }
+        int widest = 0;
+        for (List<Apartment> row : rows) {
+            widest = Math.max(widest, row.size());
+        }
+        widestRow = widest;
+
+        getChildren().add(canvas);
+        canvas.setOnMouseMoved(this::onMouseMoved);
+        canvas.setOnMouseExited(e -> setHovered(null));
+        canvas.setOnMouseClicked(e -> {
+            Apartment apt = unitAt(e.getX(), e.getY());
+            if (apt != null) {
+                selected = apt;
+                draw();
+                if (this.onSelect != null) {
+                    this.onSelect.accept(apt);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return rows.size() * (ROW_HEIGHT + ROW_GAP);
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return LABEL_WIDTH + STATS_WIDTH + widestRow * (MAX_UNIT_WIDTH + UNIT_GAP);
+    }
+
+    @Override
+    protected double computeMinWidth(double height) {
+        return LABEL_WIDTH + STATS_WIDTH + 40;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = Math.floor(getWidth());
+        double height = computePrefHeight(width);
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            draw();
+        }
+    }
+
+    // Units shrink so the widest floor always fits; wider buildings get thinner squares, never extra rows
+    private double unitStep() {
+        double available = canvas.getWidth() - LABEL_WIDTH - STATS_WIDTH;
+        if (widestRow == 0 || available <= 0) {
+            return MAX_UNIT_WIDTH + UNIT_GAP;
+        }
+        return Math.max(MIN_UNIT_WIDTH + UNIT_GAP, Math.min(MAX_UNIT_WIDTH + UNIT_GAP, available / widestRow));
+    }
+
+    private void draw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        g.setTextBaseline(VPos.CENTER);
+
+        double step = unitStep();
+        double unitWidth = Math.max(1, step - UNIT_GAP);
+        Font labelFont = Font.font("Arial", FontWeight.BOLD, 11);
+        Font statsFont = Font.font("Arial", 10);
+
+        for (int row = 0; row < rows.size(); row++) {
+            double y = row * (ROW_HEIGHT + ROW_GAP);
+            double middle = y + ROW_HEIGHT / 2;
+            List<Apartment> units = rows.get(row);
+
+            g.setFill(TEXT);
+            g.setFont(labelFont);
+            g.setTextAlign(TextAlignment.LEFT);
+            g.fillText("Floor " + (topFloor - row), 0, middle);
+
+            for (int i = 0; i < units.size(); i++) {
+                Apartment apt = units.get(i);
+                double x = LABEL_WIDTH + i * step;
+                g.setFill(colorFor(apt.status));
+                g.fillRect(x, y, unitWidth, ROW_HEIGHT);
+                if (apt == hovered || apt == selected) {
+                    g.setStroke(apt == selected ? TEXT : Color.WHITE);
+                    g.setLineWidth(2);
+                    g.strokeRect(x + 1, y + 1, Math.max(1, unitWidth - 2), ROW_HEIGHT - 2);
+                }
+            }
+
+            g.setFill(Color.GRAY);
+            g.setFont(statsFont);
+            g.setTextAlign(TextAlignment.RIGHT);
+            g.fillText(soldByRow[row] + "/" + units.size(), canvas.getWidth(), middle);
+        }
+    }
+
+    private Apartment unitAt(double x, double y) {
+        int row = (int) (y / (ROW_HEIGHT + ROW_GAP));
+        if (y < 0 || row >= rows.size() || y - row * (ROW_HEIGHT + ROW_GAP) > ROW_HEIGHT || x < LABEL_WIDTH) {
+            return null;
+        }
+        List<Apartment> units = rows.get(row);
+        int index = (int) ((x - LABEL_WIDTH) / unitStep());
+        return index < units.size() ? units.get(index) : null;
+    }
+
+    private void onMouseMoved(MouseEvent e) {
+        setHovered(unitAt(e.getX(), e.getY()));
+    }
+
+    // Repaints only when the pointer moves onto a different unit
+    private void setHovered(Apartment apt) {
+        if (apt == hovered) {
+            return;
+        }
+        hovered = apt;
+        if (apt != null) {
+            tooltip.setText(describe(apt));
+            Tooltip.install(canvas, tooltip);
+        } else {
+            Tooltip.uninstall(canvas, tooltip);
+        }
+        draw();
+    }
+
+    public static String describe(Apartment apt) {
+        String text = "Apt " + apt.number + " · Floor " + apt.floor + " · " + apt.size + " · " + apt.status;
+        if (apt.buyer != null && !apt.buyer.isEmpty() && !"-".equals(apt.buyer)) {
+            text += " · " + apt.buyer;
+        }
+        return text;
+    }
+
+    private static Color colorFor(String status) {
+        if ("Sold".equalsIgnoreCase(status)) {
+            return SOLD;
+        }
+        if ("Available".equalsIgnoreCase(status)) {
+            return AVAILABLE;
+        }
+        if ("Reserved".equalsIgnoreCase(status)) {
+            return RESERVED;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,155 @@
+package com.propertymanager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Marks buyers overdue once their next_due_date passes with money still owed, and announces each one.
+// Every run checks all past due dates, so dates entered late and buyers reset from 'overdue' are caught too;
+// a partial index on open, not-yet-overdue balances keeps that cheap, and one statement updates them all.
+public class OverdueEngine {
+
+    public record OverdueBuyer(int id, String name, double remaining, LocalDate dueDate) {}
+
+    private static final long CHECK_EVERY_MINUTES = 60;
+    // Beyond this many, one summary notification stands in for the rest
+    private static final int MAX_NOTIFICATIONS = 25;
+
+    private static ScheduledExecutorService executor;
+
+    private static final String INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_buyers_open_due_date ON buyers(next_due_date) " +
+        "WHERE remaining_amount > 0 AND payment_status IS DISTINCT FROM 'overdue'";
+
+    // Superseded by idx_buyers_open_due_date
+    private static final String DROP_OLD_INDEX_SQL = "DROP INDEX IF EXISTS idx_buyers_next_due_date";
+
+    // One engine at a time across every running client
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('overdue_engine'))";
+
+    // The remaining_amount and payment_status conditions match the partial index
+    private static final String MARK_OVERDUE_SQL = """
+        UPDATE buyers
+        SET payment_status = 'overdue', updated_at = CURRENT_TIMESTAMP
+        WHERE remaining_amount > 0
+          AND payment_status IS DISTINCT FROM 'overdue'
+          AND next_due_date < CURRENT_DATE
+        RETURNING id, name, remaining_amount, next_due_date
+    """;
+
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-engine");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.submit(OverdueEngine::ensureIndex);
+        executor.scheduleWithFixedDelay(OverdueEngine::runSafely, 0, CHECK_EVERY_MINUTES, TimeUnit.MINUTES);
+        System.out.println("⏰ Overdue engine started");
+    }
+
+    public static synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static void ensureIndex() {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(INDEX_SQL);
+            stmt.execute(DROP_OLD_INDEX_SQL);
+        } catch (SQLException e) {
+            System.err.println("❌ Error creating overdue index: " + e.getMessage());
+        }
+    }
+
+    private static void runSafely() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Overdue check failed: " + e.getMessage());
+        }
+    }
+
+    // Marks the buyers whose due date has passed and who are not overdue yet; returns them, oldest due date first
+    public static List<OverdueBuyer> run() {
+        List<OverdueBuyer> overdue = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(LOCK_SQL)) {
+                    // Another client is running the same check right now
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        conn.rollback();
+                        return overdue;
+                    }
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(MARK_OVERDUE_SQL);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        overdue.add(new OverdueBuyer(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            rs.getDouble("remaining_amount"),
+                            rs.getDate("next_due_date").toLocalDate()
+                        ));
+                    }
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error checking overdue payments: " + e.getMessage());
+            return new ArrayList<>();
+        }
+
+        overdue.sort(Comparator.comparing(OverdueBuyer::dueDate));
+        if (!overdue.isEmpty()) {
+            System.out.println("⏰ " + overdue.size() + " buyers became overdue");
+            announce(overdue);
+        }
+        return overdue;
+    }
+
+    private static void announce(List<OverdueBuyer> overdue) {
+        int shown = Math.min(overdue.size(), MAX_NOTIFICATIONS);
+        for (OverdueBuyer buyer : overdue.subList(0, shown)) {
+            NotificationService.publish(NotificationService.TYPE_RENT, "Payment Overdue",
+                    String.format("%s has an overdue payment of %,.0f MAD (due %s).", buyer.name(), buyer.remaining(), buyer.dueDate()));
+        }
+        if (overdue.size() > shown) {
+            double rest = overdue.subList(shown, overdue.size()).stream().mapToDouble(OverdueBuyer::remaining).sum();
+            NotificationService.publish(NotificationService.TYPE_RENT, "Payments Overdue",
+                    String.format("%d more buyers became overdue, owing %,.0f MAD in total.", overdue.size() - shown, rest));
+        }
+    }
+
+    // Checks again right away instead of waiting for the next run, e.g. after a restore
+    public static synchronized void rescan() {
+        if (executor != null) {
+            executor.submit(OverdueEngine::runSafely);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.propertymanager;
+
+// Callbacks for pages kept alive by PageRegistry between visits
+public interface PageLifecycle {
+
+    // Called each time the page becomes the visible page
+    default void onShow() {}
+
+    // Called when another page replaces it; the page stays cached
+    default void onHide() {}
+
+    // Reloads the page's data in the background without resetting its view state
+    default void refresh() {}
+
+    // Called once when PageRegistry drops the page; stops anything still running on its behalf
+    default void dispose() {}
+}
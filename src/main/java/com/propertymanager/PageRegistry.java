@@ -0,0 +1,101 @@
+package com.propertymanager;
+
+import javafx.scene.Node;
+import javafx.scene.control.ScrollPane;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Keeps the most recently visited pages alive so switching back to one reuses its scene graph,
+// scroll position and filters instead of rebuilding it and re-running its queries
+public class PageRegistry {
+
+    private static class CachedPage {
+        final Node page;
+        final ScrollPane view;
+        long loadedAt;
+
+        CachedPage(Node page, ScrollPane view) {
+            this.page = page;
+            this.view = view;
+            this.loadedAt = System.currentTimeMillis();
+        }
+    }
+
+    private final Function<String, Node> pageFactory;
+    private final Function<Node, ScrollPane> viewFactory;
+    private final Consumer<ScrollPane> display;
+    private final long staleAfterMillis;
+    private final Map<String, CachedPage> pages;
+    private CachedPage current;
+
+    public PageRegistry(int capacity, Duration staleAfter, Function<String, Node> pageFactory,
+                        Function<Node, ScrollPane> viewFactory, Consumer<ScrollPane> display) {
+        this.pageFactory = pageFactory;
+        this.viewFactory = viewFactory;
+        this.display = display;
+        this.staleAfterMillis = staleAfter.toMillis();
+
+        // Access-ordered map: the eldest entry is the least recently shown page
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPage> eldest) {
+                if (size() > capacity && eldest.getValue() != current) {
+                    System.out.println("🗂️ Evicting cached page: " + eldest.getKey());
+                    // Only the current page is showing, so the evicted one already had onHide
+                    if (eldest.getValue().page instanceof PageLifecycle lifecycle) {
+                        lifecycle.dispose();
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public void show(String pageName) {
+        CachedPage entry = pages.get(pageName);
+        boolean cached = entry != null;
+
+        if (!cached) {
+            Node page = pageFactory.apply(pageName);
+            entry = new CachedPage(page, viewFactory.apply(page));
+            pages.put(pageName, entry);
+        }
+
+        if (entry == current) {
+            return;
+        }
+
+        if (current != null && current.page instanceof PageLifecycle lifecycle) {
+            lifecycle.onHide();
+        }
+        current = entry;
+        display.accept(entry.view);
+
+        if (entry.page instanceof PageLifecycle lifecycle) {
+            lifecycle.onShow();
+
+            // Refresh in the background if the data is old, or if the first load was dropped when the page was hidden
+            long now = System.currentTimeMillis();
+            boolean interrupted = AsyncDAO.consumeCancelledLoad(entry.page);
+            if (cached && (interrupted || now - entry.loadedAt > staleAfterMillis)) {
+                entry.loadedAt = now;
+                lifecycle.refresh();
+            }
+        }
+    }
+
+    public List<ScrollPane> getCachedViews() {
+        List<ScrollPane> views = new ArrayList<>();
+        for (CachedPage entry : pages.values()) {
+            views.add(entry.view);
+        }
+        return views;
+    }
+}
@@ -0,0 +1,385 @@
+package com.propertymanager;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Treats the payments table as the ledger behind the paid/remaining totals kept on buyers and property_purchases.
+// New payments move those totals incrementally in the same transaction as the insert; reconcile() recomputes them
+// from payments in buyer id ranges, several ranges at a time, and reports (and optionally repairs) every drift.
+public class PaymentLedger {
+
+    public record Discrepancy(String kind, int id, String name, double recordedPaid, double ledgerPaid,
+                              double recordedRemaining, double ledgerRemaining) {
+        public double drift() {
+            return ledgerPaid - recordedPaid;
+        }
+    }
+
+    // batches counts the buyer ranges that completed; failedBatches were rolled back and left unchecked
+    public record Report(int buyersChecked, int batches, int failedBatches, int buyerDiscrepancies, int purchaseDiscrepancies,
+                         double totalDrift, List<Discrepancy> samples, boolean repaired, long elapsedMillis) {
+        public boolean isComplete() {
+            return failedBatches == 0;
+        }
+
+        public boolean isClean() {
+            return isComplete() && buyerDiscrepancies == 0 && purchaseDiscrepancies == 0;
+        }
+    }
+
+    public static final String KIND_BUYER = "buyer";
+    public static final String KIND_PURCHASE = "purchase";
+
+    // Buyer ids per batch; each batch is a handful of range scans and one transaction
+    private static final int BATCH_BUYERS = 5000;
+    // Leaves connections in the pool for the UI while a reconciliation runs
+    private static final int MAX_PARALLEL_BATCHES = 4;
+    private static final int RESERVED_CONNECTIONS = 2;
+    private static final int MAX_SAMPLES = 50;
+
+    // Lets the per-purchase sums walk payments by purchase without touching the heap
+    private static final String INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_payments_purchase_id ON payments(purchase_id) INCLUDE (amount)";
+
+    private static final String RANGE_SQL = "SELECT MIN(id), MAX(id), COUNT(*) FROM buyers";
+
+    // Every writer locks the buyer row first, so a repair and a payment for the same buyer never interleave
+    private static final String LOCK_BUYERS_SQL =
+        "SELECT COUNT(*) FROM (SELECT 1 FROM buyers WHERE id >= ? AND id < ? ORDER BY id FOR UPDATE) locked";
+
+    private static final String PURCHASE_DRIFT_SQL = """
+        WITH ledger AS (
+            SELECT pp.id, pp.contract_number AS name,
+                   COALESCE(pp.paid_amount, 0) AS recorded_paid,
+                   pp.purchase_amount - COALESCE(pp.paid_amount, 0) AS recorded_remaining,
+                   COALESCE(paid.total, 0) AS paid,
+                   pp.purchase_amount - COALESCE(paid.total, 0) AS remaining
+            FROM property_purchases pp
+            LEFT JOIN (
+                SELECT pay.purchase_id, SUM(pay.amount) AS total
+                FROM payments pay
+                JOIN property_purchases owner ON owner.id = pay.purchase_id
+                WHERE owner.buyer_id >= ? AND owner.buyer_id < ?
+                GROUP BY pay.purchase_id
+            ) paid ON paid.purchase_id = pp.id
+            WHERE pp.buyer_id >= ? AND pp.buyer_id < ?
+        ), drift AS (
+            SELECT * FROM ledger WHERE recorded_paid <> paid
+        )
+    """;
+
+    private static final String CHECK_PURCHASES_SQL = PURCHASE_DRIFT_SQL + """
+        SELECT id, name, recorded_paid, paid, recorded_remaining, remaining FROM drift
+    """;
+
+    private static final String REPAIR_PURCHASES_SQL = PURCHASE_DRIFT_SQL + """
+        UPDATE property_purchases pp
+        SET paid_amount = d.paid,
+            payment_status = CASE WHEN d.remaining <= 0 THEN 'paid' WHEN d.paid > 0 THEN 'partial' ELSE 'pending' END
+        FROM drift d
+        WHERE pp.id = d.id
+        RETURNING d.id, d.name, d.recorded_paid, d.paid, d.recorded_remaining, d.remaining
+    """;
+
+    // Buyers without a purchase amount have no remaining balance to derive, so only their paid total is checked
+    private static final String BUYER_DRIFT_SQL = """
+        WITH ledger AS (
+            SELECT b.id, b.name,
+                   COALESCE(b.paid_amount, 0) AS recorded_paid,
+                   b.remaining_amount AS recorded_remaining,
+                   COALESCE(paid.total, 0) AS paid,
+                   CASE WHEN b.purchase_amount IS NULL THEN b.remaining_amount
+                        ELSE b.purchase_amount - COALESCE(paid.total, 0) END AS remaining,
+                   paid.last_date
+            FROM buyers b
+            LEFT JOIN (
+                SELECT buyer_id, SUM(amount) AS total, MAX(payment_date) AS last_date
+                FROM payments
+                WHERE buyer_id >= ? AND buyer_id < ?
+                GROUP BY buyer_id
+            ) paid ON paid.buyer_id = b.id
+            WHERE b.id >= ? AND b.id < ?
+        ), drift AS (
+            SELECT * FROM ledger WHERE recorded_paid <> paid OR recorded_remaining IS DISTINCT FROM remaining
+        )
+    """;
+
+    private static final String CHECK_BUYERS_SQL = BUYER_DRIFT_SQL + """
+        SELECT id, name, recorded_paid, paid, recorded_remaining, remaining FROM drift
+    """;
+
+    // A buyer still owing past the due date stays overdue, matching what OverdueEngine would set
+    private static final String REPAIR_BUYERS_SQL = BUYER_DRIFT_SQL + """
+        UPDATE buyers b
+        SET paid_amount = d.paid,
+            remaining_amount = d.remaining,
+            payment_status = CASE WHEN d.remaining <= 0 THEN 'paid'
+                                  WHEN b.next_due_date < CURRENT_DATE THEN 'overdue'
+                                  WHEN d.paid > 0 THEN 'partial'
+                                  ELSE 'pending' END,
+            last_payment_date = COALESCE(d.last_date, b.last_payment_date),
+            updated_at = CURRENT_TIMESTAMP
+        FROM drift d
+        WHERE b.id = d.id
+        RETURNING d.id, d.name, d.recorded_paid, d.paid, d.recorded_remaining, d.remaining
+    """;
+
+    private static final String APPLY_TO_BUYER_SQL = """
+        WITH input AS (SELECT ?::numeric AS amount, ?::date AS paid_on)
+        UPDATE buyers b
+        SET paid_amount = COALESCE(b.paid_amount, 0) + i.amount,
+            remaining_amount = COALESCE(b.remaining_amount, b.purchase_amount - COALESCE(b.paid_amount, 0)) - i.amount,
+            payment_status = CASE WHEN COALESCE(b.remaining_amount, b.purchase_amount - COALESCE(b.paid_amount, 0)) - i.amount <= 0 THEN 'paid'
+                                  WHEN b.next_due_date < CURRENT_DATE THEN 'overdue'
+                                  ELSE 'partial' END,
+            last_payment_date = GREATEST(b.last_payment_date, i.paid_on),
+            updated_at = CURRENT_TIMESTAMP
+        FROM input i, property_purchases pp
+        WHERE pp.id = ? AND b.id = pp.buyer_id
+        RETURNING b.id, b.name
+    """;
+
+    private static final String APPLY_TO_PURCHASE_SQL = """
+        WITH input AS (SELECT ?::numeric AS amount)
+        UPDATE property_purchases pp
+        SET paid_amount = COALESCE(pp.paid_amount, 0) + i.amount,
+            payment_status = CASE WHEN COALESCE(pp.paid_amount, 0) + i.amount >= pp.purchase_amount THEN 'paid' ELSE 'partial' END
+        FROM input i
+        WHERE pp.id = ?
+    """;
+
+    private static final String INSERT_PAYMENT_SQL = """
+        INSERT INTO payments (buyer_id, purchase_id, amount, payment_date, payment_method, reference_number, notes)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        RETURNING id
+    """;
+
+    public static void ensureIndex() {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(INDEX_SQL);
+        } catch (SQLException e) {
+            System.err.println("❌ Error creating payment ledger index: " + e.getMessage());
+        }
+    }
+
+    // Records a payment against a purchase and moves the buyer and purchase totals by its amount, all or nothing.
+    // Returns the new payment id, or -1 if the purchase does not exist or the write failed
+    public static int applyPayment(int purchaseId, double amount, LocalDate paymentDate,
+                                   String method, String reference, String notes) {
+        if (amount <= 0) {
+            System.err.println("❌ Payment amount must be positive: " + amount);
+            return -1;
+        }
+        BigDecimal value = BigDecimal.valueOf(amount);
+        Date date = Date.valueOf(paymentDate);
+
+        int paymentId;
+        String buyerName;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int buyerId;
+                try (PreparedStatement pstmt = conn.prepareStatement(APPLY_TO_BUYER_SQL)) {
+                    pstmt.setBigDecimal(1, value);
+                    pstmt.setDate(2, date);
+                    pstmt.setInt(3, purchaseId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            System.err.println("❌ No buyer found for purchase " + purchaseId);
+                            return -1;
+                        }
+                        buyerId = rs.getInt("id");
+                        buyerName = rs.getString("name");
+                    }
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(APPLY_TO_PURCHASE_SQL)) {
+                    pstmt.setBigDecimal(1, value);
+                    pstmt.setInt(2, purchaseId);
+                    pstmt.executeUpdate();
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(INSERT_PAYMENT_SQL)) {
+                    pstmt.setInt(1, buyerId);
+                    pstmt.setInt(2, purchaseId);
+                    pstmt.setBigDecimal(3, value);
+                    pstmt.setDate(4, date);
+                    pstmt.setString(5, method);
+                    pstmt.setString(6, reference);
+                    pstmt.setString(7, notes);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        paymentId = rs.getInt(1);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error recording payment: " + e.getMessage());
+            return -1;
+        }
+
+        System.out.println("💰 Recorded payment " + paymentId + " of " + amount + " MAD for " + buyerName);
+        NotificationService.publish(NotificationService.TYPE_RENT, "Payment Received",
+                String.format("%s paid %,.0f MAD on %s.", buyerName, amount, paymentDate));
+        return paymentId;
+    }
+
+    // Recomputes every balance from payments; with repair set, drifted totals are overwritten by the ledger.
+    // Returns null if the buyer range could not be read
+    public static Report reconcile(boolean repair) {
+        long started = System.currentTimeMillis();
+        int minId;
+        int maxId;
+        int buyers;
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(RANGE_SQL)) {
+            rs.next();
+            minId = rs.getInt(1);
+            maxId = rs.getInt(2);
+            buyers = rs.getInt(3);
+        } catch (SQLException e) {
+            System.err.println("❌ Error reading buyer range: " + e.getMessage());
+            return null;
+        }
+        if (buyers == 0) {
+            return new Report(0, 0, 0, 0, 0, 0, List.of(), repair, System.currentTimeMillis() - started);
+        }
+
+        List<int[]> ranges = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += BATCH_BUYERS) {
+            ranges.add(new int[] {(int) from, (int) Math.min(from + BATCH_BUYERS, (long) maxId + 1)});
+        }
+
+        int poolSize = DatabaseManager.getPoolStatistics().maxPoolSize();
+        int workers = Math.max(1, Math.min(ranges.size(), Math.min(MAX_PARALLEL_BATCHES, poolSize - RESERVED_CONNECTIONS)));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "payment-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Discrepancy> samples = new ArrayList<>();
+        int buyerDiscrepancies = 0;
+        int purchaseDiscrepancies = 0;
+        int failedBatches = 0;
+        double totalDrift = 0;
+        try {
+            List<Future<List<Discrepancy>>> futures = new ArrayList<>();
+            for (int[] range : ranges) {
+                futures.add(executor.submit(() -> reconcileBatch(range[0], range[1], repair)));
+            }
+            for (Future<List<Discrepancy>> future : futures) {
+                try {
+                    for (Discrepancy discrepancy : future.get()) {
+                        if (KIND_BUYER.equals(discrepancy.kind())) {
+                            buyerDiscrepancies++;
+                            totalDrift += discrepancy.drift();
+                        } else {
+                            purchaseDiscrepancies++;
+                        }
+                        if (samples.size() < MAX_SAMPLES) {
+                            samples.add(discrepancy);
+                        }
+                    }
+                } catch (ExecutionException e) {
+                    // One failed range rolls back on its own; the rest of the report still stands
+                    failedBatches++;
+                    System.err.println("❌ Error reconciling payments: " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Report report = new Report(buyers, ranges.size() - failedBatches, failedBatches, buyerDiscrepancies, purchaseDiscrepancies,
+                totalDrift, samples, repair, System.currentTimeMillis() - started);
+        System.out.println("📒 Reconciled " + buyers + " buyers in " + report.batches() + " batches ("
+                + report.elapsedMillis() + " ms): " + buyerDiscrepancies + " buyer and "
+                + purchaseDiscrepancies + " purchase balances " + (repair ? "repaired" : "drifted"));
+        if (failedBatches > 0) {
+            NotificationService.publish(NotificationService.TYPE_ALERT, "Payment Reconciliation Incomplete",
+                    String.format("%d of %d buyer ranges could not be %s.", failedBatches, ranges.size(), repair ? "repaired" : "checked"));
+        }
+        if (buyerDiscrepancies > 0 || purchaseDiscrepancies > 0) {
+            NotificationService.publish(NotificationService.TYPE_ALERT, repair ? "Payment Balances Repaired" : "Payment Balances Drifted",
+                    String.format("%d buyer and %d purchase balances %s the payment history (net %,.0f MAD).",
+                            buyerDiscrepancies, purchaseDiscrepancies, repair ? "were reset to" : "disagree with", totalDrift));
+        }
+        return report;
+    }
+
+    private static List<Discrepancy> reconcileBatch(int fromId, int toId, boolean repair) throws SQLException {
+        List<Discrepancy> discrepancies = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (repair) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(LOCK_BUYERS_SQL)) {
+                        pstmt.setInt(1, fromId);
+                        pstmt.setInt(2, toId);
+                        pstmt.executeQuery().close();
+                    }
+                } else {
+                    conn.setReadOnly(true);
+                }
+                collect(conn, repair ? REPAIR_PURCHASES_SQL : CHECK_PURCHASES_SQL, KIND_PURCHASE, fromId, toId, discrepancies);
+                collect(conn, repair ? REPAIR_BUYERS_SQL : CHECK_BUYERS_SQL, KIND_BUYER, fromId, toId, discrepancies);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setReadOnly(false);
+                conn.setAutoCommit(true);
+            }
+        }
+        return discrepancies;
+    }
+
+    private static void collect(Connection conn, String sql, String kind, int fromId, int toId,
+                                List<Discrepancy> discrepancies) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, fromId);
+            pstmt.setInt(2, toId);
+            pstmt.setInt(3, fromId);
+            pstmt.setInt(4, toId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    discrepancies.add(new Discrepancy(
+                        kind,
+                        rs.getInt("id"),
+                        rs.getString("name"),
+                        rs.getDouble("recorded_paid"),
+                        rs.getDouble("paid"),
+                        rs.getDouble("recorded_remaining"),
+                        rs.getDouble("remaining")
+                    ));
+                }
+            }
+        }
+    }
+}
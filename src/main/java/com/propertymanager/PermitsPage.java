@@ -19,23 +19,37 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class PermitsPage extends VBox {
+public class PermitsPage extends VBox implements PageLifecycle {
     
     private String selectedTab = "all";
     private VBox permitsContainer;
+    private HBox statsRow;
     private List<Permit> permits;
     
     public PermitsPage() {
         initPermits();
         initPage();
+        permitsContainer.getChildren().setAll(new LoadingPlaceholder("Loading permits..."));
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        // Query off the FX thread, then reload the existing controls with the loaded permits
+        AsyncDAO.load(this, this::loadPermitsFromDatabase, loaded -> {
+            permits.clear();
+            permits.addAll(loaded);
+            updateStatsRow();
+            updatePermitsList();
+        });
     }
     
     private void initPermits() {
         permits = new ArrayList<>();
-        loadPermitsFromDatabase();
     }
     
-    private void loadPermitsFromDatabase() {
+    private List<Permit> loadPermitsFromDatabase() {
+        List<Permit> loaded = new ArrayList<>();
         try (Connection conn = DatabaseManager.getConnection()) {
             String query = "SELECT p.permit_number, COALESCE(l.name, 'General Property') as land_name, " +
                           "p.permit_type, p.requested_by, p.request_date, p.status, p.estimated_cost, " +
@@ -63,12 +77,13 @@ public class PermitsPage extends VBox {
                         rs.getString("approved_by"),
                         approvalDate
                     );
-                    permits.add(permit);
+                    loaded.add(permit);
                 }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return loaded;
     }
     
     private void initPage() {
@@ -80,7 +95,7 @@ public class PermitsPage extends VBox {
         HBox header = createHeader();
         
         // Stats cards
-        HBox statsRow = createStatsRow();
+        statsRow = createStatsRow();
         
         // Permits list
         VBox permitsList = createPermitsList();
@@ -115,22 +130,26 @@ public class PermitsPage extends VBox {
     }
     
     private HBox createStatsRow() {
-        HBox statsRow = new HBox(20);
-        statsRow.setAlignment(Pos.CENTER);
-        
+        HBox row = new HBox(20);
+        row.setAlignment(Pos.CENTER);
+        statsRow = row;
+        updateStatsRow();
+        return row;
+    }
+    
+    // Recounts the stat cards in place; the rest of the page keeps its tab and scroll position
+    private void updateStatsRow() {
         int total = permits.size();
         int pending = (int) permits.stream().filter(p -> "pending".equals(p.status)).count();
         int approved = (int) permits.stream().filter(p -> "approved".equals(p.status)).count();
         int rejected = (int) permits.stream().filter(p -> "rejected".equals(p.status)).count();
         
-        statsRow.getChildren().addAll(
+        statsRow.getChildren().setAll(
             createStatCard("Total Permits", String.valueOf(total), "📋", "#2C3E8C"),
             createStatCard("Pending Review", String.valueOf(pending), "⏰", "#F5C542"),
             createStatCard("Approved", String.valueOf(approved), "✅", "#4CAF50"),
             createStatCard("Rejected", String.valueOf(rejected), "❌", "#F44336")
         );
-        
-        return statsRow;
     }
     
     private VBox createStatCard(String title, String value, String icon, String color) {
@@ -505,9 +524,7 @@ public class PermitsPage extends VBox {
                     permit.approvalDate = java.time.LocalDate.now().toString();
                     
                     // Refresh the permits list
-                    permits.clear();
-                    loadPermitsFromDatabase();
-                    updatePermitsList();
+                    refresh();
                     
                     // Show success message
                     Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
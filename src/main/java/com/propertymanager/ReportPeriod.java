@@ -0,0 +1,41 @@
+package com.propertymanager;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// The periods offered on ReportsPage: where each starts (a date_trunc field) and how finely it is bucketed
+public enum ReportPeriod {
+    WEEK("This Week", "week", "day", "EEE d"),
+    MONTH("This Month", "month", "day", "MMM d"),
+    QUARTER("This Quarter", "quarter", "week", "MMM d"),
+    YEAR("This Year", "year", "month", "MMM");
+
+    private final String label;
+    private final String startUnit;
+    private final String bucketUnit;
+    private final DateTimeFormatter bucketFormat;
+
+    ReportPeriod(String label, String startUnit, String bucketUnit, String bucketPattern) {
+        this.label = label;
+        this.startUnit = startUnit;
+        this.bucketUnit = bucketUnit;
+        this.bucketFormat = DateTimeFormatter.ofPattern(bucketPattern);
+    }
+
+    public String startUnit() {
+        return startUnit;
+    }
+
+    public String bucketUnit() {
+        return bucketUnit;
+    }
+
+    public String formatBucket(LocalDate bucket) {
+        return bucket.format(bucketFormat);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,345 @@
+package com.propertymanager;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Monthly summaries of sales and payments by building, maintenance by building and permits by type.
+// Triggers only append the (rollup, month) a change touches to rollup_dirty; catchUp() recomputes just those
+// months from their source rows, so reports read a few rollup rows and never the whole payment history.
+public class ReportRollups {
+
+    public static final String SALES = "sales";
+    public static final String MAINTENANCE = "maintenance";
+    public static final String PERMITS = "permits";
+
+    private static volatile boolean installed;
+
+    private static final String[] TABLES_SQL = {
+        """
+        CREATE TABLE IF NOT EXISTS rollup_sales_monthly (
+            month DATE NOT NULL,
+            building_id INTEGER NOT NULL,
+            sales_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+            units_sold INTEGER NOT NULL DEFAULT 0,
+            collected_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+            payments_count INTEGER NOT NULL DEFAULT 0,
+            PRIMARY KEY (month, building_id)
+        )
+        """,
+        """
+        CREATE TABLE IF NOT EXISTS rollup_maintenance_monthly (
+            month DATE NOT NULL,
+            building_id INTEGER NOT NULL,
+            requests INTEGER NOT NULL DEFAULT 0,
+            completed INTEGER NOT NULL DEFAULT 0,
+            estimated_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+            actual_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+            PRIMARY KEY (month, building_id)
+        )
+        """,
+        """
+        CREATE TABLE IF NOT EXISTS rollup_permits_monthly (
+            month DATE NOT NULL,
+            permit_type VARCHAR(50) NOT NULL,
+            requests INTEGER NOT NULL DEFAULT 0,
+            approved INTEGER NOT NULL DEFAULT 0,
+            rejected INTEGER NOT NULL DEFAULT 0,
+            estimated_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+            PRIMARY KEY (month, permit_type)
+        )
+        """,
+        """
+        CREATE TABLE IF NOT EXISTS rollup_dirty (
+            id BIGSERIAL PRIMARY KEY,
+            rollup VARCHAR(20) NOT NULL,
+            month DATE NOT NULL
+        )
+        """
+    };
+
+    // TG_ARGV: the rollup, and the source column that decides the month
+    private static final String MARK_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION rollup_mark_dirty() RETURNS trigger AS $$
+        DECLARE
+            old_month DATE;
+            new_month DATE;
+        BEGIN
+            IF TG_OP <> 'INSERT' THEN
+                old_month := date_trunc('month', (to_jsonb(OLD) ->> TG_ARGV[1])::date)::date;
+                INSERT INTO rollup_dirty (rollup, month) VALUES (TG_ARGV[0], old_month);
+            END IF;
+            IF TG_OP <> 'DELETE' THEN
+                new_month := date_trunc('month', (to_jsonb(NEW) ->> TG_ARGV[1])::date)::date;
+                IF new_month IS DISTINCT FROM old_month THEN
+                    INSERT INTO rollup_dirty (rollup, month) VALUES (TG_ARGV[0], new_month);
+                END IF;
+            END IF;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    // Moving an apartment to another building moves its sale and payments between buildings
+    private static final String MARK_APARTMENT_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION rollup_mark_apartment() RETURNS trigger AS $$
+        BEGIN
+            INSERT INTO rollup_dirty (rollup, month)
+            SELECT DISTINCT 'sales', date_trunc('month', d)::date
+            FROM property_purchases pp
+            CROSS JOIN LATERAL (
+                SELECT pp.purchase_date AS d
+                UNION ALL
+                SELECT p.payment_date FROM payments p WHERE p.purchase_id = pp.id
+            ) dates
+            WHERE pp.apartment_id = NEW.id;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    // Re-pointing a purchase at another apartment moves its payments' collections between buildings
+    private static final String MARK_PURCHASE_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION rollup_mark_purchase() RETURNS trigger AS $$
+        BEGIN
+            INSERT INTO rollup_dirty (rollup, month)
+            SELECT DISTINCT 'sales', date_trunc('month', p.payment_date)::date
+            FROM payments p
+            WHERE p.purchase_id = NEW.id;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql
+    """;
+
+    // {table, rollup, date column}
+    private static final String[][] TRIGGERS = {
+        {"property_purchases", SALES, "purchase_date"},
+        {"payments", SALES, "payment_date"},
+        {"maintenance_requests", MAINTENANCE, "request_date"},
+        {"permits", PERMITS, "request_date"},
+    };
+
+    // Recomputes the rollup rows of the months in ?::date[] from the source rows in those months;
+    // every one of its monthParameters placeholders is bound to the month list
+    private record Recompute(String table, String sql, int monthParameters) {}
+
+    private static final Map<String, Recompute> RECOMPUTE_SQL = new LinkedHashMap<>();
+
+    static {
+        RECOMPUTE_SQL.put(SALES, new Recompute(
+            "rollup_sales_monthly",
+            """
+            INSERT INTO rollup_sales_monthly (month, building_id, sales_amount, units_sold, collected_amount, payments_count)
+            SELECT month, building_id, SUM(sales_amount), SUM(units_sold), SUM(collected_amount), SUM(payments_count)
+            FROM (
+                SELECT m.month, COALESCE(a.building_id, 0) AS building_id,
+                       pp.purchase_amount AS sales_amount, 1 AS units_sold, 0 AS collected_amount, 0 AS payments_count
+                FROM unnest(?::date[]) AS m(month)
+                JOIN property_purchases pp ON pp.purchase_date >= m.month AND pp.purchase_date < m.month + interval '1 month'
+                LEFT JOIN apartments a ON a.id = pp.apartment_id
+                UNION ALL
+                SELECT m.month, COALESCE(a.building_id, 0), 0, 0, p.amount, 1
+                FROM unnest(?::date[]) AS m(month)
+                JOIN payments p ON p.payment_date >= m.month AND p.payment_date < m.month + interval '1 month'
+                LEFT JOIN property_purchases pp ON pp.id = p.purchase_id
+                LEFT JOIN apartments a ON a.id = pp.apartment_id
+            ) src
+            GROUP BY month, building_id
+            """, 2
+        ));
+        RECOMPUTE_SQL.put(MAINTENANCE, new Recompute(
+            "rollup_maintenance_monthly",
+            """
+            INSERT INTO rollup_maintenance_monthly (month, building_id, requests, completed, estimated_cost, actual_cost)
+            SELECT m.month, COALESCE(r.building_id, 0), COUNT(*), COUNT(*) FILTER (WHERE r.status = 'completed'),
+                   COALESCE(SUM(r.estimated_cost), 0), COALESCE(SUM(r.actual_cost), 0)
+            FROM unnest(?::date[]) AS m(month)
+            JOIN maintenance_requests r ON r.request_date >= m.month AND r.request_date < m.month + interval '1 month'
+            GROUP BY m.month, COALESCE(r.building_id, 0)
+            """, 1
+        ));
+        RECOMPUTE_SQL.put(PERMITS, new Recompute(
+            "rollup_permits_monthly",
+            """
+            INSERT INTO rollup_permits_monthly (month, permit_type, requests, approved, rejected, estimated_cost)
+            SELECT m.month, p.permit_type, COUNT(*), COUNT(*) FILTER (WHERE p.status = 'approved'),
+                   COUNT(*) FILTER (WHERE p.status = 'rejected'), COALESCE(SUM(p.estimated_cost), 0)
+            FROM unnest(?::date[]) AS m(month)
+            JOIN permits p ON p.request_date >= m.month AND p.request_date < m.month + interval '1 month'
+            GROUP BY m.month, p.permit_type
+            """, 1
+        ));
+    }
+
+    // Every month that has source rows; only used by rebuild
+    private static final String ALL_MONTHS_SQL = """
+        SELECT 'sales' AS rollup, date_trunc('month', purchase_date)::date AS month FROM property_purchases
+        UNION SELECT 'sales', date_trunc('month', payment_date)::date FROM payments
+        UNION SELECT 'maintenance', date_trunc('month', request_date)::date FROM maintenance_requests
+        UNION SELECT 'permits', date_trunc('month', request_date)::date FROM permits
+    """;
+
+    // Catch-ups from several clients recompute one at a time
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('report_rollups'))";
+
+    // Claims every queued month up to the current watermark; marks committed later stay for the next catch-up
+    private static final String DRAIN_SQL = """
+        DELETE FROM rollup_dirty WHERE id <= (SELECT MAX(id) FROM rollup_dirty)
+        RETURNING rollup, month
+    """;
+
+    // Installs the tables and triggers, and fills the rollups the first time; run once at startup, off the FX thread.
+    // Catch-ups only start once the rollups are known to be complete
+    public static void ensureRollups() {
+        boolean empty;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            // One transaction, so no change slips through between dropping a trigger and recreating it
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : TABLES_SQL) {
+                    stmt.execute(sql);
+                }
+                stmt.execute(MARK_FUNCTION_SQL);
+                stmt.execute(MARK_APARTMENT_FUNCTION_SQL);
+                stmt.execute(MARK_PURCHASE_FUNCTION_SQL);
+
+                for (String[] trigger : TRIGGERS) {
+                    stmt.execute("DROP TRIGGER IF EXISTS rollup_mark ON " + trigger[0]);
+                    stmt.execute("CREATE TRIGGER rollup_mark AFTER INSERT OR UPDATE OR DELETE ON " + trigger[0]
+                            + " FOR EACH ROW EXECUTE FUNCTION rollup_mark_dirty('" + trigger[1] + "', '" + trigger[2] + "')");
+                }
+                stmt.execute("DROP TRIGGER IF EXISTS rollup_mark ON apartments");
+                stmt.execute("CREATE TRIGGER rollup_mark AFTER UPDATE OF building_id ON apartments"
+                        + " FOR EACH ROW WHEN (OLD.building_id IS DISTINCT FROM NEW.building_id)"
+                        + " EXECUTE FUNCTION rollup_mark_apartment()");
+                stmt.execute("DROP TRIGGER IF EXISTS rollup_mark_payments ON property_purchases");
+                stmt.execute("CREATE TRIGGER rollup_mark_payments AFTER UPDATE OF apartment_id ON property_purchases"
+                        + " FOR EACH ROW WHEN (OLD.apartment_id IS DISTINCT FROM NEW.apartment_id)"
+                        + " EXECUTE FUNCTION rollup_mark_purchase()");
+
+                try (ResultSet rs = stmt.executeQuery("SELECT NOT EXISTS (SELECT 1 FROM rollup_sales_monthly)"
+                        + " AND NOT EXISTS (SELECT 1 FROM rollup_maintenance_monthly)"
+                        + " AND NOT EXISTS (SELECT 1 FROM rollup_permits_monthly)")) {
+                    empty = rs.next() && rs.getBoolean(1);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error preparing report rollups: " + e.getMessage());
+            return;
+        }
+        installed = !empty || rebuild();
+    }
+
+    // Recomputes the months changed since the last catch-up; a no-op when nothing changed
+    public static boolean catchUp() {
+        if (!installed) {
+            return false;
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                lock(conn);
+                Map<String, List<Date>> dirty = new LinkedHashMap<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(DRAIN_SQL);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        List<Date> months = dirty.computeIfAbsent(rs.getString("rollup"), k -> new ArrayList<>());
+                        Date month = rs.getDate("month");
+                        if (!months.contains(month)) {
+                            months.add(month);
+                        }
+                    }
+                }
+                for (Map.Entry<String, List<Date>> entry : dirty.entrySet()) {
+                    recompute(conn, entry.getKey(), entry.getValue());
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error updating report rollups: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Backfill: recomputes every rollup from all source rows, e.g. after a restore or a bulk import
+    public static boolean rebuild() {
+        long started = System.currentTimeMillis();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                lock(conn);
+                stmt.execute("TRUNCATE rollup_sales_monthly, rollup_maintenance_monthly, rollup_permits_monthly, rollup_dirty");
+
+                Map<String, List<Date>> months = new LinkedHashMap<>();
+                try (ResultSet rs = stmt.executeQuery(ALL_MONTHS_SQL)) {
+                    while (rs.next()) {
+                        months.computeIfAbsent(rs.getString("rollup"), k -> new ArrayList<>()).add(rs.getDate("month"));
+                    }
+                }
+                for (Map.Entry<String, List<Date>> entry : months.entrySet()) {
+                    recompute(conn, entry.getKey(), entry.getValue());
+                }
+                stmt.execute("ANALYZE rollup_sales_monthly, rollup_maintenance_monthly, rollup_permits_monthly");
+                conn.commit();
+                System.out.println("📦 Report rollups rebuilt in " + (System.currentTimeMillis() - started) + " ms");
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error rebuilding report rollups: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static boolean isInstalled() {
+        return installed;
+    }
+
+    private static void lock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(LOCK_SQL)) {
+            pstmt.execute();
+        }
+    }
+
+    private static void recompute(Connection conn, String rollup, List<Date> months) throws SQLException {
+        Recompute target = RECOMPUTE_SQL.get(rollup);
+        if (target == null || months.isEmpty()) {
+            return;
+        }
+        Array monthArray = conn.createArrayOf("date", months.toArray());
+        try (PreparedStatement delete = conn.prepareStatement("DELETE FROM " + target.table() + " WHERE month = ANY(?)")) {
+            delete.setArray(1, monthArray);
+            delete.executeUpdate();
+        }
+        try (PreparedStatement insert = conn.prepareStatement(target.sql())) {
+            for (int i = 1; i <= target.monthParameters(); i++) {
+                insert.setArray(i, monthArray);
+            }
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.propertymanager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Time series behind ReportsPage, bucketed on the server with date_trunc so a period switch is one small query.
+// Monthly buckets and the balances brought forward come from the ReportRollups tables; only the days and weeks
+// inside a short period are read from payments and purchases.
+public class ReportsDAO {
+
+    // Receivables and sold units are running totals: what was owed/sold before the period plus each bucket's change
+    public record Bucket(LocalDate start, double revenue, double collections, double receivables,
+                         int soldUnits, int totalUnits) {
+        public double occupancy() {
+            return totalUnits == 0 ? 0 : (double) soldUnits / totalUnits * 100;
+        }
+    }
+
+    public record BuildingPerformance(String name, long units, long soldUnits, double sales, double collected) {
+        public double collectionRate() {
+            return sales == 0 ? 0 : collected / sales * 100;
+        }
+    }
+
+    // Used until the rollups are installed
+    private static final String RAW_SERIES_SQL = """
+        WITH bounds AS (
+            SELECT date_trunc(?, CURRENT_DATE)::date AS period_start, ?::text AS unit
+        ), buckets AS (
+            SELECT g::date AS bucket
+            FROM bounds, generate_series(date_trunc(bounds.unit, bounds.period_start), CURRENT_DATE,
+                                         ('1 ' || bounds.unit)::interval) g
+        ), sales AS (
+            SELECT date_trunc(bounds.unit, pp.purchase_date)::date AS bucket,
+                   SUM(pp.purchase_amount) AS amount, COUNT(*) AS units
+            FROM property_purchases pp, bounds
+            WHERE pp.purchase_date >= bounds.period_start AND pp.purchase_date <= CURRENT_DATE
+            GROUP BY 1
+        ), collections AS (
+            SELECT date_trunc(bounds.unit, p.payment_date)::date AS bucket, SUM(p.amount) AS amount
+            FROM payments p, bounds
+            WHERE p.payment_date >= bounds.period_start AND p.payment_date <= CURRENT_DATE
+            GROUP BY 1
+        ), opening AS (
+            SELECT (SELECT COALESCE(SUM(purchase_amount), 0) FROM property_purchases WHERE purchase_date < period_start) AS sales,
+                   (SELECT COUNT(*) FROM property_purchases WHERE purchase_date < period_start) AS units,
+                   (SELECT COALESCE(SUM(amount), 0) FROM payments WHERE payment_date < period_start) AS collections,
+                   (SELECT COUNT(*) FROM apartments) AS total_units
+            FROM bounds
+        )
+        SELECT b.bucket,
+               COALESCE(s.amount, 0) AS revenue,
+               COALESCE(c.amount, 0) AS collections,
+               o.sales + SUM(COALESCE(s.amount, 0)) OVER w - o.collections - SUM(COALESCE(c.amount, 0)) OVER w AS receivables,
+               o.units + SUM(COALESCE(s.units, 0)) OVER w AS sold_units,
+               o.total_units
+        FROM buckets b
+        LEFT JOIN sales s ON s.bucket = b.bucket
+        LEFT JOIN collections c ON c.bucket = b.bucket
+        CROSS JOIN opening o
+        WINDOW w AS (ORDER BY b.bucket)
+        ORDER BY b.bucket
+    """;
+
+    private static final String ROLLUP_SERIES_SQL = """
+        WITH bounds AS (
+            SELECT date_trunc(?, CURRENT_DATE)::date AS period_start, ?::text AS unit
+        ), buckets AS (
+            SELECT g::date AS bucket
+            FROM bounds, generate_series(date_trunc(bounds.unit, bounds.period_start), CURRENT_DATE,
+                                         ('1 ' || bounds.unit)::interval) g
+        ), sales AS (
+            SELECT r.month AS bucket, SUM(r.sales_amount) AS amount, SUM(r.units_sold) AS units
+            FROM rollup_sales_monthly r, bounds
+            WHERE bounds.unit = 'month' AND r.month >= bounds.period_start
+            GROUP BY 1
+            UNION ALL
+            SELECT date_trunc(bounds.unit, pp.purchase_date)::date, SUM(pp.purchase_amount), COUNT(*)
+            FROM property_purchases pp, bounds
+            WHERE bounds.unit <> 'month' AND pp.purchase_date >= bounds.period_start AND pp.purchase_date <= CURRENT_DATE
+            GROUP BY 1
+        ), collections AS (
+            SELECT r.month AS bucket, SUM(r.collected_amount) AS amount
+            FROM rollup_sales_monthly r, bounds
+            WHERE bounds.unit = 'month' AND r.month >= bounds.period_start
+            GROUP BY 1
+            UNION ALL
+            SELECT date_trunc(bounds.unit, p.payment_date)::date, SUM(p.amount)
+            FROM payments p, bounds
+            WHERE bounds.unit <> 'month' AND p.payment_date >= bounds.period_start AND p.payment_date <= CURRENT_DATE
+            GROUP BY 1
+        ), opening AS (
+            -- Whole months before the period from the rollup, plus the days of a week that began mid-month
+            SELECT r.sales + COALESCE(d.sales, 0) AS sales,
+                   r.units + COALESCE(d.units, 0) AS units,
+                   r.collections + COALESCE(c.collections, 0) AS collections,
+                   (SELECT COUNT(*) FROM apartments) AS total_units
+            FROM bounds
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(SUM(sales_amount), 0) AS sales, COALESCE(SUM(units_sold), 0) AS units,
+                       COALESCE(SUM(collected_amount), 0) AS collections
+                FROM rollup_sales_monthly WHERE month < date_trunc('month', bounds.period_start)
+            ) r
+            CROSS JOIN LATERAL (
+                SELECT SUM(purchase_amount) AS sales, COUNT(*) AS units FROM property_purchases
+                WHERE purchase_date >= date_trunc('month', bounds.period_start) AND purchase_date < bounds.period_start
+            ) d
+            CROSS JOIN LATERAL (
+                SELECT SUM(amount) AS collections FROM payments
+                WHERE payment_date >= date_trunc('month', bounds.period_start) AND payment_date < bounds.period_start
+            ) c
+        )
+        SELECT b.bucket,
+               COALESCE(s.amount, 0) AS revenue,
+               COALESCE(c.amount, 0) AS collections,
+               o.sales + SUM(COALESCE(s.amount, 0)) OVER w - o.collections - SUM(COALESCE(c.amount, 0)) OVER w AS receivables,
+               o.units + SUM(COALESCE(s.units, 0)) OVER w AS sold_units,
+               o.total_units
+        FROM buckets b
+        LEFT JOIN sales s ON s.bucket = b.bucket
+        LEFT JOIN collections c ON c.bucket = b.bucket
+        CROSS JOIN opening o
+        WINDOW w AS (ORDER BY b.bucket)
+        ORDER BY b.bucket
+    """;
+
+    public static List<Bucket> getSeries(ReportPeriod period) {
+        List<Bucket> buckets = new ArrayList<>();
+        // Brings the rollups up to date with changes since the last report first
+        String sql = ReportRollups.catchUp() ? ROLLUP_SERIES_SQL : RAW_SERIES_SQL;
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, period.startUnit());
+            pstmt.setString(2, period.bucketUnit());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    buckets.add(new Bucket(
+                        rs.getDate("bucket").toLocalDate(),
+                        rs.getDouble("revenue"),
+                        rs.getDouble("collections"),
+                        rs.getDouble("receivables"),
+                        rs.getInt("sold_units"),
+                        rs.getInt("total_units")
+                    ));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading report series: " + e.getMessage());
+        }
+
+        return buckets;
+    }
+
+    // Per-building totals from the in-memory analytics snapshot, best sellers first; empty without a database
+    public static List<BuildingPerformance> getBuildingPerformance() {
+        List<BuildingPerformance> rows = new ArrayList<>();
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.get();
+        if (snapshot == null) {
+            return rows;
+        }
+
+        AnalyticsSnapshot.Breakdown units = snapshot.breakdown(AnalyticsSnapshot.Fact.APARTMENTS,
+                AnalyticsSnapshot.Dimension.BUILDING, AnalyticsSnapshot.Dimension.STATUS);
+        AnalyticsSnapshot.Breakdown sales = snapshot.breakdown(AnalyticsSnapshot.Fact.SALES, AnalyticsSnapshot.Dimension.BUILDING);
+        AnalyticsSnapshot.Breakdown collections = snapshot.breakdown(AnalyticsSnapshot.Fact.COLLECTIONS, AnalyticsSnapshot.Dimension.BUILDING);
+
+        for (int building = 0; building < sales.cardinality(0); building++) {
+            long total = 0;
+            for (int status = 0; status < units.cardinality(1); status++) {
+                total += units.count(building, status);
+            }
+            if (total == 0 && sales.count(building) == 0 && collections.count(building) == 0) {
+                continue;
+            }
+            rows.add(new BuildingPerformance(
+                sales.label(0, building),
+                total,
+                units.count(building, AnalyticsSnapshot.STATUS_SOLD),
+                sales.sumCents(building) / 100.0,
+                collections.sumCents(building) / 100.0
+            ));
+        }
+        rows.sort(Comparator.comparingDouble(BuildingPerformance::sales).reversed());
+        return rows;
+    }
+}
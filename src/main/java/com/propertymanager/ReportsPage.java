@@ -9,10 +9,99 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
-public class ReportsPage extends VBox {
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReportsPage extends VBox implements PageLifecycle {
+    
+    private DashboardStats stats = DashboardStats.empty();
+    private ReportPeriod period = ReportPeriod.YEAR;
+    
+    // Filled from ReportsDAO for the selected period
+    private XYChart.Series<String, Number> revenueSeries;
+    private XYChart.Series<String, Number> collectionsSeries;
+    private XYChart.Series<String, Number> occupancySeries;
+    private XYChart.Series<String, Number> receivablesSeries;
+    private GridPane buildingPerformanceGrid;
     
     public ReportsPage() {
         initPage();
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        AsyncDAO.load(this, DashboardStatsDAO::getSnapshot, loaded -> {
+            // Keep the page usable without a database
+            if (loaded != null) {
+                stats = loaded;
+                getChildren().clear();
+                initPage();
+                loadSeries();
+                loadBuildingPerformance();
+            }
+        });
+    }
+    
+    // One bucketed query per period switch; the charts keep their nodes and only get new points
+    private void loadSeries() {
+        ReportPeriod requested = period;
+        AsyncDAO.load(this, () -> ReportsDAO.getSeries(requested), buckets -> {
+            if (requested == period) {
+                showSeries(buckets);
+            }
+        });
+    }
+    
+    private void showSeries(List<ReportsDAO.Bucket> buckets) {
+        List<XYChart.Data<String, Number>> revenue = new ArrayList<>();
+        List<XYChart.Data<String, Number>> collections = new ArrayList<>();
+        List<XYChart.Data<String, Number>> occupancy = new ArrayList<>();
+        List<XYChart.Data<String, Number>> receivables = new ArrayList<>();
+        for (ReportsDAO.Bucket bucket : buckets) {
+            String label = period.formatBucket(bucket.start());
+            revenue.add(new XYChart.Data<>(label, bucket.revenue()));
+            collections.add(new XYChart.Data<>(label, bucket.collections()));
+            occupancy.add(new XYChart.Data<>(label, bucket.occupancy()));
+            receivables.add(new XYChart.Data<>(label, bucket.receivables()));
+        }
+        revenueSeries.getData().setAll(revenue);
+        collectionsSeries.getData().setAll(collections);
+        occupancySeries.getData().setAll(occupancy);
+        receivablesSeries.getData().setAll(receivables);
+    }
+    
+    private void loadBuildingPerformance() {
+        GridPane grid = buildingPerformanceGrid;
+        AsyncDAO.load(this, ReportsDAO::getBuildingPerformance, rows -> {
+            if (grid == buildingPerformanceGrid) {
+                showBuildingPerformance(rows);
+            }
+        });
+    }
+    
+    private void showBuildingPerformance(List<ReportsDAO.BuildingPerformance> rows) {
+        buildingPerformanceGrid.getChildren().clear();
+        String[] headers = {"Building", "Units", "Sold", "Sales", "Collected", "Collection Rate"};
+        for (int col = 0; col < headers.length; col++) {
+            Label header = new Label(headers[col]);
+            header.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+            header.setTextFill(Color.web("#7f8c8d"));
+            buildingPerformanceGrid.add(header, col, 0);
+        }
+        int row = 1;
+        for (ReportsDAO.BuildingPerformance building : rows) {
+            buildingPerformanceGrid.addRow(row++,
+                new Label(building.name()),
+                new Label(String.valueOf(building.units())),
+                new Label(String.valueOf(building.soldUnits())),
+                new Label(String.format("%,.0f MAD", building.sales())),
+                new Label(String.format("%,.0f MAD", building.collected())),
+                new Label(String.format("%.1f%%", building.collectionRate())));
+        }
+        if (rows.isEmpty()) {
+            buildingPerformanceGrid.add(new Label("No data available"), 0, 1, headers.length, 1);
+        }
     }
     
     private void initPage() {
@@ -33,9 +122,10 @@ public class ReportsPage extends VBox {
         VBox revenueChart = createRevenueChart();
         HBox chartsRow = createChartsRow();
         VBox rentChart = createRentChart();
+        VBox buildingPerformance = createBuildingPerformance();
         VBox quickReports = createQuickReports();
         
-        content.getChildren().addAll(header, summaryStats, revenueChart, chartsRow, rentChart, quickReports);
+        content.getChildren().addAll(header, summaryStats, revenueChart, chartsRow, rentChart, buildingPerformance, quickReports);
         scrollPane.setContent(content);
         getChildren().add(scrollPane);
     }
@@ -61,16 +151,41 @@ public class ReportsPage extends VBox {
         HBox controls = new HBox(10);
         controls.setAlignment(Pos.CENTER_RIGHT);
         
-        ComboBox<String> periodCombo = new ComboBox<>();
-        periodCombo.getItems().addAll("This Week", "This Month", "This Quarter", "This Year");
-        periodCombo.setValue("This Year");
+        ComboBox<ReportPeriod> periodCombo = new ComboBox<>();
+        periodCombo.getItems().addAll(ReportPeriod.values());
+        periodCombo.setValue(period);
         periodCombo.setPrefWidth(140);
+        periodCombo.setOnAction(e -> {
+            if (periodCombo.getValue() != null && periodCombo.getValue() != period) {
+                period = periodCombo.getValue();
+                loadSeries();
+            }
+        });
         
         Button exportBtn = new Button("📥 Export Report");
         exportBtn.setStyle("-fx-background-color: linear-gradient(to right, #2C3E8C, #4FD1C5); -fx-text-fill: white; -fx-background-radius: 8; -fx-padding: 12 20; -fx-font-weight: bold;");
         exportBtn.setOnAction(e -> exportReport());
         
-        controls.getChildren().addAll(periodCombo, exportBtn);
+        // Backfill for the report summaries, e.g. after importing data with triggers off
+        Button rebuildBtn = new Button("🔁 Rebuild Summaries");
+        rebuildBtn.setStyle("-fx-background-color: #f8f9fa; -fx-border-color: #e9ecef; -fx-border-radius: 8; -fx-background-radius: 8; -fx-padding: 12 20;");
+        rebuildBtn.setOnAction(e -> {
+            rebuildBtn.setDisable(true);
+            AsyncDAO.load(this, ReportRollups::rebuild, rebuilt -> {
+                rebuildBtn.setDisable(false);
+                if (rebuilt) {
+                    loadSeries();
+                } else {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Rebuild Summaries");
+                    alert.setHeaderText("Report summaries could not be rebuilt");
+                    alert.setContentText("Check the database connection and try again.");
+                    alert.showAndWait();
+                }
+            }, error -> rebuildBtn.setDisable(false));
+        });
+        
+        controls.getChildren().addAll(periodCombo, rebuildBtn, exportBtn);
         header.getChildren().addAll(titleBox, spacer, controls);
         return header;
     }
@@ -80,10 +195,11 @@ public class ReportsPage extends VBox {
         statsRow.setAlignment(Pos.CENTER);
         
         statsRow.getChildren().addAll(
-            createStatCard("Total Revenue (YTD)", "158,500,000 MAD", "+12.5%", "💰", "#4CAF50"),
-            createStatCard("Total Properties", "180", "+8", "🏢", "#2C3E8C"),
-            createStatCard("Total Buyers", "142", "+5", "👥", "#4FD1C5"),
-            createStatCard("Avg. Sales Rate", "91.5%", "+2.3%", "📈", "#F5C542")
+            createStatCard("Total Revenue (YTD)", String.format("%,.0f MAD", stats.revenueYearToDate()), String.format("+%,.0f this month", stats.revenueMonthToDate()), "💰", "#4CAF50"),
+            createStatCard("Pending Payments", String.format("%,.0f MAD", stats.pendingPayments()), stats.overdueBuyers() + " overdue", "⏳", "#EF4444"),
+            createStatCard("Total Properties", String.valueOf(stats.totalApartments()), "+" + stats.totalLands() + " lands", "🏢", "#2C3E8C"),
+            createStatCard("Total Buyers", String.valueOf(stats.totalBuyers()), stats.paidBuyers() + " fully paid", "👥", "#4FD1C5"),
+            createStatCard("Avg. Sales Rate", String.format("%.1f%%", stats.salesRate()), String.format("%.1f%% collected", stats.collectionRate()), "📈", "#F5C542")
         );
         
         return statsRow;
@@ -135,7 +251,7 @@ public class ReportsPage extends VBox {
         container.setPrefHeight(420);
         container.setStyle("-fx-background-color: white; -fx-background-radius: 12; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
         
-        Label title = new Label("📊 Revenue, Expenses & Profit Trends");
+        Label title = new Label("📊 Sales & Collections");
         title.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         title.setTextFill(Color.web("#2c3e50"));
         
@@ -145,35 +261,16 @@ public class ReportsPage extends VBox {
         chart.setPrefHeight(320);
         chart.setLegendVisible(true);
         
-        XYChart.Series<String, Number> revenueSeries = new XYChart.Series<>();
-        revenueSeries.setName("Revenue");
-        revenueSeries.getData().add(new XYChart.Data<>("Jan", 12500000));
-        revenueSeries.getData().add(new XYChart.Data<>("Feb", 13200000));
-        revenueSeries.getData().add(new XYChart.Data<>("Mar", 12800000));
-        revenueSeries.getData().add(new XYChart.Data<>("Apr", 14500000));
-        revenueSeries.getData().add(new XYChart.Data<>("May", 15500000));
-        revenueSeries.getData().add(new XYChart.Data<>("Jun", 16200000));
-        revenueSeries.getData().add(new XYChart.Data<>("Jul", 15800000));
-        revenueSeries.getData().add(new XYChart.Data<>("Aug", 16500000));
-        revenueSeries.getData().add(new XYChart.Data<>("Sep", 17200000));
-        revenueSeries.getData().add(new XYChart.Data<>("Oct", 16800000));
-        revenueSeries.getData().add(new XYChart.Data<>("Nov", 17500000));
-        
-        XYChart.Series<String, Number> profitSeries = new XYChart.Series<>();
-        profitSeries.setName("Profit");
-        profitSeries.getData().add(new XYChart.Data<>("Jan", 8000000));
-        profitSeries.getData().add(new XYChart.Data<>("Feb", 8400000));
-        profitSeries.getData().add(new XYChart.Data<>("Mar", 7600000));
-        profitSeries.getData().add(new XYChart.Data<>("Apr", 9600000));
-        profitSeries.getData().add(new XYChart.Data<>("May", 10400000));
-        profitSeries.getData().add(new XYChart.Data<>("Jun", 10900000));
-        profitSeries.getData().add(new XYChart.Data<>("Jul", 10300000));
-        profitSeries.getData().add(new XYChart.Data<>("Aug", 11300000));
-        profitSeries.getData().add(new XYChart.Data<>("Sep", 11800000));
-        profitSeries.getData().add(new XYChart.Data<>("Oct", 11200000));
-        profitSeries.getData().add(new XYChart.Data<>("Nov", 11700000));
-        
-        chart.getData().addAll(revenueSeries, profitSeries);
+        // Categories change with the period, so points are replaced without animation
+        chart.setAnimated(false);
+        
+        revenueSeries = new XYChart.Series<>();
+        revenueSeries.setName("Sales");
+        
+        collectionsSeries = new XYChart.Series<>();
+        collectionsSeries.setName("Collections");
+        
+        chart.getData().addAll(revenueSeries, collectionsSeries);
         
         container.getChildren().addAll(title, chart);
         return container;
@@ -196,29 +293,29 @@ public class ReportsPage extends VBox {
         container.setPrefHeight(450);
         container.setStyle("-fx-background-color: white; -fx-background-radius: 12; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
         
-        Label title = new Label("Property Type Distribution");
+        Label title = new Label("Property Distribution");
         title.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         title.setTextFill(Color.web("#2c3e50"));
         
         PieChart chart = new PieChart();
         chart.setPrefHeight(280);
         
-        PieChart.Data residential = new PieChart.Data("Residential", 156);
-        PieChart.Data commercial = new PieChart.Data("Commercial", 12);
-        PieChart.Data land = new PieChart.Data("Land", 8);
-        PieChart.Data industrial = new PieChart.Data("Industrial", 4);
+        PieChart.Data sold = new PieChart.Data("Sold", stats.soldUnits());
+        PieChart.Data available = new PieChart.Data("Available", stats.availableUnits());
+        PieChart.Data reserved = new PieChart.Data("Reserved", stats.reservedUnits());
+        PieChart.Data land = new PieChart.Data("Land", stats.totalLands());
         
-        chart.getData().addAll(residential, commercial, land, industrial);
+        chart.getData().addAll(sold, available, reserved, land);
         
         // Legend
         GridPane legend = new GridPane();
         legend.setHgap(20);
         legend.setVgap(8);
         
-        addLegendItem(legend, 0, 0, "Residential", "156", "#2C3E8C");
-        addLegendItem(legend, 1, 0, "Commercial", "12", "#4FD1C5");
-        addLegendItem(legend, 0, 1, "Land", "8", "#F5C542");
-        addLegendItem(legend, 1, 1, "Industrial", "4", "#8B5CF6");
+        addLegendItem(legend, 0, 0, "Sold", String.valueOf(stats.soldUnits()), "#2C3E8C");
+        addLegendItem(legend, 1, 0, "Available", String.valueOf(stats.availableUnits()), "#4FD1C5");
+        addLegendItem(legend, 0, 1, "Reserved", String.valueOf(stats.reservedUnits()), "#F5C542");
+        addLegendItem(legend, 1, 1, "Land", String.valueOf(stats.totalLands()), "#8B5CF6");
         
         container.getChildren().addAll(title, chart, legend);
         return container;
@@ -258,25 +355,17 @@ public class ReportsPage extends VBox {
         title.setTextFill(Color.web("#2c3e50"));
         
         CategoryAxis xAxis = new CategoryAxis();
-        NumberAxis yAxis = new NumberAxis(80, 100, 5);
+        NumberAxis yAxis = new NumberAxis(0, 100, 10);
         LineChart<String, Number> chart = new LineChart<>(xAxis, yAxis);
         chart.setPrefHeight(320);
         chart.setLegendVisible(false);
         
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.getData().add(new XYChart.Data<>("Jan", 88));
-        series.getData().add(new XYChart.Data<>("Feb", 90));
-        series.getData().add(new XYChart.Data<>("Mar", 87));
-        series.getData().add(new XYChart.Data<>("Apr", 91));
-        series.getData().add(new XYChart.Data<>("May", 92));
-        series.getData().add(new XYChart.Data<>("Jun", 94));
-        series.getData().add(new XYChart.Data<>("Jul", 93));
-        series.getData().add(new XYChart.Data<>("Aug", 95));
-        series.getData().add(new XYChart.Data<>("Sep", 94));
-        series.getData().add(new XYChart.Data<>("Oct", 91));
-        series.getData().add(new XYChart.Data<>("Nov", 91));
-        
-        chart.getData().add(series);
+        chart.setAnimated(false);
+        
+        occupancySeries = new XYChart.Series<>();
+        occupancySeries.setName("Occupancy %");
+        
+        chart.getData().add(occupancySeries);
         
         container.getChildren().addAll(title, chart);
         return container;
@@ -287,7 +376,7 @@ public class ReportsPage extends VBox {
         container.setPrefHeight(380);
         container.setStyle("-fx-background-color: white; -fx-background-radius: 12; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
         
-        Label title = new Label("Rent Collection Performance");
+        Label title = new Label("Outstanding Receivables");
         title.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         title.setTextFill(Color.web("#2c3e50"));
         
@@ -295,41 +384,36 @@ public class ReportsPage extends VBox {
         NumberAxis yAxis = new NumberAxis();
         BarChart<String, Number> chart = new BarChart<>(xAxis, yAxis);
         chart.setPrefHeight(280);
-        chart.setLegendVisible(true);
+        chart.setLegendVisible(false);
+        chart.setAnimated(false);
         
-        XYChart.Series<String, Number> onTimeSeries = new XYChart.Series<>();
-        onTimeSeries.setName("On Time %");
-        onTimeSeries.getData().add(new XYChart.Data<>("Jan", 92));
-        onTimeSeries.getData().add(new XYChart.Data<>("Feb", 94));
-        onTimeSeries.getData().add(new XYChart.Data<>("Mar", 90));
-        onTimeSeries.getData().add(new XYChart.Data<>("Apr", 95));
-        onTimeSeries.getData().add(new XYChart.Data<>("May", 93));
-        onTimeSeries.getData().add(new XYChart.Data<>("Jun", 96));
-        
-        XYChart.Series<String, Number> lateSeries = new XYChart.Series<>();
-        lateSeries.setName("Late %");
-        lateSeries.getData().add(new XYChart.Data<>("Jan", 6));
-        lateSeries.getData().add(new XYChart.Data<>("Feb", 4));
-        lateSeries.getData().add(new XYChart.Data<>("Mar", 7));
-        lateSeries.getData().add(new XYChart.Data<>("Apr", 3));
-        lateSeries.getData().add(new XYChart.Data<>("May", 5));
-        lateSeries.getData().add(new XYChart.Data<>("Jun", 3));
-        
-        XYChart.Series<String, Number> unpaidSeries = new XYChart.Series<>();
-        unpaidSeries.setName("Unpaid %");
-        unpaidSeries.getData().add(new XYChart.Data<>("Jan", 2));
-        unpaidSeries.getData().add(new XYChart.Data<>("Feb", 2));
-        unpaidSeries.getData().add(new XYChart.Data<>("Mar", 3));
-        unpaidSeries.getData().add(new XYChart.Data<>("Apr", 2));
-        unpaidSeries.getData().add(new XYChart.Data<>("May", 2));
-        unpaidSeries.getData().add(new XYChart.Data<>("Jun", 1));
-        
-        chart.getData().addAll(onTimeSeries, lateSeries, unpaidSeries);
+        // Sales not yet collected as of the end of each bucket
+        receivablesSeries = new XYChart.Series<>();
+        receivablesSeries.setName("Receivables");
+        
+        chart.getData().add(receivablesSeries);
         
         container.getChildren().addAll(title, chart);
         return container;
     }
     
+    private VBox createBuildingPerformance() {
+        VBox container = new VBox(15);
+        container.setStyle("-fx-background-color: white; -fx-background-radius: 12; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        
+        Label title = new Label("Building Performance");
+        title.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+        title.setTextFill(Color.web("#2c3e50"));
+        
+        buildingPerformanceGrid = new GridPane();
+        buildingPerformanceGrid.setHgap(30);
+        buildingPerformanceGrid.setVgap(8);
+        buildingPerformanceGrid.add(new Label("Loading…"), 0, 0);
+        
+        container.getChildren().addAll(title, buildingPerformanceGrid);
+        return container;
+    }
+    
     private VBox createQuickReports() {
         VBox container = new VBox(15);
         container.setPrefHeight(150);
@@ -0,0 +1,151 @@
+package com.propertymanager;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RequestDAO {
+
+    public static final int MESSAGE_PAGE_SIZE = 50;
+
+    private static final String REQUESTS_SQL = """
+        SELECT cr.id, cr.request_number, COALESCE(b.name, 'Unknown Buyer') as buyer_name,
+               COALESCE(bd.name, 'General') as building_name,
+               CASE WHEN cr.apartment_id IS NOT NULL THEN CONCAT('Apt ', a.apartment_number) ELSE 'General' END as apartment,
+               cr.request_type, cr.subject, cr.priority, cr.status, cr.created_at,
+               (SELECT COUNT(*) FROM request_messages m WHERE m.request_id = cr.id) as message_count
+        FROM customer_requests cr
+        LEFT JOIN buyers b ON cr.buyer_id = b.id
+        LEFT JOIN buildings bd ON cr.building_id = bd.id
+        LEFT JOIN apartments a ON cr.apartment_id = a.id
+        ORDER BY cr.created_at DESC
+    """;
+
+    // Latest N messages of every request in one statement; the lateral LIMIT walks the (request_id, created_at, id) index
+    private static final String LATEST_MESSAGES_SQL = """
+        SELECT m.id, m.request_id, m.sender_name, m.message_text, m.is_staff_message, m.created_at
+        FROM unnest(?::int[]) AS r(id)
+        CROSS JOIN LATERAL (
+            SELECT id, request_id, sender_name, message_text, is_staff_message, created_at
+            FROM request_messages
+            WHERE request_id = r.id
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+        ) m
+        ORDER BY m.request_id, m.created_at, m.id
+    """;
+
+    private static final String OLDER_MESSAGES_SQL = """
+        SELECT id, request_id, sender_name, message_text, is_staff_message, created_at
+        FROM request_messages
+        WHERE request_id = ? AND (created_at, id) < (?, ?)
+        ORDER BY created_at DESC, id DESC
+        LIMIT ?
+    """;
+
+    // Request headers plus the most recent page of each conversation: two queries in total
+    public static List<CustomerRequest> getRequests(int messagesPerRequest) {
+        List<CustomerRequest> requests = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            Map<Integer, CustomerRequest> byId = new HashMap<>();
+
+            try (PreparedStatement pstmt = conn.prepareStatement(REQUESTS_SQL);
+                 ResultSet rs = pstmt.executeQuery()) {
+
+                while (rs.next()) {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    CustomerRequest request = new CustomerRequest(
+                        rs.getInt("id"),
+                        rs.getString("request_number"),
+                        rs.getString("buyer_name"),
+                        rs.getString("building_name"),
+                        rs.getString("apartment"),
+                        rs.getString("request_type"),
+                        rs.getString("subject"),
+                        rs.getString("status"),
+                        createdAt != null ? createdAt.toString() : "",
+                        rs.getString("priority"),
+                        new ArrayList<>(),
+                        rs.getInt("message_count")
+                    );
+                    requests.add(request);
+                    byId.put(request.dbId, request);
+                }
+            }
+
+            if (!byId.isEmpty()) {
+                try (PreparedStatement pstmt = conn.prepareStatement(LATEST_MESSAGES_SQL)) {
+                    pstmt.setArray(1, conn.createArrayOf("integer", byId.keySet().toArray()));
+                    pstmt.setInt(2, messagesPerRequest);
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            CustomerRequest request = byId.get(rs.getInt("request_id"));
+                            if (request != null) {
+                                request.messages.add(mapMessage(rs));
+                            }
+                        }
+                    }
+                }
+            }
+
+            System.out.println("💬 Loaded " + requests.size() + " customer requests");
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading customer requests: " + e.getMessage());
+        }
+
+        return requests;
+    }
+
+    // Loads the page of messages immediately preceding the oldest one already loaded
+    public static List<RequestMessage> getOlderMessages(CustomerRequest request, int limit) {
+        List<RequestMessage> messages = new ArrayList<>();
+        if (request.dbId <= 0 || request.messages.isEmpty()) {
+            return messages;
+        }
+
+        RequestMessage oldest = request.messages.get(0);
+        if (oldest.createdAt == null) {
+            return messages;
+        }
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(OLDER_MESSAGES_SQL)) {
+
+            pstmt.setInt(1, request.dbId);
+            pstmt.setTimestamp(2, oldest.createdAt);
+            pstmt.setInt(3, oldest.id);
+            pstmt.setInt(4, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(mapMessage(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading request messages: " + e.getMessage());
+        }
+
+        // Fetched newest-first for the keyset; return in conversation order
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    private static RequestMessage mapMessage(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new RequestMessage(
+            rs.getInt("id"),
+            rs.getString("sender_name"),
+            rs.getString("message_text"),
+            createdAt != null ? createdAt.toString() : "",
+            rs.getBoolean("is_staff_message"),
+            createdAt
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.propertymanager;
+
+import java.sql.Timestamp;
+
+public class RequestMessage {
+    public int id;
+    public String sender, text, time;
+    public boolean isStaff;
+    public Timestamp createdAt;
+    
+    public RequestMessage(int id, String sender, String text, String time, boolean isStaff) {
+        this(id, sender, text, time, isStaff, null);
+    }
+    
+    public RequestMessage(int id, String sender, String text, String time, boolean isStaff, Timestamp createdAt) {
+        this.id = id;
+        this.sender = sender;
+        this.text = text;
+        this.time = time;
+        this.isStaff = isStaff;
+        this.createdAt = createdAt;
+    }
+}
@@ -10,25 +10,42 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class RequestsPage extends VBox {
+public class RequestsPage extends VBox implements PageLifecycle {
     
     private String selectedTab = "all";
     private VBox requestsContainer;
     private VBox messagesContainer;
-    private List<Request> requests;
-    private Request selectedRequest;
+    private List<CustomerRequest> requests;
+    private HBox statsRow;
+    private CustomerRequest selectedRequest;
     private TextField replyField;
     
     public RequestsPage() {
         initRequests();
         initPage();
+        requestsContainer.getChildren().setAll(new LoadingPlaceholder("Loading customer requests..."));
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        // Load from database as well: headers plus the latest page of each conversation
+        AsyncDAO.load(this, () -> RequestDAO.getRequests(RequestDAO.MESSAGE_PAGE_SIZE), loaded -> {
+            requests.clear();
+            loadRequestsFromDatabase();
+            requests.addAll(loaded);
+            // The open conversation stays selected if it still exists; tabs and scroll position are kept
+            if (selectedRequest != null) {
+                String selectedId = selectedRequest.id;
+                selectedRequest = requests.stream().filter(r -> r.id.equals(selectedId)).findFirst().orElse(null);
+            }
+            updateStatsRow();
+            updateRequestsList();
+            updateMessagesView();
+        });
     }
     
     private void initRequests() {
@@ -38,87 +55,25 @@ public class RequestsPage extends VBox {
     
     private void loadRequestsFromDatabase() {
         // Add sample requests for demonstration
-        List<Message> messages1 = new ArrayList<>();
-        messages1.add(new Message(1, "Emma Davis", "I have been experiencing a water leak in my bathroom for the past 3 days. The water is coming from under the sink and has started to damage the floor. Please send someone to fix this as soon as possible.", "2025-12-22 09:30", false));
-        messages1.add(new Message(2, "Admin", "Thank you for reporting this issue. We have scheduled a maintenance technician to visit your apartment tomorrow at 2 PM. Please ensure someone is available to provide access.", "2025-12-22 10:15", true));
-        messages1.add(new Message(3, "Emma Davis", "Perfect, I will be available at that time. Thank you for the quick response!", "2025-12-22 10:20", false));
-        
-        List<Message> messages2 = new ArrayList<>();
-        messages2.add(new Message(1, "John Smith", "I need a copy of my lease agreement for insurance purposes. Could you please provide me with a digital copy?", "2025-12-22 08:45", false));
-        
-        List<Message> messages3 = new ArrayList<>();
-        messages3.add(new Message(1, "Sarah Wilson", "The elevator in our building has been making strange noises and sometimes stops between floors. This is concerning for safety reasons.", "2025-12-21 16:20", false));
-        messages3.add(new Message(2, "Admin", "We have contacted the elevator maintenance company and they will inspect it first thing Monday morning. We will post notices about temporary service interruption.", "2025-12-21 17:00", true));
-        
-        List<Message> messages4 = new ArrayList<>();
-        messages4.add(new Message(1, "Mike Johnson", "My neighbors in apartment 306 have been playing loud music late at night. This has been going on for over a week and is affecting my sleep.", "2025-12-20 22:30", false));
-        
-        requests.add(new Request("REQ-001", "Emma Davis", "Skyline Tower", "Apt 305", "Maintenance", "Water leak in bathroom", "responded", "2025-12-22 09:30", "High", messages1));
-        requests.add(new Request("REQ-002", "John Smith", "Garden View", "Apt 412", "Document Request", "Need lease agreement copy", "open", "2025-12-22 08:45", "Medium", messages2));
-        requests.add(new Request("REQ-003", "Sarah Wilson", "Metro Heights", "Apt 205", "Maintenance", "Elevator safety concern", "in-progress", "2025-12-21 16:20", "High", messages3));
-        requests.add(new Request("REQ-004", "Mike Johnson", "Riverside Plaza", "Apt 108", "Complaint", "Noise complaint - loud music", "open", "2025-12-20 22:30", "Medium", messages4));
-        
-        // Try to load from database as well
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String query = "SELECT cr.request_number, COALESCE(b.name, 'Unknown Buyer') as buyer_name, " +
-                          "COALESCE(bd.name, 'General') as building_name, " +
-                          "CASE WHEN cr.apartment_id IS NOT NULL THEN CONCAT('Apt ', a.apartment_number) ELSE 'General' END as apartment, " +
-                          "cr.request_type, cr.subject, cr.priority, cr.status, cr.created_at " +
-                          "FROM customer_requests cr " +
-                          "LEFT JOIN buyers b ON cr.buyer_id = b.id " +
-                          "LEFT JOIN buildings bd ON cr.building_id = bd.id " +
-                          "LEFT JOIN apartments a ON cr.apartment_id = a.id " +
-                          "ORDER BY cr.created_at DESC";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(query)) {
-                ResultSet rs = stmt.executeQuery();
-                
-                while (rs.next()) {
-                    List<Message> messages = loadMessagesForRequest(conn, rs.getInt("request_number"));
-                    
-                    Request request = new Request(
-                        rs.getString("request_number"),
-                        rs.getString("buyer_name"),
-                        rs.getString("building_name"),
-                        rs.getString("apartment"),
-                        rs.getString("request_type"),
-                        rs.getString("subject"),
-                        rs.getString("status"),
-                        rs.getTimestamp("created_at").toString(),
-                        rs.getString("priority"),
-                        messages
-                    );
-                    requests.add(request);
-                }
-            }
-        } catch (SQLException e) {
-            System.out.println("Database not available, using sample data only");
-        }
-    }
-    
-    private List<Message> loadMessagesForRequest(Connection conn, int requestId) throws SQLException {
-        List<Message> messages = new ArrayList<>();
-        String query = "SELECT sender_name, message_text, is_staff_message, created_at " +
-                      "FROM request_messages WHERE request_id = ? ORDER BY created_at";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setInt(1, requestId);
-            ResultSet rs = stmt.executeQuery();
-            
-            int messageId = 1;
-            while (rs.next()) {
-                Message message = new Message(
-                    messageId++,
-                    rs.getString("sender_name"),
-                    rs.getString("message_text"),
-                    rs.getTimestamp("created_at").toString(),
-                    rs.getBoolean("is_staff_message")
-                );
-                messages.add(message);
-            }
-        }
+        List<RequestMessage> messages1 = new ArrayList<>();
+        messages1.add(new RequestMessage(1, "Emma Davis", "I have been experiencing a water leak in my bathroom for the past 3 days. The water is coming from under the sink and has started to damage the floor. Please send someone to fix this as soon as possible.", "2025-12-22 09:30", false));
+        messages1.add(new RequestMessage(2, "Admin", "Thank you for reporting this issue. We have scheduled a maintenance technician to visit your apartment tomorrow at 2 PM. Please ensure someone is available to provide access.", "2025-12-22 10:15", true));
+        messages1.add(new RequestMessage(3, "Emma Davis", "Perfect, I will be available at that time. Thank you for the quick response!", "2025-12-22 10:20", false));
+        
+        List<RequestMessage> messages2 = new ArrayList<>();
+        messages2.add(new RequestMessage(1, "John Smith", "I need a copy of my lease agreement for insurance purposes. Could you please provide me with a digital copy?", "2025-12-22 08:45", false));
+        
+        List<RequestMessage> messages3 = new ArrayList<>();
+        messages3.add(new RequestMessage(1, "Sarah Wilson", "The elevator in our building has been making strange noises and sometimes stops between floors. This is concerning for safety reasons.", "2025-12-21 16:20", false));
+        messages3.add(new RequestMessage(2, "Admin", "We have contacted the elevator maintenance company and they will inspect it first thing Monday morning. We will post notices about temporary service interruption.", "2025-12-21 17:00", true));
+        
+        List<RequestMessage> messages4 = new ArrayList<>();
+        messages4.add(new RequestMessage(1, "Mike Johnson", "My neighbors in apartment 306 have been playing loud music late at night. This has been going on for over a week and is affecting my sleep.", "2025-12-20 22:30", false));
         
-        return messages;
+        requests.add(new CustomerRequest("REQ-001", "Emma Davis", "Skyline Tower", "Apt 305", "Maintenance", "Water leak in bathroom", "responded", "2025-12-22 09:30", "High", messages1));
+        requests.add(new CustomerRequest("REQ-002", "John Smith", "Garden View", "Apt 412", "Document Request", "Need lease agreement copy", "open", "2025-12-22 08:45", "Medium", messages2));
+        requests.add(new CustomerRequest("REQ-003", "Sarah Wilson", "Metro Heights", "Apt 205", "Maintenance", "Elevator safety concern", "in-progress", "2025-12-21 16:20", "High", messages3));
+        requests.add(new CustomerRequest("REQ-004", "Mike Johnson", "Riverside Plaza", "Apt 108", "Complaint", "Noise complaint - loud music", "open", "2025-12-20 22:30", "Medium", messages4));
     }
     
     private void initPage() {
@@ -127,7 +82,7 @@ public class RequestsPage extends VBox {
         setStyle("-fx-background-color: #f8f9fa;");
         
         HBox header = createHeader();
-        HBox statsRow = createStatsRow();
+        statsRow = createStatsRow();
         HBox mainContent = createMainContent();
         
         getChildren().addAll(header, statsRow, mainContent);
@@ -173,22 +128,25 @@ public class RequestsPage extends VBox {
     }
     
     private HBox createStatsRow() {
-        HBox statsRow = new HBox(20);
-        statsRow.setAlignment(Pos.CENTER);
-        
+        HBox row = new HBox(20);
+        row.setAlignment(Pos.CENTER);
+        statsRow = row;
+        updateStatsRow();
+        return row;
+    }
+    
+    private void updateStatsRow() {
         int total = requests.size();
         int open = (int) requests.stream().filter(r -> "open".equals(r.status)).count();
         int inProgress = (int) requests.stream().filter(r -> "in-progress".equals(r.status)).count();
         int responded = (int) requests.stream().filter(r -> "responded".equals(r.status)).count();
         
-        statsRow.getChildren().addAll(
+        statsRow.getChildren().setAll(
             createStatCard("Total Requests", String.valueOf(total), "💬", "#2C3E8C"),
             createStatCard("Open", String.valueOf(open), "⏰", "#2196F3"),
             createStatCard("In Progress", String.valueOf(inProgress), "💬", "#F5C542"),
             createStatCard("Responded", String.valueOf(responded), "✅", "#4CAF50")
         );
-        
-        return statsRow;
     }
     
     private VBox createStatCard(String title, String value, String icon, String color) {
@@ -295,17 +253,17 @@ public class RequestsPage extends VBox {
     private void updateRequestsList() {
         requestsContainer.getChildren().clear();
         
-        List<Request> filteredRequests = requests.stream()
+        List<CustomerRequest> filteredRequests = requests.stream()
             .filter(request -> selectedTab.equals("all") || request.status.equals(selectedTab))
             .toList();
         
-        for (Request request : filteredRequests) {
+        for (CustomerRequest request : filteredRequests) {
             VBox requestCard = createRequestCard(request);
             requestsContainer.getChildren().add(requestCard);
         }
     }
     
-    private VBox createRequestCard(Request request) {
+    private VBox createRequestCard(CustomerRequest request) {
         VBox card = new VBox(10);
         card.setPadding(new Insets(15));
         
@@ -462,14 +420,14 @@ public class RequestsPage extends VBox {
                 updateRequestsList();
                 updateMessagesView();
                 // Add system message
-                Message statusMessage = new Message(
+                RequestMessage statusMessage = new RequestMessage(
                     selectedRequest.messages.size() + 1,
                     "System",
                     "Request status updated to: In Progress",
                     java.time.LocalDateTime.now().toString().substring(0, 16),
                     true
                 );
-                selectedRequest.messages.add(statusMessage);
+                selectedRequest.addMessage(statusMessage);
                 updateMessagesView();
             }
         });
@@ -492,14 +450,14 @@ public class RequestsPage extends VBox {
                 updateRequestsList();
                 updateMessagesView();
                 // Add system message
-                Message statusMessage = new Message(
+                RequestMessage statusMessage = new RequestMessage(
                     selectedRequest.messages.size() + 1,
                     "System",
                     "Request has been closed and marked as resolved.",
                     java.time.LocalDateTime.now().toString().substring(0, 16),
                     true
                 );
-                selectedRequest.messages.add(statusMessage);
+                selectedRequest.addMessage(statusMessage);
                 updateMessagesView();
             }
         });
@@ -556,13 +514,32 @@ public class RequestsPage extends VBox {
         // Update messages
         messagesContainer.getChildren().clear();
         
-        for (Message message : selectedRequest.messages) {
+        if (selectedRequest.hasOlderMessages()) {
+            int remaining = selectedRequest.messageCount - selectedRequest.messages.size();
+            Button olderBtn = new Button("⬆ Load earlier messages (" + remaining + ")");
+            olderBtn.setStyle("-fx-background-color: #f1f3f4; -fx-text-fill: #495057; -fx-background-radius: 6; -fx-padding: 6 12; -fx-cursor: hand;");
+            CustomerRequest request = selectedRequest;
+            olderBtn.setOnAction(e -> {
+                olderBtn.setDisable(true);
+                AsyncDAO.load(this, () -> RequestDAO.getOlderMessages(request, RequestDAO.MESSAGE_PAGE_SIZE), older -> {
+                    request.messages.addAll(0, older);
+                    if (request == selectedRequest) {
+                        updateMessagesView();
+                    }
+                });
+            });
+            HBox olderBox = new HBox(olderBtn);
+            olderBox.setAlignment(Pos.CENTER);
+            messagesContainer.getChildren().add(olderBox);
+        }
+        
+        for (RequestMessage message : selectedRequest.messages) {
             VBox messageBox = createMessageBox(message);
             messagesContainer.getChildren().add(messageBox);
         }
     }
     
-    private VBox createMessageBox(Message message) {
+    private VBox createMessageBox(RequestMessage message) {
         VBox messageBox = new VBox(8);
         messageBox.setPadding(new Insets(15));
         messageBox.setMaxWidth(600);
@@ -613,7 +590,7 @@ public class RequestsPage extends VBox {
         if (selectedRequest == null || replyField.getText().trim().isEmpty()) return;
         
         String replyText = replyField.getText().trim();
-        Message newMessage = new Message(
+        RequestMessage newMessage = new RequestMessage(
             selectedRequest.messages.size() + 1,
             "Admin",
             replyText,
@@ -621,7 +598,7 @@ public class RequestsPage extends VBox {
             true
         );
         
-        selectedRequest.messages.add(newMessage);
+        selectedRequest.addMessage(newMessage);
         replyField.clear();
         updateMessagesView();
     }
@@ -731,8 +708,8 @@ public class RequestsPage extends VBox {
             }
             
             // Create new request
-            List<Message> newMessages = new ArrayList<>();
-            newMessages.add(new Message(
+            List<RequestMessage> newMessages = new ArrayList<>();
+            newMessages.add(new RequestMessage(
                 1,
                 fromField.getText().trim(),
                 messageArea.getText().trim(),
@@ -745,7 +722,7 @@ public class RequestsPage extends VBox {
             String apartment = apartmentField.getText().trim().isEmpty() ? "General" : apartmentField.getText().trim();
             String priority = priorityCombo.getValue() != null ? priorityCombo.getValue() : "Medium";
             
-            Request newRequest = new Request(
+            CustomerRequest newRequest = new CustomerRequest(
                 requestId,
                 fromField.getText().trim(),
                 building,
@@ -779,38 +756,4 @@ public class RequestsPage extends VBox {
         dialog.setScene(scene);
         dialog.show();
     }
-    
-    // Data classes
-    private static class Request {
-        String id, from, building, apartment, type, subject, status, date, priority;
-        List<Message> messages;
-        
-        Request(String id, String from, String building, String apartment, String type, String subject, 
-                String status, String date, String priority, List<Message> messages) {
-            this.id = id;
-            this.from = from;
-            this.building = building;
-            this.apartment = apartment;
-            this.type = type;
-            this.subject = subject;
-            this.status = status;
-            this.date = date;
-            this.priority = priority;
-            this.messages = messages;
-        }
-    }
-    
-    private static class Message {
-        int id;
-        String sender, text, time;
-        boolean isStaff;
-        
-        Message(int id, String sender, String text, String time, boolean isStaff) {
-            this.id = id;
-            this.sender = sender;
-            this.text = text;
-            this.time = time;
-            this.isStaff = isStaff;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.propertymanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+// Splits a SQL script into statements as it is read. Semicolons inside string literals, quoted identifiers,
+// dollar-quoted bodies and comments do not end a statement, and comments are dropped from the output.
+public class SqlStatementReader implements Closeable {
+
+    private final Reader in;
+    private int pushedBack = -2;
+
+    public SqlStatementReader(Reader in) {
+        this.in = in;
+    }
+
+    // Next statement without its terminating ';', or null at end of input
+    public String next() throws IOException {
+        StringBuilder sql = new StringBuilder(256);
+        int c;
+        while ((c = read()) != -1) {
+            if (c == ';') {
+                String statement = sql.toString().trim();
+                if (!statement.isEmpty()) {
+                    return statement;
+                }
+                sql.setLength(0);
+            } else if (c == '\'') {
+                // E'...' strings use backslash escapes
+                boolean escapes = endsWithEscapePrefix(sql);
+                sql.append((char) c);
+                readQuoted(sql, '\'', escapes);
+            } else if (c == '"') {
+                sql.append((char) c);
+                readQuoted(sql, '"', false);
+            } else if (c == '-' && peek() == '-') {
+                skipLineComment();
+                sql.append(' ');
+            } else if (c == '/' && peek() == '*') {
+                read();
+                skipBlockComment();
+                sql.append(' ');
+            } else if (c == '$' && !endsWithIdentifierChar(sql)) {
+                sql.append('$');
+                readDollarQuoted(sql);
+            } else {
+                sql.append((char) c);
+            }
+        }
+        String statement = sql.toString().trim();
+        return statement.isEmpty() ? null : statement;
+    }
+
+    // Reads the raw data lines that follow a "COPY ... FROM stdin;" statement, up to the "\." terminator
+    public String readCopyDataLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            line.append((char) c);
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return line.toString().equals("\\.") ? null : line.toString();
+    }
+
+    // After a statement the rest of its line is whitespace; skip it before reading COPY data
+    public void skipRestOfLine() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // skip
+        }
+    }
+
+    private void readQuoted(StringBuilder sql, char quote, boolean backslashEscapes) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            sql.append((char) c);
+            if (backslashEscapes && c == '\\') {
+                int escaped = read();
+                if (escaped != -1) {
+                    sql.append((char) escaped);
+                }
+            } else if (c == quote) {
+                // A doubled quote is an escaped quote, anything else closes the literal
+                if (peek() == quote) {
+                    sql.append((char) read());
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void readDollarQuoted(StringBuilder sql) throws IOException {
+        // Tag is $$ or $name$; a lone $ (e.g. a $1 parameter) is just copied
+        StringBuilder tag = new StringBuilder("$");
+        int c;
+        while ((c = read()) != -1) {
+            tag.append((char) c);
+            sql.append((char) c);
+            if (c == '$') {
+                break;
+            }
+            if (!(Character.isLetterOrDigit(c) || c == '_') || Character.isDigit(c) && tag.length() == 2) {
+                return;
+            }
+        }
+        if (c == -1) {
+            return;
+        }
+
+        String terminator = tag.toString();
+        int matched = 0;
+        while ((c = read()) != -1) {
+            sql.append((char) c);
+            matched = c == terminator.charAt(matched) ? matched + 1 : (c == '$' ? 1 : 0);
+            if (matched == terminator.length()) {
+                return;
+            }
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // skip
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        // Block comments nest in PostgreSQL
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            if (c == '*' && peek() == '/') {
+                read();
+                depth--;
+            } else if (c == '/' && peek() == '*') {
+                read();
+                depth++;
+            }
+        }
+    }
+
+    private static boolean endsWithEscapePrefix(StringBuilder sql) {
+        int length = sql.length();
+        if (length == 0 || Character.toUpperCase(sql.charAt(length - 1)) != 'E') {
+            return false;
+        }
+        return length == 1 || !Character.isLetterOrDigit(sql.charAt(length - 2)) && sql.charAt(length - 2) != '_';
+    }
+
+    private static boolean endsWithIdentifierChar(StringBuilder sql) {
+        if (sql.length() == 0) {
+            return false;
+        }
+        char last = sql.charAt(sql.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_';
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == -2) {
+            pushedBack = in.read();
+        }
+        return pushedBack;
+    }
+
+    // Index of the '(' opening the row of a single-row "INSERT ... VALUES (...)", or -1 if the statement has any other shape
+    public static int singleRowValuesStart(String sql) {
+        if (!sql.regionMatches(true, 0, "INSERT INTO", 0, 11)) {
+            return -1;
+        }
+        int n = sql.length();
+        int valuesStart = -1;
+        int depth = 0;
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                boolean escapes = c == '\'' && i > 0 && Character.toUpperCase(sql.charAt(i - 1)) == 'E'
+                        && (i == 1 || !Character.isLetterOrDigit(sql.charAt(i - 2)) && sql.charAt(i - 2) != '_');
+                i++;
+                while (i < n) {
+                    char d = sql.charAt(i);
+                    if (escapes && d == '\\') {
+                        i += 2;
+                    } else if (d == c && i + 1 < n && sql.charAt(i + 1) == c) {
+                        i += 2;
+                    } else if (d == c) {
+                        break;
+                    } else {
+                        i++;
+                    }
+                }
+            } else if (c == '$') {
+                // Dollar quoting is not worth parsing here; such rows are simply not merged
+                return -1;
+            } else if (c == '(') {
+                if (depth == 0 && valuesStart < 0 && i >= 7 && sql.regionMatches(true, i - 7, "VALUES ", 0, 7)) {
+                    valuesStart = i;
+                }
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0 && valuesStart >= 0) {
+                    // The row must end the statement: no second row, ON CONFLICT or RETURNING
+                    return i == n - 1 ? valuesStart : -1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -1,9 +1,13 @@
 package com.propertymanager;
 
+import javafx.animation.PauseTransition;
+import javafx.beans.binding.Bindings;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -11,14 +15,21 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Popup;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
-
-import java.util.ArrayList;
-import java.util.List;
+import javafx.util.Duration;
 
 public class TopBar extends HBox {
+    private static final int SEARCH_RESULT_LIMIT = 12;
+    private static final int POPUP_NOTIFICATION_LIMIT = 20;
+    
     private String userType = "Admin User";
     private MainApp mainApp;
     
+    // Global search results, shown under the search field while typing
+    private final Popup searchPopup = new Popup();
+    private final ListView<GlobalSearch.Result> searchResults = new ListView<>();
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(150));
+    private int searchGeneration = 0;
+    
     public TopBar() {
         initTopBar();
     }
@@ -46,6 +57,7 @@ public class TopBar extends HBox {
         searchField.setPromptText("Search buildings, buyers, permits...");
         searchField.setPrefWidth(400);
         updateSearchFieldTheme(searchField);
+        setupGlobalSearch(searchField);
         
         // Spacer
         Region spacer = new Region();
@@ -55,9 +67,19 @@ public class TopBar extends HBox {
         Button notificationBtn = new Button("🔔");
         notificationBtn.setStyle("-fx-background-color: transparent; -fx-font-size: 18px; -fx-border-color: transparent; -fx-cursor: hand;");
         
-        HBox notificationBox = new HBox();
+        // Unread badge, bound to the counters NotificationService keeps current from change events
+        Label unreadBadge = new Label();
+        unreadBadge.textProperty().bind(Bindings.createStringBinding(() -> {
+            int unread = NotificationService.unreadCountProperty().get();
+            return unread > 99 ? "99+" : String.valueOf(unread);
+        }, NotificationService.unreadCountProperty()));
+        unreadBadge.visibleProperty().bind(NotificationService.unreadCountProperty().greaterThan(0));
+        unreadBadge.setMouseTransparent(true);
+        unreadBadge.setStyle("-fx-background-color: #dc3545; -fx-text-fill: white; -fx-background-radius: 10; -fx-padding: 0 5; -fx-font-size: 10px; -fx-font-weight: bold;");
+        StackPane.setAlignment(unreadBadge, Pos.TOP_RIGHT);
+        
+        StackPane notificationBox = new StackPane(notificationBtn, unreadBadge);
         notificationBox.setAlignment(Pos.CENTER);
-        notificationBox.getChildren().add(notificationBtn);
         
         // Add click handler for notifications
         notificationBtn.setOnAction(e -> showNotificationsPopup(notificationBtn));
@@ -281,8 +303,11 @@ public class TopBar extends HBox {
         title.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         title.setTextFill(Color.web("#111827"));
         
-        Label badge = new Label("3 new");
-        badge.setStyle("-fx-background-color: #f59e0b; -fx-text-fill: white; -fx-background-radius: 20; -fx-padding: 8 16; -fx-font-size: 16px; -fx-font-weight: bold;");
+        Label badge = new Label();
+        badge.textProperty().bind(NotificationService.unreadCountProperty().asString("%d new"));
+        badge.styleProperty().bind(Bindings.when(NotificationService.unreadCountProperty().greaterThan(0))
+            .then("-fx-background-color: #f59e0b; -fx-text-fill: white; -fx-background-radius: 20; -fx-padding: 8 16; -fx-font-size: 16px; -fx-font-weight: bold;")
+            .otherwise("-fx-background-color: #6b7280; -fx-text-fill: white; -fx-background-radius: 20; -fx-padding: 8 16; -fx-font-size: 16px; -fx-font-weight: bold;"));
         
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
@@ -290,11 +315,7 @@ public class TopBar extends HBox {
         Button markAllBtn = new Button("✓ Mark all as read");
         markAllBtn.setStyle("-fx-background-color: #f3f4f6; -fx-text-fill: #374151; -fx-font-size: 16px; -fx-cursor: hand; -fx-background-radius: 8; -fx-padding: 10 20;");
         markAllBtn.setOnAction(e -> {
-            markAllNotificationsAsRead();
-            // Update badge to show no new notifications
-            badge.setText("0 new");
-            badge.setStyle("-fx-background-color: #6b7280; -fx-text-fill: white; -fx-background-radius: 20; -fx-padding: 8 16; -fx-font-size: 16px; -fx-font-weight: bold;");
-            // Close popup and refresh
+            NotificationService.markAllRead();
             ((Stage) markAllBtn.getScene().getWindow()).close();
         });
         
@@ -302,24 +323,42 @@ public class TopBar extends HBox {
         
         // Notifications list
         VBox notificationsList = new VBox(0);
-        
-        notificationsList.getChildren().addAll(
-            createLargeNotification("$", "Payment Overdue", "Emma Davis has an overdue payment of 1,000,000 MAD for property Metro Heights - 405.", "2h ago", false, "#10b981"),
-            createLargeNotification("🔧", "New Maintenance Request", "Water leak reported in Skyline Tower - Unit 305. Priority: High", "3h ago", false, "#f59e0b"),
-            createLargeNotification("📋", "Construction Permit Approved", "Permit #CP-2024-089 for Riverside Plaza renovation has been approved.", "5h ago", false, "#3b82f6"),
-            createLargeNotification("👥", "New Buyer Registered", "Jennifer Wilson has completed purchase for Garden View - 412.", "1d ago", true, "#8b5cf6")
-        );
+        notificationsList.getChildren().add(new LoadingPlaceholder("Loading notifications..."));
+        AsyncDAO.load(notificationsList, () -> NotificationService.getRecent(POPUP_NOTIFICATION_LIMIT), recent -> {
+            notificationsList.getChildren().clear();
+            for (NotificationService.Notification notification : recent) {
+                notificationsList.getChildren().add(createLargeNotification(notification));
+            }
+            if (recent.isEmpty()) {
+                Label empty = new Label("You're all caught up");
+                empty.setFont(Font.font("Arial", 15));
+                empty.setTextFill(Color.web("#6b7280"));
+                empty.setPadding(new Insets(30));
+                notificationsList.getChildren().add(empty);
+            }
+        });
         
         ScrollPane scrollPane = new ScrollPane(notificationsList);
         scrollPane.setFitToWidth(true);
-        scrollPane.setPrefHeight(580);
+        scrollPane.setPrefHeight(520);
         scrollPane.setStyle("-fx-background-color: white;");
         
-        content.getChildren().addAll(header, scrollPane);
+        Button viewAllBtn = new Button("View all notifications");
+        viewAllBtn.setMaxWidth(Double.MAX_VALUE);
+        viewAllBtn.setStyle("-fx-background-color: transparent; -fx-text-fill: #2C3E8C; -fx-font-size: 15px; -fx-font-weight: bold; -fx-cursor: hand; -fx-padding: 15;");
+        viewAllBtn.setOnAction(e -> {
+            ((Stage) viewAllBtn.getScene().getWindow()).close();
+            if (mainApp != null) {
+                mainApp.showPage("Notifications");
+            }
+        });
+        
+        content.getChildren().addAll(header, scrollPane, viewAllBtn);
         return content;
     }
     
-    private VBox createLargeNotification(String icon, String title, String message, String time, boolean isRead, String iconColor) {
+    private VBox createLargeNotification(NotificationService.Notification item) {
+        boolean isRead = item.read();
         VBox notification = new VBox();
         notification.setPadding(new Insets(25, 30, 25, 30));
         
@@ -342,8 +381,8 @@ public class TopBar extends HBox {
         content.setAlignment(Pos.TOP_LEFT);
         
         // Icon
-        Label iconLabel = new Label(icon);
-        iconLabel.setStyle("-fx-background-color: " + iconColor + "; -fx-text-fill: white; -fx-background-radius: 12; -fx-padding: 15; -fx-font-size: 20px; -fx-font-weight: bold;");
+        Label iconLabel = new Label(NotificationService.iconFor(item.type()));
+        iconLabel.setStyle("-fx-background-color: " + NotificationService.colorFor(item.type()) + "; -fx-text-fill: white; -fx-background-radius: 12; -fx-padding: 15; -fx-font-size: 20px; -fx-font-weight: bold;");
         iconLabel.setPrefSize(60, 60);
         iconLabel.setAlignment(Pos.CENTER);
         
@@ -354,7 +393,7 @@ public class TopBar extends HBox {
         HBox titleRow = new HBox(12);
         titleRow.setAlignment(Pos.CENTER_LEFT);
         
-        Label titleLabel = new Label(title);
+        Label titleLabel = new Label(item.title());
         titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         titleLabel.setTextFill(Color.web("#111827"));
         
@@ -367,13 +406,13 @@ public class TopBar extends HBox {
             titleRow.getChildren().add(titleLabel);
         }
         
-        Label messageLabel = new Label(message);
+        Label messageLabel = new Label(item.message());
         messageLabel.setFont(Font.font("Arial", 15));
         messageLabel.setTextFill(Color.web("#6b7280"));
         messageLabel.setWrapText(true);
         messageLabel.setPrefWidth(480);
         
-        Label timeLabel = new Label(time);
+        Label timeLabel = new Label(NotificationService.timeAgo(item.createdAt()));
         timeLabel.setFont(Font.font("Arial", 14));
         timeLabel.setTextFill(Color.web("#9ca3af"));
         
@@ -388,7 +427,9 @@ public class TopBar extends HBox {
         notification.getChildren().add(separator);
         
         notification.setOnMouseClicked(e -> {
-            System.out.println("Clicked: " + title);
+            if (!isRead) {
+                NotificationService.markRead(item.id(), true);
+            }
         });
         
         return notification;
@@ -396,113 +437,98 @@ public class TopBar extends HBox {
     
 
     
-    private List<NotificationItem> createSampleNotifications() {
-        List<NotificationItem> notifications = new ArrayList<>();
-        notifications.add(new NotificationItem("💰", "Payment Overdue", "Emma Davis - Metro Heights 405", "2h ago", false, "rent"));
-        notifications.add(new NotificationItem("🔧", "Maintenance Request", "Water leak - Skyline Tower 305", "3h ago", false, "maintenance"));
-        notifications.add(new NotificationItem("📋", "Permit Approved", "Construction permit #CP-2024-089", "5h ago", false, "permit"));
-        notifications.add(new NotificationItem("👥", "New Buyer", "Jennifer Wilson - Garden View 412", "1d ago", true, "tenant"));
-        notifications.add(new NotificationItem("⚙️", "System Backup", "Daily backup completed successfully", "1d ago", true, "system"));
-        return notifications;
+    public void updateTheme() {
+        setStyle("-fx-background-color: " + ThemeManager.getTopbar() + "; -fx-border-color: " + ThemeManager.getBorder() + "; -fx-border-width: 0 0 1 0;");
     }
     
-    private VBox createNotificationCard(NotificationItem notification) {
-        VBox card = new VBox(8);
-        card.setPadding(new Insets(12));
-        
-        if (!notification.isRead) {
-            card.setStyle("-fx-background-color: #f0f8ff; -fx-background-radius: 8; -fx-border-color: #2C3E8C; -fx-border-width: 1; -fx-border-radius: 8;");
-        } else {
-            card.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8; -fx-border-color: #e9ecef; -fx-border-width: 1; -fx-border-radius: 8;");
-        }
-        
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-        
-        Label icon = new Label(notification.icon);
-        icon.setFont(Font.font(16));
-        
-        VBox textBox = new VBox(2);
-        HBox.setHgrow(textBox, Priority.ALWAYS);
-        
-        HBox titleRow = new HBox(8);
-        titleRow.setAlignment(Pos.CENTER_LEFT);
-        
-        Label title = new Label(notification.title);
-        title.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-        title.setTextFill(Color.web("#2c3e50"));
-        
-        if (!notification.isRead) {
-            Label unreadDot = new Label("●");
-            unreadDot.setTextFill(Color.web("#dc3545"));
-            unreadDot.setFont(Font.font(8));
-            titleRow.getChildren().addAll(title, unreadDot);
-        } else {
-            titleRow.getChildren().add(title);
-        }
-        
-        Label message = new Label(notification.message);
-        message.setFont(Font.font("Arial", 12));
-        message.setTextFill(Color.web("#6c757d"));
-        
-        Label time = new Label(notification.time);
-        time.setFont(Font.font("Arial", 10));
-        time.setTextFill(Color.GRAY);
-        
-        textBox.getChildren().addAll(titleRow, message, time);
-        
-        Button actionBtn = new Button("⋯");
-        actionBtn.setStyle("-fx-background-color: transparent; -fx-text-fill: #6c757d; -fx-cursor: hand;");
-        
-        header.getChildren().addAll(icon, textBox, actionBtn);
-        card.getChildren().add(header);
-        
-        return card;
+    private void setupGlobalSearch(TextField searchField) {
+        searchResults.setPrefSize(400, 320);
+        searchResults.setStyle("-fx-background-color: white; -fx-background-radius: 8; -fx-border-color: #e5e7eb; -fx-border-radius: 8; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 12, 0, 0, 3);");
+        searchResults.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(GlobalSearch.Result result, boolean empty) {
+                super.updateItem(result, empty);
+                if (empty || result == null) {
+                    setGraphic(null);
+                    return;
+                }
+                Label icon = new Label(GlobalSearch.iconFor(result.type()));
+                icon.setStyle("-fx-font-size: 18px;");
+                
+                Label title = new Label(result.title());
+                title.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+                title.setTextFill(Color.web("#1a202c"));
+                
+                Label subtitle = new Label((result.subtitle() != null ? result.subtitle() + " · " : "") + result.type());
+                subtitle.setFont(Font.font("Arial", 11));
+                subtitle.setTextFill(Color.web("#6b7280"));
+                
+                HBox row = new HBox(10, icon, new VBox(2, title, subtitle));
+                row.setAlignment(Pos.CENTER_LEFT);
+                setGraphic(row);
+            }
+        });
+        searchResults.setOnMouseClicked(e -> openSearchResult(searchField, searchResults.getSelectionModel().getSelectedItem()));
+        searchResults.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER) {
+                openSearchResult(searchField, searchResults.getSelectionModel().getSelectedItem());
+            } else if (e.getCode() == KeyCode.ESCAPE) {
+                searchPopup.hide();
+                searchField.requestFocus();
+            }
+        });
+        searchPopup.getContent().add(searchResults);
+        searchPopup.setAutoHide(true);
+        
+        // Query once typing pauses; results for older text are dropped
+        searchDebounce.setOnFinished(e -> runGlobalSearch(searchField));
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
+        searchField.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.DOWN && searchPopup.isShowing()) {
+                searchResults.requestFocus();
+                searchResults.getSelectionModel().selectFirst();
+            } else if (e.getCode() == KeyCode.ENTER && !searchResults.getItems().isEmpty()) {
+                openSearchResult(searchField, searchResults.getItems().get(0));
+            } else if (e.getCode() == KeyCode.ESCAPE) {
+                searchPopup.hide();
+            }
+        });
     }
     
-    // Simple notification data class
-    private static class NotificationItem {
-        String icon, title, message, time, type;
-        boolean isRead;
-        
-        NotificationItem(String icon, String title, String message, String time, boolean isRead, String type) {
-            this.icon = icon;
-            this.title = title;
-            this.message = message;
-            this.time = time;
-            this.isRead = isRead;
-            this.type = type;
+    private void runGlobalSearch(TextField searchField) {
+        String text = searchField.getText();
+        int generation = ++searchGeneration;
+        if (text == null || text.isBlank()) {
+            searchResults.getItems().clear();
+            searchPopup.hide();
+            return;
         }
+        
+        AsyncDAO.load(searchField, () -> GlobalSearch.search(text, SEARCH_RESULT_LIMIT), results -> {
+            if (generation != searchGeneration) {
+                return;
+            }
+            searchResults.getItems().setAll(results);
+            searchResults.setPlaceholder(new Label("No results for \"" + text.trim() + "\""));
+            if (!searchPopup.isShowing() && searchField.getScene() != null) {
+                Bounds bounds = searchField.localToScreen(searchField.getBoundsInLocal());
+                searchPopup.show(searchField, bounds.getMinX(), bounds.getMaxY() + 4);
+            }
+        });
     }
     
-    public void updateTheme() {
-        setStyle("-fx-background-color: " + ThemeManager.getTopbar() + "; -fx-border-color: " + ThemeManager.getBorder() + "; -fx-border-width: 0 0 1 0;");
+    private void openSearchResult(TextField searchField, GlobalSearch.Result result) {
+        if (result == null) {
+            return;
+        }
+        searchPopup.hide();
+        searchField.clear();
+        if (mainApp != null) {
+            mainApp.showPage(GlobalSearch.pageFor(result.type()));
+        }
     }
     
     private void updateSearchFieldTheme(TextField searchField) {
         searchField.setStyle("-fx-background-color: " + ThemeManager.getSurface() + "; -fx-border-color: " + ThemeManager.getBorder() + "; -fx-border-radius: 8; -fx-background-radius: 8; -fx-padding: 10; -fx-text-fill: " + ThemeManager.getTextPrimary() + "; -fx-prompt-text-fill: " + ThemeManager.getTextMuted() + ";");
     }
-    
-    private void markAllNotificationsAsRead() {
-        // This method would typically update a database or notification service
-        // For now, we'll just print a confirmation
-        System.out.println("All notifications marked as read");
-        
-        // In a real application, you would:
-        // 1. Update notification status in database
-        // 2. Update notification count
-        // 3. Refresh the UI
-        
-        // Example database update (commented out):
-        /*
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = "UPDATE notifications SET is_read = true WHERE user_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, getCurrentUserId());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        */
-    }
 }
\ No newline at end of file
@@ -17,13 +17,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class TransportationPage extends VBox {
+public class TransportationPage extends VBox implements PageLifecycle {
     
     private String selectedTab = "workers";
     private String filterStatus = "all";
     private VBox workersContainer;
     private VBox materialsContainer;
     private VBox vehiclesContainer;
+    private HBox statsRow;
+    private LoadingPlaceholder loadingPlaceholder;
     private List<WorkerTransport> workerTransports;
     private List<MaterialTransport> materialTransports;
     private List<Vehicle> vehicles;
@@ -31,16 +33,37 @@ public class TransportationPage extends VBox {
     public TransportationPage() {
         initData();
         initPage();
+        loadingPlaceholder = new LoadingPlaceholder("Loading transportation data...");
+        getChildren().add(loadingPlaceholder);
+        refresh();
+    }
+    
+    @Override
+    public void refresh() {
+        // Query off the FX thread, then reload the existing controls with the loaded data
+        AsyncDAO.load(this, this::loadTransportationDataFromDatabase, loaded -> {
+            vehicles.clear();
+            workerTransports.clear();
+            materialTransports.clear();
+            vehicles.addAll(loaded.vehicles());
+            workerTransports.addAll(loaded.workerTransports());
+            materialTransports.addAll(loaded.materialTransports());
+            getChildren().remove(loadingPlaceholder);
+            updateStatsRow();
+            updateContent();
+        });
     }
     
     private void initData() {
         workerTransports = new ArrayList<>();
         materialTransports = new ArrayList<>();
         vehicles = new ArrayList<>();
-        loadTransportationDataFromDatabase();
     }
     
-    private void loadTransportationDataFromDatabase() {
+    private TransportationData loadTransportationDataFromDatabase() {
+        List<Vehicle> vehicles = new ArrayList<>();
+        List<WorkerTransport> workerTransports = new ArrayList<>();
+        List<MaterialTransport> materialTransports = new ArrayList<>();
         try (Connection conn = DatabaseManager.getConnection()) {
             // Load vehicles
             String vehicleQuery = "SELECT id, vehicle_number, vehicle_type, capacity, status, last_maintenance_date, next_maintenance_date FROM vehicles";
@@ -104,15 +127,19 @@ public class TransportationPage extends VBox {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return new TransportationData(vehicles, workerTransports, materialTransports);
     }
     
+    private record TransportationData(List<Vehicle> vehicles, List<WorkerTransport> workerTransports,
+                                      List<MaterialTransport> materialTransports) {}
+    
     private void initPage() {
         setPadding(new Insets(30));
         setSpacing(25);
         setStyle("-fx-background-color: #f8f9fa;");
         
         HBox header = createHeader();
-        HBox statsRow = createStatsRow();
+        statsRow = createStatsRow();
         VBox tabsSection = createTabsSection();
         
         getChildren().addAll(header, statsRow, tabsSection);
@@ -137,22 +164,26 @@ public class TransportationPage extends VBox {
     }
     
     private HBox createStatsRow() {
-        HBox statsRow = new HBox(20);
-        statsRow.setAlignment(Pos.CENTER);
-        
+        HBox row = new HBox(20);
+        row.setAlignment(Pos.CENTER);
+        statsRow = row;
+        updateStatsRow();
+        return row;
+    }
+    
+    // Recounts the stat cards in place; the selected tab and filters are kept
+    private void updateStatsRow() {
         int activeWorkerTransports = (int) workerTransports.stream().filter(t -> "in-transit".equals(t.status) || "scheduled".equals(t.status)).count();
         int activeMaterialTransports = (int) materialTransports.stream().filter(t -> !"delivered".equals(t.status)).count();
         int availableVehicles = (int) vehicles.stream().filter(v -> "available".equals(v.status)).count();
         int criticalDeliveries = (int) materialTransports.stream().filter(t -> "critical".equals(t.urgency) && !"delivered".equals(t.status)).count();
         
-        statsRow.getChildren().addAll(
+        statsRow.getChildren().setAll(
             createStatCard("Worker Transports", String.valueOf(activeWorkerTransports) + " Active", "👥", "#2C3E8C"),
             createStatCard("Material Deliveries", String.valueOf(activeMaterialTransports) + " Active", "📦", "#4FD1C5"),
             createStatCard("Available Vehicles", availableVehicles + " of " + vehicles.size(), "🚛", "#F5C542"),
             createStatCard("Critical Deliveries", String.valueOf(criticalDeliveries) + " Pending", "⚠️", "#EF4444")
         );
-        
-        return statsRow;
     }
     
     private VBox createStatCard(String title, String value, String icon, String color) {